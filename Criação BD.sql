@@ -10,6 +10,8 @@ CREATE TABLE endereco (
     numero VARCHAR(50),
     complemento VARCHAR(255)
 );
+-- Índice usado para filtrar e ordenar a listagem de clientes por cidade
+CREATE INDEX idx_endereco_cidade ON endereco (cidade);
 
 -- Tabela pessoa
 CREATE TABLE pessoa (
@@ -20,13 +22,16 @@ CREATE TABLE pessoa (
     endereco_id INT,
     FOREIGN KEY (endereco_id) REFERENCES endereco(endereco_id)
 );
+-- Índice usado para filtrar e ordenar a listagem de clientes por nome
+-- (o CPF/CNPJ é o critério de desempate da paginação)
+CREATE INDEX idx_pessoa_nome ON pessoa (nome, cnpj_cpf);
 
 -- Tabela microempreendedor
 CREATE TABLE microempreendedor (
     PRIMARY KEY (pessoa_id),
     pessoa_id INT,
     senha VARCHAR(255),
-    caixa FLOAT,
+    caixa DECIMAL(14,2),
     login VARCHAR(255),
     FOREIGN KEY (pessoa_id) REFERENCES pessoa(pessoa_id)
 );
@@ -58,11 +63,15 @@ CREATE TABLE cliente (
 CREATE TABLE produto (
     item_id INT AUTO_INCREMENT PRIMARY KEY,
     nome VARCHAR(255),
-    preco_unitario FLOAT,
+    preco_unitario DECIMAL(12,2),
     quantidade INT,
     categoria VARCHAR(255),
-    preco_custo FLOAT
+    preco_custo DECIMAL(12,2)
 );
+-- Índices usados para filtrar e ordenar a listagem de produtos
+CREATE INDEX idx_produto_nome ON produto (nome);
+CREATE INDEX idx_produto_categoria ON produto (categoria);
+CREATE INDEX idx_produto_quantidade ON produto (quantidade);
 -- Tabela venda
 CREATE TABLE venda (
     venda_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -70,7 +79,41 @@ CREATE TABLE venda (
     item_id INT,
     data DATE,
     quantidade INT,
-    lucro FLOAT,
+    lucro DECIMAL(12,2),
     FOREIGN KEY (cliente_id) REFERENCES cliente(pessoa_id),
     FOREIGN KEY (item_id) REFERENCES produto(item_id)
-);
\ No newline at end of file
+);
+
+-- Índice usado pelos relatórios, que filtram as vendas por faixa de datas
+CREATE INDEX idx_venda_data ON venda (data);
+
+-- Tabela resumo_mensal_produto
+-- Totais de vendas por produto em cada mês (ano_mes = ano * 100 + mes), mantidos pela
+-- transação de venda. Os relatórios por categoria leem esta tabela em vez de varrer 'venda'.
+CREATE TABLE resumo_mensal_produto (
+    ano_mes INT,
+    item_id INT,
+    unidades INT,
+    receita DECIMAL(14,2),
+    lucro DECIMAL(14,2),
+    PRIMARY KEY (ano_mes, item_id),
+    FOREIGN KEY (item_id) REFERENCES produto(item_id)
+);
+
+-- Tabela cliente_resumo
+-- Recência, frequência e valor de cada cliente, atualizados a cada venda.
+-- Os índices permitem listar os melhores clientes (ou os inativos) sem agregar a tabela 'venda'.
+CREATE TABLE cliente_resumo (
+    pessoa_id INT,
+    ultima_compra DATE,
+    total_compras INT,
+    lucro_total DECIMAL(14,2),
+    PRIMARY KEY (pessoa_id),
+    FOREIGN KEY (pessoa_id) REFERENCES cliente(pessoa_id)
+);
+CREATE INDEX idx_cliente_resumo_lucro ON cliente_resumo (lucro_total);
+CREATE INDEX idx_cliente_resumo_compras ON cliente_resumo (total_compras);
+CREATE INDEX idx_cliente_resumo_ultima ON cliente_resumo (ultima_compra);
+
+-- Valores monetários são DECIMAL (exatos, em centavos), e não FLOAT.
+-- Um banco criado com as colunas FLOAT é convertido pelo script 'Migração DECIMAL.sql'.
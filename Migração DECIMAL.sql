@@ -0,0 +1,9 @@
+-- Converte para DECIMAL as colunas monetárias de um banco 'ProjetoBD' criado por uma versão
+-- anterior do 'Criação BD.sql', em que elas eram FLOAT. Os valores são arredondados para
+-- centavos. Bancos criados pelo script atual já usam DECIMAL, e executar esta migração neles
+-- não altera nada.
+USE ProjetoBD;
+
+ALTER TABLE microempreendedor MODIFY caixa DECIMAL(14,2);
+ALTER TABLE produto MODIFY preco_unitario DECIMAL(12,2), MODIFY preco_custo DECIMAL(12,2);
+ALTER TABLE venda MODIFY lucro DECIMAL(12,2);
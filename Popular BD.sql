@@ -266,5 +266,14 @@ INSERT INTO venda (cliente_id, item_id, data, quantidade, lucro) VALUES
 (39, 19, '2024-12-30', 5, (600.00 - 400.00) * 5),
 (40, 20, '2024-12-30', 4, (90.00 - 50.00) * 4);
 
+-- Preenche o resumo mensal a partir das vendas inseridas acima.
+INSERT INTO resumo_mensal_produto (ano_mes, item_id, unidades, receita, lucro)
+SELECT YEAR(v.data) * 100 + MONTH(v.data), v.item_id, SUM(v.quantidade), SUM(v.quantidade * p.preco_unitario), SUM(v.lucro)
+FROM venda v JOIN produto p ON v.item_id = p.item_id
+GROUP BY YEAR(v.data) * 100 + MONTH(v.data), v.item_id;
 
-
+-- Preenche o resumo por cliente a partir das vendas inseridas acima.
+INSERT INTO cliente_resumo (pessoa_id, ultima_compra, total_compras, lucro_total)
+SELECT cliente_id, MAX(data), COUNT(*), SUM(lucro)
+FROM venda
+GROUP BY cliente_id;
@@ -0,0 +1,139 @@
+package cache;
+
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
+import evento.ProdutoAlterado;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de curta duração das chaves procuradas e não encontradas no banco.
+ * <p>
+ * Um CPF/CNPJ ou ID digitado errado na tela de vendas ou na consulta de clientes faria a
+ * mesma consulta vazia a cada nova tentativa. Depois da primeira, a ausência fica registrada
+ * por {@value #VALIDADE_SEGUNDOS} segundos e as tentativas seguintes retornam null sem
+ * consultar o banco.
+ * <p>
+ * A ausência é descartada assim que um registro com a chave é gravado: os eventos
+ * {@link ClienteAlterado} e {@link ProdutoAlterado} publicados após o commit removem a chave.
+ * Uma consulta iniciada antes da gravação não registra a ausência depois dela.
+ *
+ * @param <K> O tipo da chave.
+ */
+public final class CacheAusencias<K> {
+
+    public static final int VALIDADE_SEGUNDOS = 30;
+
+    // Chaves guardadas por cache; as mais antigas saem primeiro.
+    private static final int LIMITE = 1_024;
+
+    /**
+     * Clientes não encontrados, por CPF/CNPJ.
+     */
+    public static final CacheAusencias<String> CLIENTES = new CacheAusencias<>();
+
+    /**
+     * Produtos não encontrados, por ID.
+     */
+    public static final CacheAusencias<Integer> PRODUTOS = new CacheAusencias<>();
+
+    static {
+        BarramentoEventos barramento = BarramentoEventos.getInstancia();
+        barramento.inscrever(ClienteAlterado.class, evento -> {
+            if (!evento.isExcluido()) {
+                CLIENTES.invalidar(evento.getIdentificador());
+            }
+        });
+        barramento.inscrever(ProdutoAlterado.class, evento -> {
+            if (!evento.isExcluido()) {
+                PRODUTOS.invalidar(evento.getProdutoId());
+            }
+        });
+    }
+
+    /**
+     * Função que procura o registro no banco.
+     */
+    public interface Carregador<V> {
+        V carregar() throws SQLException;
+    }
+
+    // Instante (System.nanoTime) em que cada ausência expira, em ordem de inclusão.
+    private final Map<K, Long> expiracoes = new LinkedHashMap<K, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Long> maisAntiga) {
+            return size() > LIMITE;
+        }
+    };
+    // Incrementada a cada invalidação (ver obter).
+    private long versao = 0;
+    private long acertos = 0;
+
+    private CacheAusencias() {
+    }
+
+    /**
+     * Indica se a chave foi procurada há pouco e não existia.
+     */
+    public synchronized boolean ausente(K chave) {
+        Long expiraEm = expiracoes.get(chave);
+        if (expiraEm == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiraEm >= 0) {
+            expiracoes.remove(chave);
+            return false;
+        }
+        acertos++;
+        return true;
+    }
+
+    /**
+     * Retorna null de imediato se a chave estiver registrada como ausente; senão, procura o
+     * registro com o carregador e, se ele não existir, registra a ausência.
+     *
+     * @param chave A chave procurada.
+     * @param carregador Procura o registro no banco.
+     * @return O registro, ou null se ele não existir.
+     * @throws SQLException Se o carregador falhar.
+     */
+    public <V> V obter(K chave, Carregador<V> carregador) throws SQLException {
+        long versaoInicial;
+        synchronized (this) {
+            if (ausente(chave)) {
+                return null;
+            }
+            versaoInicial = versao;
+        }
+        V valor = carregador.carregar();
+        if (valor == null) {
+            synchronized (this) {
+                if (versao == versaoInicial) {
+                    expiracoes.put(chave, System.nanoTime() + TimeUnit.SECONDS.toNanos(VALIDADE_SEGUNDOS));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Descarta a ausência registrada para a chave.
+     */
+    public synchronized void invalidar(K chave) {
+        versao++;
+        expiracoes.remove(chave);
+    }
+
+    /**
+     * Quantas consultas ao banco foram evitadas.
+     */
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    public synchronized int getTamanho() {
+        return expiracoes.size();
+    }
+}
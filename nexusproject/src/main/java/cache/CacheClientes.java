@@ -0,0 +1,365 @@
+package cache;
+
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import model.Cliente;
+import model.Endereco;
+
+/**
+ * Cache limitado dos clientes completos (com endereço e telefone), indexado por CPF/CNPJ.
+ * <p>
+ * A política de admissão e despejo segue o W-TinyLFU: os clientes recém-lidos entram numa
+ * pequena janela LRU (1% da capacidade); ao sair dela, um cliente só passa para a área
+ * principal se tiver sido procurado mais vezes que o cliente que ele substituiria. A área
+ * principal é um LRU segmentado: quem é procurado de novo sobe da área de prova para a
+ * protegida (80% da área principal). A frequência de cada CPF/CNPJ é estimada por um
+ * Count-Min Sketch de contadores de 4 bits, reduzidos à metade periodicamente para que o
+ * histórico antigo perca peso. Assim, os clientes habituais permanecem no cache, e uma
+ * leitura em massa de clientes avulsos não os expulsa.
+ * <p>
+ * O cache é mantido coerente pelos eventos {@link ClienteAlterado} que o ClienteDAO publica
+ * após o commit: um cliente alterado tem seus dados substituídos, e um excluído sai do cache.
+ * Os clientes retornados são cópias: alterá-los não afeta o cache.
+ */
+public class CacheClientes {
+
+    public static final int CAPACIDADE_PADRAO = 5_000;
+
+    private static final CacheClientes INSTANCIA = new CacheClientes(CAPACIDADE_PADRAO);
+
+    private final int capacidadeJanela;
+    private final int capacidadePrincipal;
+    private final int capacidadeProtegida;
+
+    private final Map<String, No> nos = new HashMap<>();
+    private final Lista janela = new Lista();
+    private final Lista prova = new Lista();
+    private final Lista protegida = new Lista();
+    private final Frequencias frequencias;
+
+    // Incrementada a cada alteração de cliente: impede que uma leitura do banco iniciada
+    // antes da alteração seja guardada depois dela.
+    private long versao = 0;
+
+    private long acertos = 0;
+    private long falhas = 0;
+    private long despejos = 0;
+    private long cargas = 0;
+    private long nanosCarga = 0;
+
+    CacheClientes(int capacidade) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser de pelo menos 2 clientes.");
+        }
+        this.capacidadeJanela = Math.max(1, capacidade / 100);
+        this.capacidadePrincipal = capacidade - capacidadeJanela;
+        this.capacidadeProtegida = Math.max(1, capacidadePrincipal * 8 / 10);
+        this.frequencias = new Frequencias(capacidade);
+        BarramentoEventos.getInstancia().inscrever(ClienteAlterado.class, evento -> {
+            if (evento.isExcluido()) {
+                remover(evento.getIdentificador());
+            } else {
+                atualizar(evento.getCliente());
+            }
+        });
+    }
+
+    public static CacheClientes getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Função que lê o cliente do banco quando ele não está no cache.
+     */
+    public interface Carregador {
+        Cliente carregar() throws SQLException;
+    }
+
+    /**
+     * Retorna uma cópia do cliente, lendo-o com o carregador em caso de falta.
+     * Clientes inexistentes (carregador retorna null) não são guardados.
+     *
+     * @param identificador O CPF ou CNPJ do cliente.
+     * @param carregador Lê o cliente do banco.
+     * @return O cliente, ou null se ele não existir.
+     * @throws SQLException Se o carregador falhar.
+     */
+    public Cliente obter(String identificador, Carregador carregador) throws SQLException {
+        long versaoInicial;
+        synchronized (this) {
+            frequencias.incrementar(identificador);
+            No no = nos.get(identificador);
+            if (no != null) {
+                acertos++;
+                registrarAcesso(no);
+                return copiar(no.cliente);
+            }
+            falhas++;
+            versaoInicial = versao;
+        }
+
+        // A leitura do banco é feita fora da trava, para não bloquear os acertos.
+        long inicio = System.nanoTime();
+        Cliente cliente = carregador.carregar();
+        long duracao = System.nanoTime() - inicio;
+
+        synchronized (this) {
+            cargas++;
+            nanosCarga += duracao;
+            if (cliente != null && versao == versaoInicial && !nos.containsKey(identificador)) {
+                incluir(identificador, copiar(cliente));
+            }
+        }
+        return cliente;
+    }
+
+    /**
+     * Retorna uma cópia do cliente se ele estiver no cache, ou null, sem consultar o banco.
+     * Conta como acerto ou falha, como {@link #obter}.
+     */
+    public synchronized Cliente obterSePresente(String identificador) {
+        frequencias.incrementar(identificador);
+        No no = nos.get(identificador);
+        if (no == null) {
+            falhas++;
+            return null;
+        }
+        acertos++;
+        registrarAcesso(no);
+        return copiar(no.cliente);
+    }
+
+    /**
+     * Substitui os dados do cliente, se ele estiver no cache.
+     */
+    public synchronized void atualizar(Cliente cliente) {
+        versao++;
+        No no = nos.get(cliente.getIdentificador());
+        if (no != null) {
+            no.cliente = copiar(cliente);
+        }
+    }
+
+    /**
+     * Retira o cliente do cache.
+     */
+    public synchronized void remover(String identificador) {
+        versao++;
+        No no = nos.remove(identificador);
+        if (no != null) {
+            no.lista.remover(no);
+        }
+    }
+
+    /**
+     * Esvazia o cache, mantendo as estatísticas.
+     */
+    public synchronized void limpar() {
+        versao++;
+        nos.clear();
+        janela.limpar();
+        prova.limpar();
+        protegida.limpar();
+    }
+
+    // Novos clientes entram na janela; o que sai da janela disputa a vaga na área principal.
+    private void incluir(String identificador, Cliente cliente) {
+        No no = new No(identificador, cliente);
+        nos.put(identificador, no);
+        janela.inserirNoInicio(no);
+        if (janela.tamanho > capacidadeJanela) {
+            admitir(janela.removerUltimo());
+        }
+    }
+
+    private void admitir(No candidato) {
+        if (prova.tamanho + protegida.tamanho < capacidadePrincipal) {
+            prova.inserirNoInicio(candidato);
+            return;
+        }
+        No vitima = prova.tamanho > 0 ? prova.ultimo() : protegida.ultimo();
+        // Em caso de empate, fica quem já estava: um cliente visto uma única vez não expulsa ninguém.
+        if (frequencias.estimar(candidato.chave) > frequencias.estimar(vitima.chave)) {
+            vitima.lista.remover(vitima);
+            nos.remove(vitima.chave);
+            prova.inserirNoInicio(candidato);
+        } else {
+            nos.remove(candidato.chave);
+        }
+        despejos++;
+    }
+
+    private void registrarAcesso(No no) {
+        if (no.lista == prova) {
+            prova.remover(no);
+            protegida.inserirNoInicio(no);
+            if (protegida.tamanho > capacidadeProtegida) {
+                prova.inserirNoInicio(protegida.removerUltimo());
+            }
+        } else {
+            Lista lista = no.lista;
+            lista.remover(no);
+            lista.inserirNoInicio(no);
+        }
+    }
+
+    private static Cliente copiar(Cliente cliente) {
+        Endereco endereco = cliente.getEndereco();
+        Endereco copia = endereco == null ? null : new Endereco(endereco.getRua(), endereco.getBairro(),
+                endereco.getCidade(), endereco.getNumero(), endereco.getComplemento());
+        return new Cliente(cliente.getIdentificador(), cliente.getNome(), cliente.getEmail(), copia, cliente.getTelefone());
+    }
+
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    public synchronized long getDespejos() {
+        return despejos;
+    }
+
+    public synchronized double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    /**
+     * Tempo médio das leituras do banco feitas pelo cache, em milissegundos.
+     */
+    public synchronized double getLatenciaMediaCarga() {
+        return cargas == 0 ? 0.0 : (double) nanosCarga / cargas / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public synchronized int getTamanho() {
+        return nos.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("CacheClientes{clientes=%d, acertos=%d, falhas=%d, despejos=%d, taxaAcerto=%.1f%%, cargaMedia=%.2fms}",
+                getTamanho(), acertos, falhas, despejos, getTaxaAcerto() * 100, getLatenciaMediaCarga());
+    }
+
+    private static final class No {
+
+        final String chave;
+        Cliente cliente;
+        Lista lista;
+        No anterior;
+        No proximo;
+
+        No(String chave, Cliente cliente) {
+            this.chave = chave;
+            this.cliente = cliente;
+        }
+    }
+
+    // Lista duplamente encadeada em ordem de uso: o início é o mais recente.
+    private static final class Lista {
+
+        private final No sentinela = new No(null, null);
+        int tamanho = 0;
+
+        Lista() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+        }
+
+        void inserirNoInicio(No no) {
+            no.lista = this;
+            no.anterior = sentinela;
+            no.proximo = sentinela.proximo;
+            sentinela.proximo.anterior = no;
+            sentinela.proximo = no;
+            tamanho++;
+        }
+
+        void remover(No no) {
+            no.anterior.proximo = no.proximo;
+            no.proximo.anterior = no.anterior;
+            no.anterior = null;
+            no.proximo = null;
+            no.lista = null;
+            tamanho--;
+        }
+
+        No ultimo() {
+            return sentinela.anterior;
+        }
+
+        No removerUltimo() {
+            No no = sentinela.anterior;
+            remover(no);
+            return no;
+        }
+
+        void limpar() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+            tamanho = 0;
+        }
+    }
+
+    // Count-Min Sketch com 4 linhas de contadores de 4 bits (um por byte, limitados a 15).
+    // A cada 10 acessos por vaga do cache, todos os contadores caem à metade.
+    private static final class Frequencias {
+
+        private static final int[] SEMENTES = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private static final int MAXIMO = 15;
+
+        private final byte[] contadores;
+        private final int mascara;
+        private final int limiteAmostras;
+        private int amostras = 0;
+
+        Frequencias(int capacidade) {
+            int largura = Integer.highestOneBit(Math.max(16, capacidade - 1) << 1);
+            contadores = new byte[largura * SEMENTES.length];
+            mascara = largura - 1;
+            limiteAmostras = 10 * capacidade;
+        }
+
+        void incrementar(String chave) {
+            int hash = chave.hashCode();
+            for (int i = 0; i < SEMENTES.length; i++) {
+                int pos = posicao(hash, i);
+                if (contadores[pos] < MAXIMO) {
+                    contadores[pos]++;
+                }
+            }
+            if (++amostras >= limiteAmostras) {
+                envelhecer();
+            }
+        }
+
+        int estimar(String chave) {
+            int hash = chave.hashCode();
+            int minimo = MAXIMO;
+            for (int i = 0; i < SEMENTES.length; i++) {
+                minimo = Math.min(minimo, contadores[posicao(hash, i)]);
+            }
+            return minimo;
+        }
+
+        private int posicao(int hash, int linha) {
+            int h = hash * SEMENTES[linha];
+            h ^= h >>> 15;
+            return linha * (mascara + 1) + (h & mascara);
+        }
+
+        private void envelhecer() {
+            for (int i = 0; i < contadores.length; i++) {
+                contadores[i] >>= 1;
+            }
+            amostras /= 2;
+        }
+    }
+}
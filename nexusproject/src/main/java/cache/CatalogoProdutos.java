@@ -0,0 +1,372 @@
+package cache;
+
+import colecoes.ConjuntoInt;
+import colecoes.MapaIntObjeto;
+import evento.BarramentoEventos;
+import evento.ProdutoAlterado;
+import evento.VendaRegistrada;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.Produto;
+
+/**
+ * Catálogo de produtos em memória, com busca por prefixo sobre as palavras do nome e da categoria.
+ * Depois de carregado, também atende às consultas de produtos do ProdutoDAO
+ * ({@code consultarProduto}, {@code consultarProdutos} e {@code listarProdutos}).
+ * <p>
+ * As palavras (normalizadas, sem acentos) ficam numa árvore de prefixos (trie); cada palavra
+ * completa guarda os produtos em que aparece. Buscar "caf" percorre apenas o ramo "c-a-f".
+ * <p>
+ * O catálogo é carregado uma vez, ao abrir o sistema (ver {@code ProdutoDAO.carregarCatalogo}),
+ * e mantido pelos eventos publicados após o commit pelo ProdutoDAO (inclusão, alteração e
+ * exclusão) e pelo VendaDAO (baixa de estoque). Os produtos retornados são cópias: alterá-los não afeta o catálogo.
+ */
+public class CatalogoProdutos {
+
+    private static final CatalogoProdutos INSTANCIA = new CatalogoProdutos();
+
+    public static final int LIMITE_PADRAO = 20;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final MapaIntObjeto<Produto> produtos = new MapaIntObjeto<>();
+    // Palavras normalizadas de cada categoria, pelo código no dicionário de categorias.
+    // Poucas categorias servem a muitos produtos; a normalização é feita uma vez por categoria.
+    private final MapaIntObjeto<String[]> palavrasDasCategorias = new MapaIntObjeto<>();
+    private No raiz = new No();
+
+    // Durante a carga inicial, guarda os produtos excluídos para que a leitura do banco,
+    // iniciada antes da exclusão, não os traga de volta.
+    private ConjuntoInt excluidosDuranteCarga = null;
+    private volatile boolean carregado = false;
+
+    private CatalogoProdutos() {
+        BarramentoEventos barramento = BarramentoEventos.getInstancia();
+        barramento.inscrever(ProdutoAlterado.class, evento -> {
+            if (evento.isExcluido()) {
+                remover(evento.getProdutoId());
+            } else {
+                atualizar(evento.getProduto());
+            }
+        });
+        barramento.inscrever(VendaRegistrada.class, evento ->
+                baixarEstoque(evento.getVenda().getProduto().getProdutoId(), evento.getVenda().getQuantidade()));
+    }
+
+    public static CatalogoProdutos getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Indica se a carga inicial já terminou. Antes disso, o catálogo pode estar incompleto.
+     */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Descarta o conteúdo do catálogo e prepara uma nova carga completa.
+     */
+    public void iniciarCarga() {
+        trava.writeLock().lock();
+        try {
+            produtos.clear();
+            raiz = new No();
+            excluidosDuranteCarga = new ConjuntoInt();
+            carregado = false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Esvazia o catálogo e o mantém carregado, refletindo um banco sem produtos. Usado quando
+     * o banco é apagado: as consultas de produto passam a não encontrar nada, sem ir ao banco.
+     */
+    public void esvaziar() {
+        trava.writeLock().lock();
+        try {
+            produtos.clear();
+            raiz = new No();
+            excluidosDuranteCarga = null;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Acrescenta um produto lido pela carga inicial. Produtos incluídos, alterados ou
+     * excluídos pela aplicação desde o início da carga já estão atualizados e são ignorados.
+     */
+    public void adicionarDaCarga(Produto produto) {
+        trava.writeLock().lock();
+        try {
+            if (produtos.containsKey(produto.getProdutoId())
+                    || (excluidosDuranteCarga != null && excluidosDuranteCarga.contains(produto.getProdutoId()))) {
+                return;
+            }
+            indexar(copiar(produto));
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void concluirCarga() {
+        trava.writeLock().lock();
+        try {
+            excluidosDuranteCarga = null;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui o produto no catálogo ou, se ele já existir, substitui seus dados.
+     */
+    public void atualizar(Produto produto) {
+        trava.writeLock().lock();
+        try {
+            desindexar(produto.getProdutoId());
+            indexar(copiar(produto));
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira o produto do catálogo.
+     */
+    public void remover(int produtoId) {
+        trava.writeLock().lock();
+        try {
+            desindexar(produtoId);
+            if (excluidosDuranteCarga != null) {
+                excluidosDuranteCarga.add(produtoId);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Desconta do estoque do produto a quantidade vendida.
+     */
+    public void baixarEstoque(int produtoId, int quantidade) {
+        trava.writeLock().lock();
+        try {
+            Produto produto = produtos.get(produtoId);
+            if (produto != null) {
+                produto.setQuantidade(produto.getQuantidade() - quantidade);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna uma cópia do produto, ou null se ele não estiver no catálogo.
+     */
+    public Produto consultar(int produtoId) {
+        trava.readLock().lock();
+        try {
+            Produto produto = produtos.get(produtoId);
+            return produto == null ? null : copiar(produto);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna cópias de todos os produtos do catálogo, em ordem de ID.
+     */
+    public List<Produto> listar() {
+        trava.readLock().lock();
+        try {
+            List<Produto> todos = new ArrayList<>(produtos.size());
+            produtos.forEach((id, produto) -> todos.add(copiar(produto)));
+            todos.sort((a, b) -> Integer.compare(a.getProdutoId(), b.getProdutoId()));
+            return todos;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca produtos em que cada termo informado é o início de alguma palavra do nome ou da categoria.
+     * O resultado vem em ordem alfabética de nome.
+     *
+     * @param consulta O texto digitado, com um ou mais termos.
+     * @param limite O número máximo de resultados.
+     * @return Cópias dos produtos encontrados, no máximo {@code limite}.
+     */
+    public List<Produto> buscar(String consulta, int limite) {
+        String[] termos = Arrays.stream(IndiceClientes.normalizar(consulta).split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isEmpty())
+                .toArray(String[]::new);
+        if (termos.length == 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        trava.readLock().lock();
+        try {
+            // Parte dos produtos do termo mais longo (o ramo mais estreito da árvore)
+            // e mantém só os que também têm palavras começando pelos demais termos.
+            String maisLongo = termos[0];
+            for (String termo : termos) {
+                if (termo.length() > maisLongo.length()) {
+                    maisLongo = termo;
+                }
+            }
+            No no = raiz.descer(maisLongo);
+            if (no == null) {
+                return new ArrayList<>();
+            }
+            ConjuntoInt candidatos = new ConjuntoInt();
+            no.coletar(candidatos);
+
+            List<Produto> encontrados = new ArrayList<>();
+            for (int id : candidatos.paraVetor()) {
+                Produto produto = produtos.get(id);
+                if (todasAsPalavrasCasam(produto, termos)) {
+                    encontrados.add(produto);
+                }
+            }
+            encontrados.sort((a, b) -> a.getNome().compareToIgnoreCase(b.getNome()));
+            List<Produto> resultados = new ArrayList<>(Math.min(limite, encontrados.size()));
+            for (int i = 0; i < encontrados.size() && i < limite; i++) {
+                resultados.add(copiar(encontrados.get(i)));
+            }
+            return resultados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private boolean todasAsPalavrasCasam(Produto produto, String[] termos) {
+        List<String> palavras = palavras(produto);
+        for (String termo : termos) {
+            boolean casou = false;
+            for (String palavra : palavras) {
+                if (palavra.startsWith(termo)) {
+                    casou = true;
+                    break;
+                }
+            }
+            if (!casou) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void indexar(Produto produto) {
+        int categoria = DicionarioTextos.CATEGORIAS.codificar(produto.getCategoria());
+        if (categoria != DicionarioTextos.SEM_CODIGO && !palavrasDasCategorias.containsKey(categoria)) {
+            List<String> palavras = new ArrayList<>();
+            separar(produto.getCategoria(), palavras);
+            palavrasDasCategorias.put(categoria, palavras.toArray(new String[0]));
+        }
+        produtos.put(produto.getProdutoId(), produto);
+        for (String palavra : palavras(produto)) {
+            raiz.criar(palavra).produtos.add(produto.getProdutoId());
+        }
+    }
+
+    private void desindexar(int produtoId) {
+        Produto antigo = produtos.remove(produtoId);
+        if (antigo == null) {
+            return;
+        }
+        for (String palavra : palavras(antigo)) {
+            No no = raiz.descer(palavra);
+            if (no != null) {
+                no.produtos.remove(produtoId);
+            }
+        }
+    }
+
+    // As palavras da categoria vêm de palavrasDasCategorias, preenchido em indexar();
+    // só uma categoria sem código no dicionário (dicionário cheio) é normalizada aqui.
+    private List<String> palavras(Produto produto) {
+        List<String> palavras = new ArrayList<>();
+        separar(produto.getNome(), palavras);
+        String[] daCategoria = palavrasDasCategorias.get(DicionarioTextos.CATEGORIAS.codificar(produto.getCategoria()));
+        if (daCategoria != null) {
+            palavras.addAll(Arrays.asList(daCategoria));
+        } else {
+            separar(produto.getCategoria(), palavras);
+        }
+        return palavras;
+    }
+
+    private static void separar(String texto, List<String> destino) {
+        for (String palavra : IndiceClientes.normalizar(texto).split("[^\\p{L}\\p{N}]+")) {
+            if (!palavra.isEmpty()) {
+                destino.add(palavra);
+            }
+        }
+    }
+
+    // A categoria é trocada pela instância do dicionário, inclusive nos produtos vindos das telas.
+    private static Produto copiar(Produto produto) {
+        return new Produto(produto.getProdutoId(), produto.getNome(), produto.getPrecoUnitario(),
+                produto.getQuantidade(), DicionarioTextos.CATEGORIAS.internar(produto.getCategoria()),
+                produto.getPrecoCusto());
+    }
+
+    // Nó da árvore de prefixos. Os filhos ficam em vetores ordenados pela letra, que ocupam
+    // bem menos memória que um mapa por nó e são percorridos em ordem alfabética.
+    private static final class No {
+
+        private char[] letras = new char[0];
+        private No[] filhos = new No[0];
+        private final ConjuntoInt produtos = new ConjuntoInt(2);
+
+        No descer(String prefixo) {
+            No atual = this;
+            for (int i = 0; i < prefixo.length() && atual != null; i++) {
+                int pos = Arrays.binarySearch(atual.letras, prefixo.charAt(i));
+                atual = pos >= 0 ? atual.filhos[pos] : null;
+            }
+            return atual;
+        }
+
+        No criar(String palavra) {
+            No atual = this;
+            for (int i = 0; i < palavra.length(); i++) {
+                char letra = palavra.charAt(i);
+                int pos = Arrays.binarySearch(atual.letras, letra);
+                if (pos < 0) {
+                    pos = -pos - 1;
+                    atual.letras = inserir(atual.letras, pos, letra);
+                    No[] filhos = new No[atual.filhos.length + 1];
+                    System.arraycopy(atual.filhos, 0, filhos, 0, pos);
+                    System.arraycopy(atual.filhos, pos, filhos, pos + 1, atual.filhos.length - pos);
+                    filhos[pos] = new No();
+                    atual.filhos = filhos;
+                }
+                atual = atual.filhos[pos];
+            }
+            return atual;
+        }
+
+        // Junta os produtos deste nó e de todos os descendentes.
+        void coletar(ConjuntoInt destino) {
+            produtos.forEach(destino::add);
+            for (No filho : filhos) {
+                filho.coletar(destino);
+            }
+        }
+
+        private static char[] inserir(char[] letras, int pos, char letra) {
+            char[] novas = new char[letras.length + 1];
+            System.arraycopy(letras, 0, novas, 0, pos);
+            System.arraycopy(letras, pos, novas, pos + 1, letras.length - pos);
+            novas[pos] = letra;
+            return novas;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de textos repetidos, como cidades, bairros e categorias de produto.
+ * <p>
+ * Cada texto distinto recebe um código inteiro sequencial e é guardado uma única vez.
+ * Os DAOs usam {@link #internar(String)} ao montar os objetos, de modo que milhares de
+ * clientes da mesma cidade apontam para a mesma String em vez de uma cópia por linha; os
+ * caches podem guardar apenas o código ({@link #codificar(String)}) e agrupar por ele.
+ * <p>
+ * O dicionário é limitado: depois de {@code limite} textos distintos, os novos não recebem
+ * código e são usados como vieram, para que um campo com valores muito variados não faça
+ * o dicionário crescer sem fim. Os códigos nunca mudam nem são reaproveitados.
+ */
+public final class DicionarioTextos {
+
+    public static final int SEM_CODIGO = -1;
+
+    public static final DicionarioTextos CIDADES = new DicionarioTextos(4_096);
+    public static final DicionarioTextos BAIRROS = new DicionarioTextos(16_384);
+    public static final DicionarioTextos CATEGORIAS = new DicionarioTextos(1_024);
+
+    private final int limite;
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>();
+    // Substituído por uma cópia maior ao crescer; quem tem um código sempre encontra o valor.
+    private volatile String[] valores = new String[64];
+    private int tamanho = 0;
+
+    public DicionarioTextos(int limite) {
+        this.limite = limite;
+    }
+
+    /**
+     * Retorna o código do texto, incluindo-o no dicionário se ainda houver espaço.
+     *
+     * @return O código, ou {@link #SEM_CODIGO} se o texto for null ou o dicionário estiver cheio.
+     */
+    public int codificar(String texto) {
+        if (texto == null) {
+            return SEM_CODIGO;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo != null) {
+            return codigo;
+        }
+        synchronized (this) {
+            codigo = codigos.get(texto);
+            if (codigo != null) {
+                return codigo;
+            }
+            if (tamanho == limite) {
+                return SEM_CODIGO;
+            }
+            String[] atuais = valores;
+            if (tamanho == atuais.length) {
+                atuais = Arrays.copyOf(atuais, Math.min(atuais.length * 2, limite));
+            }
+            atuais[tamanho] = texto;
+            valores = atuais;
+            codigos.put(texto, tamanho);
+            return tamanho++;
+        }
+    }
+
+    /**
+     * Retorna o texto do código, ou null para {@link #SEM_CODIGO}.
+     */
+    public String valor(int codigo) {
+        return codigo == SEM_CODIGO ? null : valores[codigo];
+    }
+
+    /**
+     * Retorna a instância única do texto guardada no dicionário, ou o próprio texto se ele
+     * não puder ser incluído.
+     */
+    public String internar(String texto) {
+        int codigo = codificar(texto);
+        return codigo == SEM_CODIGO ? texto : valor(codigo);
+    }
+
+    /**
+     * Número de textos distintos no dicionário.
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+}
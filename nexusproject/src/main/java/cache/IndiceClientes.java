@@ -0,0 +1,558 @@
+package cache;
+
+import colecoes.MapaIntObjeto;
+import colecoes.MapaTextoInt;
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.Cliente;
+
+/**
+ * Índice em memória para a busca de clientes por nome, email, telefone e CPF/CNPJ.
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acentos) e decompostos em trigramas; cada
+ * trigrama aponta para a lista de clientes que o contêm. Uma busca usa a lista mais curta
+ * entre os trigramas do termo digitado e confere apenas esses candidatos, sem percorrer
+ * todos os clientes. Termos de um ou dois caracteres casam com o início das palavras de
+ * nome e email; termos numéricos casam com os dígitos do telefone e do CPF/CNPJ,
+ * ignorando pontuação. Vários termos separados por espaço precisam casar todos.
+ * <p>
+ * O índice é carregado uma vez, ao abrir o sistema (ver {@code ClienteDAO.carregarIndiceBusca}),
+ * e mantido pelos eventos {@link ClienteAlterado} que o ClienteDAO publica após o commit de
+ * cada inclusão, alteração ou exclusão.
+ * Ao alterar ou excluir um cliente, sua posição sai das listas dos trigramas que ele tinha,
+ * e a posição liberada é reaproveitada; assim as listas não crescem com as alterações.
+ */
+public class IndiceClientes {
+
+    private static final IndiceClientes INSTANCIA = new IndiceClientes();
+
+    public static final int LIMITE_PADRAO = 20;
+
+    // Depois de conferir este número de candidatos, a busca para assim que tiver resultados
+    // suficientes, mesmo sem ter encontrado só clientes cujo nome começa pelo termo.
+    private static final int MAXIMO_CONFERIDOS = 20_000;
+
+    private static final int TRIGRAMA = 0;
+    private static final int PREFIXO = 1;
+    private static final int DIGITOS = 2;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final MapaTextoInt posicaoPorId = new MapaTextoInt(1024);
+    private final MapaIntObjeto<Posicoes> indice = new MapaIntObjeto<>();
+    private final Posicoes livres = new Posicoes();
+
+    // Dados por posição; posições livres têm identificador nulo.
+    private String[] identificadores = new String[1024];
+    private String[] nomes = new String[1024];
+    private String[] nomesNormalizados = new String[1024];
+    private String[] emailsNormalizados = new String[1024];
+    private String[] documentos = new String[1024];
+    private String[] telefones = new String[1024];
+    private int tamanho = 0;
+
+    // Durante a carga inicial, guarda os clientes excluídos para que a leitura do banco,
+    // iniciada antes da exclusão, não os traga de volta.
+    private Set<String> excluidosDuranteCarga = null;
+    private volatile boolean carregado = false;
+
+    private IndiceClientes() {
+        BarramentoEventos.getInstancia().inscrever(ClienteAlterado.class, evento -> {
+            if (evento.isExcluido()) {
+                remover(evento.getIdentificador());
+            } else {
+                atualizar(evento.getCliente());
+            }
+        });
+    }
+
+    public static IndiceClientes getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Cliente encontrado pela busca.
+     */
+    public static final class Resultado {
+
+        private final String identificador;
+        private final String nome;
+
+        private Resultado(String identificador, String nome) {
+            this.identificador = identificador;
+            this.nome = nome;
+        }
+
+        public String getIdentificador() {
+            return identificador;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public String toString() {
+            return nome + " (" + identificador + ")";
+        }
+    }
+
+    /**
+     * Indica se a carga inicial já terminou. Antes disso, a busca retorna só parte dos clientes.
+     */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Descarta o conteúdo do índice e prepara uma nova carga completa.
+     */
+    public void iniciarCarga() {
+        trava.writeLock().lock();
+        try {
+            posicaoPorId.clear();
+            indice.clear();
+            livres.tamanho = 0;
+            Arrays.fill(identificadores, 0, tamanho, null);
+            tamanho = 0;
+            excluidosDuranteCarga = new HashSet<>();
+            carregado = false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Esvazia o índice e o mantém carregado, refletindo um banco sem clientes. Usado quando
+     * o banco é apagado.
+     */
+    public void esvaziar() {
+        trava.writeLock().lock();
+        try {
+            posicaoPorId.clear();
+            indice.clear();
+            livres.tamanho = 0;
+            Arrays.fill(identificadores, 0, tamanho, null);
+            tamanho = 0;
+            excluidosDuranteCarga = null;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Acrescenta um cliente lido pela carga inicial. Clientes incluídos, alterados ou
+     * excluídos pela aplicação desde o início da carga já estão atualizados e são ignorados.
+     */
+    public void adicionarDaCarga(String identificador, String nome, String email, String telefone) {
+        trava.writeLock().lock();
+        try {
+            if (posicaoPorId.containsKey(identificador)
+                    || (excluidosDuranteCarga != null && excluidosDuranteCarga.contains(identificador))) {
+                return;
+            }
+            indexar(identificador, nome, email, telefone);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Conclui a carga inicial, liberando a memória reservada além do necessário.
+     */
+    public void concluirCarga() {
+        trava.writeLock().lock();
+        try {
+            indice.forEach((chave, posicoes) -> posicoes.ajustar());
+            excluidosDuranteCarga = null;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica se o cliente está no índice. Só é conclusivo depois da carga inicial ({@link #isCarregado()}).
+     */
+    public boolean contem(String identificador) {
+        trava.readLock().lock();
+        try {
+            return posicaoPorId.containsKey(identificador);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui o cliente no índice ou, se ele já estiver indexado, substitui seus dados.
+     */
+    public void atualizar(Cliente cliente) {
+        trava.writeLock().lock();
+        try {
+            desindexar(cliente.getIdentificador());
+            indexar(cliente.getIdentificador(), cliente.getNome(), cliente.getEmail(), cliente.getTelefone());
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira o cliente do índice.
+     */
+    public void remover(String identificador) {
+        trava.writeLock().lock();
+        try {
+            desindexar(identificador);
+            if (excluidosDuranteCarga != null) {
+                excluidosDuranteCarga.add(identificador);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca clientes cujo nome, email, telefone ou CPF/CNPJ contenham os termos informados.
+     * Clientes cujo nome (ou documento, para buscas numéricas) começa pelo primeiro termo
+     * vêm primeiro; dentro de cada grupo, a ordem é alfabética.
+     *
+     * @param consulta O texto digitado, com um ou mais termos.
+     * @param limite O número máximo de resultados.
+     * @return Os clientes encontrados, no máximo {@code limite}.
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        List<String> termos = new ArrayList<>();
+        for (String termo : normalizar(consulta).split("\\s+")) {
+            String chave = ehNumerico(termo) ? digitos(termo) : termo;
+            if (!chave.isEmpty()) {
+                termos.add(chave);
+            }
+        }
+        if (termos.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        trava.readLock().lock();
+        try {
+            // Os candidatos vêm do termo mais seletivo; os demais são conferidos um a um.
+            Posicoes candidatos = null;
+            for (String termo : termos) {
+                Posicoes posicoes = candidatos(termo);
+                if (posicoes == null) {
+                    return new ArrayList<>();
+                }
+                if (candidatos == null || posicoes.tamanho < candidatos.tamanho) {
+                    candidatos = posicoes;
+                }
+            }
+
+            // Clientes cujo nome começa pelo primeiro termo ficam à parte; dos demais, bastam
+            // os primeiros encontrados.
+            String primeiro = termos.get(0);
+            boolean primeiroNumerico = ehNumerico(primeiro);
+            List<Integer> noInicio = new ArrayList<>();
+            List<Integer> demais = new ArrayList<>();
+            for (int i = 0; i < candidatos.tamanho; i++) {
+                int posicao = candidatos.itens[i];
+                if (!correspondeTodos(posicao, termos)) {
+                    continue;
+                }
+                if (comecaPor(posicao, primeiro, primeiroNumerico)) {
+                    noInicio.add(posicao);
+                } else if (demais.size() < limite) {
+                    demais.add(posicao);
+                }
+                if (noInicio.size() >= limite || (noInicio.size() + demais.size() >= limite && i >= MAXIMO_CONFERIDOS)) {
+                    break;
+                }
+            }
+
+            Comparator<Integer> porNome = (a, b) -> nomesNormalizados[a].compareTo(nomesNormalizados[b]);
+            noInicio.sort(porNome);
+            demais.sort(porNome);
+            noInicio.addAll(demais);
+            List<Resultado> resultados = new ArrayList<>(Math.min(limite, noInicio.size()));
+            for (int i = 0; i < noInicio.size() && i < limite; i++) {
+                int posicao = noInicio.get(i);
+                resultados.add(new Resultado(identificadores[posicao], nomes[posicao]));
+            }
+            return resultados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Lista de posições que contém todos os clientes que podem casar com o termo,
+    // ou null se nenhum cliente pode casar.
+    private Posicoes candidatos(String termo) {
+        boolean numerico = ehNumerico(termo);
+        if (termo.length() < 3) {
+            return indice.get(chave(numerico ? DIGITOS : PREFIXO, termo, 0, termo.length()));
+        }
+        Posicoes menor = null;
+        for (int i = 0; i + 3 <= termo.length(); i++) {
+            Posicoes posicoes = indice.get(chave(numerico ? DIGITOS : TRIGRAMA, termo, i, 3));
+            if (posicoes == null) {
+                return null;
+            }
+            if (menor == null || posicoes.tamanho < menor.tamanho) {
+                menor = posicoes;
+            }
+        }
+        return menor;
+    }
+
+    private boolean correspondeTodos(int posicao, List<String> termos) {
+        for (String termo : termos) {
+            if (!corresponde(posicao, termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean corresponde(int posicao, String termo) {
+        if (ehNumerico(termo)) {
+            if (termo.length() < 3) {
+                return documentos[posicao].startsWith(termo) || telefones[posicao].startsWith(termo);
+            }
+            return documentos[posicao].contains(termo) || telefones[posicao].contains(termo);
+        }
+        if (termo.length() < 3) {
+            return inicioDePalavra(nomesNormalizados[posicao], termo) || inicioDePalavra(emailsNormalizados[posicao], termo);
+        }
+        return nomesNormalizados[posicao].contains(termo) || emailsNormalizados[posicao].contains(termo);
+    }
+
+    private boolean comecaPor(int posicao, String termo, boolean numerico) {
+        if (numerico) {
+            return documentos[posicao].startsWith(termo) || telefones[posicao].startsWith(termo);
+        }
+        return nomesNormalizados[posicao].startsWith(termo);
+    }
+
+    private static boolean inicioDePalavra(String texto, String termo) {
+        for (int i = texto.indexOf(termo); i != -1; i = texto.indexOf(termo, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(texto.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void indexar(String identificador, String nome, String email, String telefone) {
+        int posicao;
+        if (livres.tamanho > 0) {
+            posicao = livres.itens[--livres.tamanho];
+        } else {
+            if (tamanho == identificadores.length) {
+                crescer();
+            }
+            posicao = tamanho++;
+        }
+        String nomeNormalizado = normalizar(nome);
+        String emailNormalizado = normalizar(email);
+        String documento = digitos(identificador);
+        String telefoneDigitos = digitos(telefone);
+
+        identificadores[posicao] = identificador;
+        nomes[posicao] = nome;
+        nomesNormalizados[posicao] = nomeNormalizado;
+        emailsNormalizados[posicao] = emailNormalizado;
+        documentos[posicao] = documento;
+        telefones[posicao] = telefoneDigitos;
+        posicaoPorId.put(identificador, posicao);
+
+        for (int chave : chaves(posicao)) {
+            indice.computeIfAbsent(chave, c -> new Posicoes()).adicionar(posicao);
+        }
+    }
+
+    private void desindexar(String identificador) {
+        int posicao = posicaoPorId.remove(identificador);
+        if (posicao == MapaTextoInt.AUSENTE) {
+            return;
+        }
+        // As chaves são recalculadas a partir dos dados guardados, que são os mesmos usados ao indexar.
+        for (int chave : chaves(posicao)) {
+            Posicoes posicoes = indice.get(chave);
+            if (posicoes != null && posicoes.remover(posicao) && posicoes.tamanho == 0) {
+                indice.remove(chave);
+            }
+        }
+        identificadores[posicao] = null;
+        nomes[posicao] = null;
+        nomesNormalizados[posicao] = null;
+        emailsNormalizados[posicao] = null;
+        documentos[posicao] = null;
+        telefones[posicao] = null;
+        livres.adicionar(posicao);
+    }
+
+    private void crescer() {
+        int novo = identificadores.length * 2;
+        identificadores = Arrays.copyOf(identificadores, novo);
+        nomes = Arrays.copyOf(nomes, novo);
+        nomesNormalizados = Arrays.copyOf(nomesNormalizados, novo);
+        emailsNormalizados = Arrays.copyOf(emailsNormalizados, novo);
+        documentos = Arrays.copyOf(documentos, novo);
+        telefones = Arrays.copyOf(telefones, novo);
+    }
+
+    // Chaves do cliente na posição, sem repetição: um mesmo trigrama pode aparecer várias vezes
+    // no cliente, mas cada lista recebe a posição uma vez só.
+    private int[] chaves(int posicao) {
+        String nomeNormalizado = nomesNormalizados[posicao];
+        String emailNormalizado = emailsNormalizados[posicao];
+        String documento = documentos[posicao];
+        String telefoneDigitos = telefones[posicao];
+        int[] chaves = new int[nomeNormalizado.length() * 3 + emailNormalizado.length() * 3
+                + (documento.length() + telefoneDigitos.length()) + 4];
+        int total = 0;
+        total = chavesDeTexto(nomeNormalizado, chaves, total);
+        total = chavesDeTexto(emailNormalizado, chaves, total);
+        total = chavesDeDigitos(documento, chaves, total);
+        total = chavesDeDigitos(telefoneDigitos, chaves, total);
+
+        Arrays.sort(chaves, 0, total);
+        int distintas = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || chaves[i] != chaves[i - 1]) {
+                chaves[distintas++] = chaves[i];
+            }
+        }
+        return Arrays.copyOf(chaves, distintas);
+    }
+
+    // Trigramas do texto (exceto os que atravessam espaços) e os prefixos de uma e duas
+    // letras de cada palavra.
+    private static int chavesDeTexto(String texto, int[] chaves, int total) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c) && (i == 0 || !Character.isLetterOrDigit(texto.charAt(i - 1)))) {
+                chaves[total++] = chave(PREFIXO, texto, i, 1);
+                if (i + 1 < texto.length() && !Character.isWhitespace(texto.charAt(i + 1))) {
+                    chaves[total++] = chave(PREFIXO, texto, i, 2);
+                }
+            }
+            if (i + 3 <= texto.length() && !Character.isWhitespace(texto.charAt(i + 1)) && !Character.isWhitespace(texto.charAt(i + 2))) {
+                chaves[total++] = chave(TRIGRAMA, texto, i, 3);
+            }
+        }
+        return total;
+    }
+
+    // Prefixos de um e dois dígitos e todos os trigramas de dígitos.
+    private static int chavesDeDigitos(String digitos, int[] chaves, int total) {
+        for (int n = 1; n <= 2 && n <= digitos.length(); n++) {
+            chaves[total++] = chave(DIGITOS, digitos, 0, n);
+        }
+        for (int i = 0; i + 3 <= digitos.length(); i++) {
+            chaves[total++] = chave(DIGITOS, digitos, i, 3);
+        }
+        return total;
+    }
+
+    // Empacota o tipo e até três caracteres num int. Caracteres acima de 1023 podem colidir,
+    // o que só acrescenta candidatos: a conferência final descarta os que não casam.
+    private static int chave(int tipo, String texto, int inicio, int n) {
+        int chave = tipo;
+        for (int i = 0; i < 3; i++) {
+            chave = (chave << 10) | (i < n ? texto.charAt(inicio + i) & 0x3FF : 0);
+        }
+        return chave;
+    }
+
+    /**
+     * Converte o texto para minúsculas e remove os acentos.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        // A maioria dos textos não tem acentos; nesse caso basta converter para minúsculas.
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 128;
+        }
+        if (ascii) {
+            return texto.toLowerCase(Locale.ROOT);
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String digitos(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Termos sem letras (ex.: "123.456", "(11) 9") são buscados nos dígitos de documento e telefone.
+    private static boolean ehNumerico(String termo) {
+        for (int i = 0; i < termo.length(); i++) {
+            if (Character.isLetter(termo.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Lista de posições que cresce conforme a necessidade, sem caixas Integer.
+    private static final class Posicoes {
+
+        private int[] itens = new int[4];
+        private int tamanho = 0;
+
+        void adicionar(int posicao) {
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, tamanho * 2);
+            }
+            itens[tamanho++] = posicao;
+        }
+
+        // A ordem das posições não importa: a última ocupa o lugar da removida.
+        boolean remover(int posicao) {
+            for (int i = 0; i < tamanho; i++) {
+                if (itens[i] == posicao) {
+                    itens[i] = itens[--tamanho];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void ajustar() {
+            if (itens.length > tamanho) {
+                itens = Arrays.copyOf(itens, Math.max(tamanho, 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package cache;
+
+import evento.BarramentoEventos;
+import evento.CaixaAlterado;
+import evento.PerfilAlterado;
+import java.sql.SQLException;
+import model.Dinheiro;
+import model.Endereco;
+import model.Microempreendedor;
+
+/**
+ * Perfil do microempreendedor (o único usuário do sistema) em memória.
+ * <p>
+ * O perfil é lido do banco uma vez, ao abrir o menu, e depois mantido pelos eventos publicados
+ * após o commit: {@link PerfilAlterado}, no cadastro e na edição do perfil, e
+ * {@link CaixaAlterado}, a cada venda registrada. Assim, a tela de perfil abre sem consultar o banco.
+ * Os perfis retornados são cópias: alterá-los não afeta o cache.
+ */
+public class PerfilCache {
+
+    private static final PerfilCache INSTANCIA = new PerfilCache();
+
+    private Microempreendedor perfil;
+    // Diferencia "ainda não lido" de "lido, mas não há cadastro" (perfil null).
+    private boolean carregado = false;
+    // Incrementada a cada evento: impede que uma leitura iniciada antes de uma alteração
+    // seja guardada depois dela.
+    private long versao = 0;
+    // Versão do microempreendedor (VersaoTabelas) do último caixa aplicado; eventos de versão
+    // igual ou anterior trazem um total mais antigo e são ignorados.
+    private long versaoCaixa = -1;
+
+    private PerfilCache() {
+        BarramentoEventos barramento = BarramentoEventos.getInstancia();
+        barramento.inscrever(PerfilAlterado.class, evento -> atualizar(evento.getMicroempreendedor()));
+        barramento.inscrever(CaixaAlterado.class, evento -> atualizarCaixa(evento.getCaixa(), evento.getVersao()));
+    }
+
+    public static PerfilCache getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Função que lê o perfil do banco quando ele ainda não foi lido.
+     */
+    public interface Carregador {
+        Microempreendedor carregar() throws SQLException;
+    }
+
+    public synchronized boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Retorna uma cópia do perfil, lendo-o com o carregador na primeira vez.
+     *
+     * @param carregador Lê o perfil do banco.
+     * @return O perfil, ou null se não houver microempreendedor cadastrado.
+     * @throws SQLException Se o carregador falhar.
+     */
+    public Microempreendedor obter(Carregador carregador) throws SQLException {
+        long versaoInicial;
+        synchronized (this) {
+            if (carregado) {
+                return copiar(perfil);
+            }
+            versaoInicial = versao;
+        }
+        Microempreendedor lido = carregador.carregar();
+        synchronized (this) {
+            if (versao == versaoInicial) {
+                perfil = copiar(lido);
+                carregado = true;
+            }
+        }
+        return lido;
+    }
+
+    /**
+     * Substitui os dados do perfil, mantendo o caixa em memória (ver {@link PerfilAlterado}).
+     * Um perfil recém-cadastrado é guardado com o próprio caixa inicial.
+     */
+    public synchronized void atualizar(Microempreendedor microempreendedor) {
+        versao++;
+        Dinheiro caixa = perfil != null ? perfil.getCaixa() : microempreendedor.getCaixa();
+        perfil = copiar(microempreendedor);
+        perfil.setCaixa(caixa == null ? Dinheiro.ZERO : caixa);
+        carregado = true;
+    }
+
+    /**
+     * Aplica o caixa de um {@link CaixaAlterado}, a menos que ele seja de uma versão igual ou
+     * anterior à do último caixa aplicado.
+     *
+     * @param caixa O novo valor do caixa.
+     * @param versaoEvento A versão do microempreendedor após a alteração.
+     */
+    public synchronized void atualizarCaixa(Dinheiro caixa, long versaoEvento) {
+        if (versaoEvento <= versaoCaixa) {
+            return;
+        }
+        versaoCaixa = versaoEvento;
+        versao++;
+        if (perfil != null) {
+            perfil.setCaixa(caixa);
+        }
+    }
+
+    /**
+     * Descarta o perfil; a próxima consulta lê o banco.
+     */
+    public synchronized void limpar() {
+        versao++;
+        perfil = null;
+        carregado = false;
+    }
+
+    private static Microempreendedor copiar(Microempreendedor micemp) {
+        if (micemp == null) {
+            return null;
+        }
+        Endereco endereco = micemp.getEndereco();
+        Endereco copia = endereco == null ? null : new Endereco(endereco.getRua(), endereco.getBairro(),
+                endereco.getCidade(), endereco.getNumero(), endereco.getComplemento());
+        return new Microempreendedor(micemp.getSenha(), micemp.getLogin(), micemp.getCaixa(),
+                micemp.getIdentificador(), micemp.getNome(), micemp.getEmail(), copia);
+    }
+}
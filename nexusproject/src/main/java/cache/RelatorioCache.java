@@ -0,0 +1,162 @@
+package cache;
+
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
+import evento.ProdutoAlterado;
+import evento.VendaRegistrada;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import model.RelatorioMensal;
+import model.Venda;
+
+/**
+ * Cache dos relatórios mensais já calculados, indexado por mês/ano.
+ * Meses já encerrados ficam no cache por tempo indeterminado, pois vendas raramente são
+ * lançadas com data retroativa; o mês corrente expira após um curto intervalo.
+ * Em ambos os casos, a entrada de um mês é descartada assim que uma venda com data
+ * dentro dele é registrada (ver {@link #invalidar(YearMonth)}). Como os relatórios trazem os
+ * dados dos produtos (nome, categoria) e o CPF/CNPJ dos clientes, a alteração ou exclusão de um
+ * produto ou cliente descarta os meses em que ele aparece.
+ */
+public class RelatorioCache {
+
+    private static final RelatorioCache INSTANCIA = new RelatorioCache();
+
+    // Validade das entradas de meses ainda em aberto.
+    private static final long VALIDADE_MES_ABERTO_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<YearMonth, Entrada> entradas = new ConcurrentHashMap<>();
+    // Geração por mês: incrementada a cada invalidação, impede que um cálculo iniciado
+    // antes de uma venda seja guardado depois dela.
+    private final Map<YearMonth, AtomicLong> geracoes = new ConcurrentHashMap<>();
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    private RelatorioCache() {
+        BarramentoEventos barramento = BarramentoEventos.getInstancia();
+        barramento.inscrever(VendaRegistrada.class,
+                evento -> invalidar(YearMonth.from(evento.getVenda().getDataVenda())));
+        barramento.inscrever(ProdutoAlterado.class, evento -> invalidarSe(venda ->
+                venda.getProduto() != null && venda.getProduto().getProdutoId() == evento.getProdutoId()));
+        barramento.inscrever(ClienteAlterado.class, evento -> invalidarSe(venda ->
+                venda.getCliente() != null && evento.getIdentificador().equals(venda.getCliente().getIdentificador())));
+    }
+
+    public static RelatorioCache getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Função que calcula o relatório quando ele não está no cache.
+     */
+    public interface Carregador {
+        RelatorioMensal carregar() throws SQLException;
+    }
+
+    /**
+     * Retorna o relatório do mês, calculando-o com o carregador em caso de falta.
+     *
+     * @param mes O mês do relatório.
+     * @param carregador Calcula o relatório a partir do banco.
+     * @return O relatório do mês.
+     * @throws SQLException Se o carregador falhar.
+     */
+    public RelatorioMensal obter(YearMonth mes, Carregador carregador) throws SQLException {
+        Entrada entrada = entradas.get(mes);
+        if (entrada != null && entrada.valida()) {
+            acertos.incrementAndGet();
+            return entrada.relatorio;
+        }
+        falhas.incrementAndGet();
+
+        AtomicLong geracao = geracoes.computeIfAbsent(mes, m -> new AtomicLong());
+        long geracaoInicial = geracao.get();
+        RelatorioMensal relatorio = carregador.carregar();
+
+        boolean encerrado = mes.isBefore(YearMonth.now());
+        Entrada nova = new Entrada(relatorio, encerrado ? Long.MAX_VALUE : System.nanoTime() + VALIDADE_MES_ABERTO_NANOS);
+        entradas.put(mes, nova);
+        // Se uma venda do mês foi registrada durante o cálculo, o resultado já nasce desatualizado.
+        if (geracao.get() != geracaoInicial) {
+            entradas.remove(mes, nova);
+        }
+        return relatorio;
+    }
+
+    /**
+     * Descarta o relatório do mês informado. Chamado a cada {@link VendaRegistrada} com data nesse mês.
+     */
+    public void invalidar(YearMonth mes) {
+        geracoes.computeIfAbsent(mes, m -> new AtomicLong()).incrementAndGet();
+        if (entradas.remove(mes) != null) {
+            invalidacoes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Descarta os relatórios que têm alguma venda aceita pelo critério. Cálculos em andamento,
+     * de qualquer mês, também são descartados ao terminar, pois podem ter lido o dado antigo.
+     */
+    private void invalidarSe(Predicate<Venda> criterio) {
+        geracoes.values().forEach(AtomicLong::incrementAndGet);
+        for (Map.Entry<YearMonth, Entrada> entrada : entradas.entrySet()) {
+            if (entrada.getValue().relatorio.getVendas().stream().anyMatch(criterio)) {
+                invalidar(entrada.getKey());
+            }
+        }
+    }
+
+    public void limpar() {
+        geracoes.values().forEach(AtomicLong::incrementAndGet);
+        entradas.clear();
+    }
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes.get();
+    }
+
+    public double getTaxaAcerto() {
+        long total = acertos.get() + falhas.get();
+        return total == 0 ? 0.0 : (double) acertos.get() / total;
+    }
+
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RelatorioCache{entradas=%d, acertos=%d, falhas=%d, invalidacoes=%d, taxaAcerto=%.1f%%}",
+                getTamanho(), getAcertos(), getFalhas(), getInvalidacoes(), getTaxaAcerto() * 100);
+    }
+
+    private static class Entrada {
+
+        final RelatorioMensal relatorio;
+        final long expiraEm;
+
+        Entrada(RelatorioMensal relatorio, long expiraEm) {
+            this.relatorio = relatorio;
+            this.expiraEm = expiraEm;
+        }
+
+        boolean valida() {
+            return expiraEm == Long.MAX_VALUE || System.nanoTime() - expiraEm < 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package colecoes;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de int com endereçamento aberto, sem Integer nem um nó por elemento.
+ * A classe não é sincronizada.
+ */
+public final class ConjuntoInt {
+
+    private int[] chaves;
+    private int tamanho = 0;
+    private int limite;
+    // O 0 marca posições livres e fica fora da tabela.
+    private boolean temZero = false;
+
+    public ConjuntoInt() {
+        this(8);
+    }
+
+    /**
+     * @param esperado Quantos elementos o conjunto deve comportar sem crescer.
+     */
+    public ConjuntoInt(int esperado) {
+        int capacidade = EnderecamentoAberto.capacidadePara(esperado);
+        chaves = new int[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+    }
+
+    public boolean contains(int valor) {
+        return valor == 0 ? temZero : chaves[posicao(valor)] != 0;
+    }
+
+    /**
+     * Inclui o valor.
+     *
+     * @return true se o valor ainda não estava no conjunto.
+     */
+    public boolean add(int valor) {
+        if (valor == 0) {
+            if (temZero) {
+                return false;
+            }
+            temZero = true;
+            tamanho++;
+            return true;
+        }
+        int i = posicao(valor);
+        if (chaves[i] != 0) {
+            return false;
+        }
+        chaves[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Retira o valor.
+     *
+     * @return true se o valor estava no conjunto.
+     */
+    public boolean remove(int valor) {
+        if (valor == 0) {
+            if (!temZero) {
+                return false;
+            }
+            temZero = false;
+            tamanho--;
+            return true;
+        }
+        int i = posicao(valor);
+        if (chaves[i] == 0) {
+            return false;
+        }
+        tamanho--;
+        // Traz de volta os valores seguintes que só estavam adiante por causa do removido
+        // (ver MapaIntObjeto.fecharLacuna).
+        int mascara = chaves.length - 1;
+        int livre = i;
+        for (int j = (i + 1) & mascara; chaves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = EnderecamentoAberto.espalhar(chaves[j]) & mascara;
+            if (((j - ideal) & mascara) >= ((j - livre) & mascara)) {
+                chaves[livre] = chaves[j];
+                livre = j;
+            }
+        }
+        chaves[livre] = 0;
+        return true;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        temZero = false;
+        tamanho = 0;
+    }
+
+    /**
+     * Percorre os valores, em ordem indefinida. O conjunto não deve ser alterado durante o percurso.
+     */
+    public void forEach(IntConsumer consumidor) {
+        if (temZero) {
+            consumidor.accept(0);
+        }
+        for (int chave : chaves) {
+            if (chave != 0) {
+                consumidor.accept(chave);
+            }
+        }
+    }
+
+    /**
+     * Os valores do conjunto num vetor novo, em ordem indefinida.
+     */
+    public int[] paraVetor() {
+        int[] vetor = new int[tamanho];
+        int n = 0;
+        if (temZero) {
+            vetor[n++] = 0;
+        }
+        for (int chave : chaves) {
+            if (chave != 0) {
+                vetor[n++] = chave;
+            }
+        }
+        return vetor;
+    }
+
+    // Posição do valor (diferente de 0) ou, se ele não existir, da posição livre onde entraria.
+    private int posicao(int valor) {
+        int mascara = chaves.length - 1;
+        int i = EnderecamentoAberto.espalhar(valor) & mascara;
+        while (chaves[i] != 0 && chaves[i] != valor) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] antigas = chaves;
+        chaves = new int[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+        for (int chave : antigas) {
+            if (chave != 0) {
+                chaves[posicao(chave)] = chave;
+            }
+        }
+    }
+}
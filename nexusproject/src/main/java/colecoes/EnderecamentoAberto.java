@@ -0,0 +1,44 @@
+package colecoes;
+
+/**
+ * Cálculos comuns às tabelas de endereçamento aberto deste pacote.
+ * <p>
+ * As tabelas guardam as chaves num vetor de int cujo tamanho é potência de dois e resolvem
+ * colisões por sondagem linear: a chave fica na primeira posição livre a partir da posição
+ * do seu hash. O valor 0 marca uma posição livre; por isso a chave 0 é guardada à parte.
+ */
+final class EnderecamentoAberto {
+
+    // Ocupação máxima antes de dobrar a tabela.
+    static final float CARGA_MAXIMA = 0.75f;
+
+    private EnderecamentoAberto() {
+    }
+
+    /**
+     * Espalha os bits da chave, para que IDs sequenciais não ocupem posições vizinhas.
+     */
+    static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Menor potência de dois que comporta a quantidade de chaves informada sem passar da carga máxima.
+     */
+    static int capacidadePara(int esperado) {
+        int minimo = (int) Math.ceil(Math.max(esperado, 2) / CARGA_MAXIMA);
+        int capacidade = Integer.highestOneBit(minimo);
+        if (capacidade < minimo) {
+            capacidade <<= 1;
+        }
+        if (capacidade <= 0) {
+            throw new IllegalStateException("A tabela atingiu o tamanho máximo.");
+        }
+        return capacidade;
+    }
+
+    static int limite(int capacidade) {
+        return (int) (capacidade * CARGA_MAXIMA);
+    }
+}
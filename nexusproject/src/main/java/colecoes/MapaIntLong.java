@@ -0,0 +1,140 @@
+package colecoes;
+
+/**
+ * Mapa de chaves int para valores long, com endereçamento aberto, usado para somar
+ * quantidades por ID sem criar Integer e Long a cada soma.
+ * <p>
+ * Chaves ausentes valem 0 em {@link #get(int)}. A classe não é sincronizada.
+ */
+public final class MapaIntLong {
+
+    /**
+     * Recebe cada entrada do mapa em {@link #forEach(Consumidor)}.
+     */
+    @FunctionalInterface
+    public interface Consumidor {
+        void aceitar(int chave, long valor);
+    }
+
+    private int[] chaves;
+    private long[] valores;
+    private int tamanho = 0;
+    private int limite;
+    // A chave 0 marca posições livres e fica fora da tabela.
+    private boolean temZero = false;
+    private long valorDoZero;
+
+    public MapaIntLong() {
+        this(8);
+    }
+
+    /**
+     * @param esperado Quantas entradas o mapa deve comportar sem crescer.
+     */
+    public MapaIntLong(int esperado) {
+        int capacidade = EnderecamentoAberto.capacidadePara(esperado);
+        chaves = new int[capacidade];
+        valores = new long[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+    }
+
+    public long get(int chave) {
+        if (chave == 0) {
+            return valorDoZero;
+        }
+        int i = posicao(chave);
+        return chaves[i] == 0 ? 0 : valores[i];
+    }
+
+    public boolean containsKey(int chave) {
+        return chave == 0 ? temZero : chaves[posicao(chave)] != 0;
+    }
+
+    public void put(int chave, long valor) {
+        if (chave == 0) {
+            if (!temZero) {
+                temZero = true;
+                tamanho++;
+            }
+            valorDoZero = valor;
+            return;
+        }
+        int i = posicao(chave);
+        if (chaves[i] != 0) {
+            valores[i] = valor;
+            return;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+    }
+
+    /**
+     * Soma o valor ao da chave, incluindo a chave com o próprio valor se ela não existir.
+     */
+    public void somar(int chave, long valor) {
+        if (chave == 0) {
+            put(0, valorDoZero + valor);
+            return;
+        }
+        int i = posicao(chave);
+        if (chaves[i] != 0) {
+            valores[i] += valor;
+            return;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Percorre as entradas, em ordem indefinida. O mapa não deve ser alterado durante o percurso.
+     */
+    public void forEach(Consumidor consumidor) {
+        if (temZero) {
+            consumidor.aceitar(0, valorDoZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                consumidor.aceitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    // Posição da chave (diferente de 0) ou, se ela não existir, da posição livre onde entraria.
+    private int posicao(int chave) {
+        int mascara = chaves.length - 1;
+        int i = EnderecamentoAberto.espalhar(chave) & mascara;
+        while (chaves[i] != 0 && chaves[i] != chave) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] chavesAntigas = chaves;
+        long[] valoresAntigos = valores;
+        chaves = new int[capacidade];
+        valores = new long[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] != 0) {
+                int i = posicao(chavesAntigas[j]);
+                chaves[i] = chavesAntigas[j];
+                valores[i] = valoresAntigos[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package colecoes;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Mapa de chaves int para objetos, com endereçamento aberto.
+ * <p>
+ * Substitui {@code HashMap<Integer, V>} nos caches indexados por ID: as chaves ficam num
+ * vetor de int e os valores num vetor paralelo, sem Integer nem um nó por entrada. Cada
+ * entrada ocupa de 8 a 16 bytes da tabela, contra cerca de 50 bytes no HashMap.
+ * <p>
+ * Valores null não são aceitos: {@link #get(int)} retorna null para chaves ausentes.
+ * A classe não é sincronizada.
+ *
+ * @param <V> O tipo dos valores.
+ */
+public final class MapaIntObjeto<V> {
+
+    /**
+     * Recebe cada entrada do mapa em {@link #forEach(Consumidor)}.
+     */
+    @FunctionalInterface
+    public interface Consumidor<V> {
+        void aceitar(int chave, V valor);
+    }
+
+    private int[] chaves;
+    private Object[] valores;
+    private int tamanho = 0;
+    private int limite;
+    // A chave 0 marca posições livres e fica fora da tabela.
+    private V valorDoZero;
+
+    public MapaIntObjeto() {
+        this(8);
+    }
+
+    /**
+     * @param esperado Quantas entradas o mapa deve comportar sem crescer.
+     */
+    public MapaIntObjeto(int esperado) {
+        int capacidade = EnderecamentoAberto.capacidadePara(esperado);
+        chaves = new int[capacidade];
+        valores = new Object[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int chave) {
+        if (chave == 0) {
+            return valorDoZero;
+        }
+        int mascara = chaves.length - 1;
+        for (int i = EnderecamentoAberto.espalhar(chave) & mascara; chaves[i] != 0; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(int chave) {
+        return get(chave) != null;
+    }
+
+    /**
+     * Associa o valor à chave.
+     *
+     * @return O valor anterior, ou null se a chave não existia.
+     * @throws NullPointerException Se o valor for null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int chave, V valor) {
+        if (valor == null) {
+            throw new NullPointerException("O mapa não aceita valores nulos.");
+        }
+        if (chave == 0) {
+            V anterior = valorDoZero;
+            valorDoZero = valor;
+            if (anterior == null) {
+                tamanho++;
+            }
+            return anterior;
+        }
+        int mascara = chaves.length - 1;
+        int i = EnderecamentoAberto.espalhar(chave) & mascara;
+        for (; chaves[i] != 0; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Retorna o valor da chave, criando-o com a fábrica e incluindo-o se a chave não existir.
+     */
+    public V computeIfAbsent(int chave, IntFunction<? extends V> fabrica) {
+        V valor = get(chave);
+        if (valor == null) {
+            valor = fabrica.apply(chave);
+            put(chave, valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Retira a chave do mapa.
+     *
+     * @return O valor que estava associado à chave, ou null se ela não existia.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int chave) {
+        if (chave == 0) {
+            V anterior = valorDoZero;
+            if (anterior != null) {
+                valorDoZero = null;
+                tamanho--;
+            }
+            return anterior;
+        }
+        int mascara = chaves.length - 1;
+        for (int i = EnderecamentoAberto.espalhar(chave) & mascara; chaves[i] != 0; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                tamanho--;
+                fecharLacuna(i);
+                return anterior;
+            }
+        }
+        return null;
+    }
+
+    // Remove a entrada da posição i e traz de volta as entradas seguintes da sequência que
+    // só estavam adiante por causa dela, para que as buscas não parem numa posição vazia.
+    private void fecharLacuna(int i) {
+        int mascara = chaves.length - 1;
+        int livre = i;
+        for (int j = (i + 1) & mascara; chaves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = EnderecamentoAberto.espalhar(chaves[j]) & mascara;
+            // A entrada de j pode ocupar a posição livre se a posição ideal dela não estiver
+            // entre a posição livre (exclusive) e j (inclusive), considerando a volta do vetor.
+            if (((j - ideal) & mascara) >= ((j - livre) & mascara)) {
+                chaves[livre] = chaves[j];
+                valores[livre] = valores[j];
+                livre = j;
+            }
+        }
+        chaves[livre] = 0;
+        valores[livre] = null;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, 0);
+        Arrays.fill(valores, null);
+        valorDoZero = null;
+        tamanho = 0;
+    }
+
+    /**
+     * Percorre as entradas, em ordem indefinida. O mapa não deve ser alterado durante o percurso.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumidor<? super V> consumidor) {
+        if (valorDoZero != null) {
+            consumidor.aceitar(0, valorDoZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                consumidor.aceitar(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        chaves = new int[capacidade];
+        valores = new Object[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+        int mascara = capacidade - 1;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            int chave = chavesAntigas[j];
+            if (chave != 0) {
+                int i = EnderecamentoAberto.espalhar(chave) & mascara;
+                while (chaves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chave;
+                valores[i] = valoresAntigos[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package colecoes;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de chaves String para valores int, com endereçamento aberto.
+ * <p>
+ * Substitui {@code HashMap<String, Integer>} quando o valor é uma posição ou contagem: as
+ * chaves ficam num vetor de String e os valores num vetor paralelo de int, sem Integer nem
+ * um nó por entrada. Diferente das tabelas de chave int do pacote, a posição livre é marcada
+ * por null, e por isso chaves null não são aceitas. O hash de cada chave fica num terceiro
+ * vetor, para que a sondagem só compare com equals as chaves de mesmo hash, sem ler as demais.
+ * <p>
+ * {@link #get(String)} e {@link #remove(String)} retornam {@link #AUSENTE} para chaves
+ * ausentes. A classe não é sincronizada.
+ */
+public final class MapaTextoInt {
+
+    /**
+     * Valor retornado para chaves ausentes.
+     */
+    public static final int AUSENTE = -1;
+
+    private String[] chaves;
+    private int[] hashes;
+    private int[] valores;
+    private int tamanho = 0;
+    private int limite;
+
+    public MapaTextoInt() {
+        this(8);
+    }
+
+    /**
+     * @param esperado Quantas entradas o mapa deve comportar sem crescer.
+     */
+    public MapaTextoInt(int esperado) {
+        int capacidade = EnderecamentoAberto.capacidadePara(esperado);
+        chaves = new String[capacidade];
+        hashes = new int[capacidade];
+        valores = new int[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+    }
+
+    /**
+     * @return O valor da chave, ou {@link #AUSENTE} se ela não estiver no mapa.
+     */
+    public int get(String chave) {
+        int i = posicao(chave, espalhar(chave));
+        return chaves[i] == null ? AUSENTE : valores[i];
+    }
+
+    public boolean containsKey(String chave) {
+        return chaves[posicao(chave, espalhar(chave))] != null;
+    }
+
+    public void put(String chave, int valor) {
+        int hash = espalhar(chave);
+        int i = posicao(chave, hash);
+        if (chaves[i] != null) {
+            valores[i] = valor;
+            return;
+        }
+        chaves[i] = chave;
+        hashes[i] = hash;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+    }
+
+    /**
+     * Retira a chave.
+     *
+     * @return O valor que ela tinha, ou {@link #AUSENTE} se ela não estava no mapa.
+     */
+    public int remove(String chave) {
+        int i = posicao(chave, espalhar(chave));
+        if (chaves[i] == null) {
+            return AUSENTE;
+        }
+        int anterior = valores[i];
+        tamanho--;
+        // Traz de volta as entradas seguintes que só estavam adiante por causa da removida
+        // (ver MapaIntObjeto.fecharLacuna).
+        int mascara = chaves.length - 1;
+        int livre = i;
+        for (int j = (i + 1) & mascara; chaves[j] != null; j = (j + 1) & mascara) {
+            int ideal = hashes[j] & mascara;
+            if (((j - ideal) & mascara) >= ((j - livre) & mascara)) {
+                chaves[livre] = chaves[j];
+                hashes[livre] = hashes[j];
+                valores[livre] = valores[j];
+                livre = j;
+            }
+        }
+        chaves[livre] = null;
+        return anterior;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, null);
+        tamanho = 0;
+    }
+
+    // Posição da chave ou, se ela não existir, da posição livre onde entraria.
+    private int posicao(String chave, int hash) {
+        int mascara = chaves.length - 1;
+        int i = hash & mascara;
+        while (chaves[i] != null && (hashes[i] != hash || !chaves[i].equals(chave))) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private static int espalhar(String chave) {
+        return EnderecamentoAberto.espalhar(chave.hashCode());
+    }
+
+    private void redimensionar(int capacidade) {
+        String[] chavesAntigas = chaves;
+        int[] hashesAntigos = hashes;
+        int[] valoresAntigos = valores;
+        chaves = new String[capacidade];
+        hashes = new int[capacidade];
+        valores = new int[capacidade];
+        limite = EnderecamentoAberto.limite(capacidade);
+        int mascara = capacidade - 1;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] != null) {
+                int i = hashesAntigos[j] & mascara;
+                while (chaves[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chavesAntigas[j];
+                hashes[i] = hashesAntigos[j];
+                valores[i] = valoresAntigos[j];
+            }
+        }
+    }
+}
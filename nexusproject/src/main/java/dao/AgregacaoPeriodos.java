@@ -0,0 +1,115 @@
+package dao;
+
+import colecoes.MapaIntLong;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tarefa fork/join que agrega as vendas de um intervalo por período (dia, semana ou mês).
+ * As vendas ficam em vetores primitivos paralelos; cada tarefa divide sua faixa de linhas ao meio
+ * até atingir o limiar, agrega a faixa localmente e as parciais são somadas na volta da recursão.
+ */
+class AgregacaoPeriodos extends RecursiveTask<AgregacaoPeriodos.Parcial> {
+
+    // Abaixo deste número de linhas a agregação é feita sequencialmente.
+    private static final int LIMIAR = 20_000;
+
+    private final int[] periodo;
+    private final int[] itemId;
+    private final int[] quantidade;
+    private final long[] lucroCentavos;
+    private final int totalPeriodos;
+    private final int inicio;
+    private final int fim;
+
+    AgregacaoPeriodos(int[] periodo, int[] itemId, int[] quantidade, long[] lucroCentavos,
+                      int totalPeriodos, int inicio, int fim) {
+        this.periodo = periodo;
+        this.itemId = itemId;
+        this.quantidade = quantidade;
+        this.lucroCentavos = lucroCentavos;
+        this.totalPeriodos = totalPeriodos;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    @Override
+    protected Parcial compute() {
+        if (fim - inicio <= LIMIAR) {
+            return agregarSequencial();
+        }
+        int meio = (inicio + fim) >>> 1;
+        AgregacaoPeriodos esquerda = new AgregacaoPeriodos(periodo, itemId, quantidade, lucroCentavos, totalPeriodos, inicio, meio);
+        AgregacaoPeriodos direita = new AgregacaoPeriodos(periodo, itemId, quantidade, lucroCentavos, totalPeriodos, meio, fim);
+        esquerda.fork();
+        Parcial resultado = direita.compute();
+        resultado.somar(esquerda.join());
+        return resultado;
+    }
+
+    private Parcial agregarSequencial() {
+        Parcial parcial = new Parcial(totalPeriodos);
+        for (int i = inicio; i < fim; i++) {
+            int p = periodo[i];
+            parcial.lucroCentavos[p] += lucroCentavos[i];
+            parcial.unidades[p] += quantidade[i];
+            parcial.quantidadePorProduto(p).somar(itemId[i], quantidade[i]);
+        }
+        return parcial;
+    }
+
+    /**
+     * Resultado parcial da agregação: totais por período e quantidade vendida por produto em cada período.
+     */
+    static class Parcial {
+
+        final long[] lucroCentavos;
+        final long[] unidades;
+        final MapaIntLong[] porProduto;
+
+        Parcial(int totalPeriodos) {
+            this.lucroCentavos = new long[totalPeriodos];
+            this.unidades = new long[totalPeriodos];
+            this.porProduto = new MapaIntLong[totalPeriodos];
+        }
+
+        MapaIntLong quantidadePorProduto(int p) {
+            MapaIntLong mapa = porProduto[p];
+            if (mapa == null) {
+                mapa = new MapaIntLong();
+                porProduto[p] = mapa;
+            }
+            return mapa;
+        }
+
+        void somar(Parcial outra) {
+            for (int p = 0; p < lucroCentavos.length; p++) {
+                lucroCentavos[p] += outra.lucroCentavos[p];
+                unidades[p] += outra.unidades[p];
+                if (outra.porProduto[p] != null) {
+                    MapaIntLong destino = quantidadePorProduto(p);
+                    outra.porProduto[p].forEach(destino::somar);
+                }
+            }
+        }
+
+        /**
+         * Retorna o item_id com maior quantidade vendida no período, ou -1 se não houve vendas.
+         * Em caso de empate, prevalece o menor item_id para que o resultado seja determinístico.
+         */
+        int produtoMaisVendido(int p) {
+            MapaIntLong mapa = porProduto[p];
+            if (mapa == null) {
+                return -1;
+            }
+            // Melhor item e sua quantidade, num vetor para que o lambda possa atualizá-los.
+            long[] melhor = {-1, Long.MIN_VALUE};
+            mapa.forEach((item, qtd) -> {
+                if (qtd > melhor[1] || (qtd == melhor[1] && item < melhor[0])) {
+                    melhor[0] = item;
+                    melhor[1] = qtd;
+                }
+            });
+            return (int) melhor[0];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dao;
+
+/**
+ * Associações de uma venda que as consultas do {@link VendaDAO} podem carregar junto com ela.
+ * <p>
+ * As associações não pedidas vêm apenas com a chave (o produto só com o ID, o cliente só com o
+ * CPF/CNPJ), e podem ser completadas depois, fora da thread de eventos, por
+ * {@link VendaDAO#carregar}. As pedidas são lidas em lote pelo próprio DAO, antes de ele
+ * retornar, de modo que ler uma venda nunca acessa o banco.
+ */
+public enum AssociacaoVenda {
+
+    /** O produto vendido: nome, preços, estoque e categoria. */
+    PRODUTO,
+
+    /** O cliente: nome, email, telefone e endereço. */
+    CLIENTE
+}
@@ -0,0 +1,118 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Carga em lote das entidades associadas às linhas de uma consulta.
+ * <p>
+ * A consulta das vendas lê apenas a chave do produto e do cliente de cada linha, e cada chave
+ * tem uma única instância, com só a chave preenchida (ver {@link MapaIdentidade}). As instâncias
+ * das associações pedidas pelo chamador ({@link AssociacaoVenda}) são registradas aqui, e o DAO,
+ * ainda na thread que fez a consulta, chama {@link #carregarPendentes()}: todas as chaves são
+ * lidas de uma vez, com uma consulta {@code IN (...)} para cada {@value #CHAVES_POR_CONSULTA}
+ * chaves, e as instâncias são completadas. Assim nenhuma listagem faz uma consulta por linha
+ * (N+1), quem não pede uma associação não paga por ela, e ler os objetos retornados, inclusive
+ * na thread de eventos, não acessa o banco.
+ * <p>
+ * A carga vale apenas para a operação que a criou e é usada por uma única thread.
+ *
+ * @param <K> O tipo da chave.
+ * @param <T> O tipo das entidades.
+ */
+final class CargaEmLote<K, T> {
+
+    static final int CHAVES_POR_CONSULTA = 500;
+
+    /**
+     * Lê os objetos das chaves informadas (no máximo {@link #CHAVES_POR_CONSULTA}).
+     * Chaves sem registro ficam de fora do mapa.
+     */
+    @FunctionalInterface
+    interface Consulta<K, T> {
+        Map<K, T> carregar(List<K> chaves) throws SQLException;
+    }
+
+    private final Consulta<K, T> consulta;
+    private final BiConsumer<T, T> preencher;
+    private final Map<K, List<T>> pendentes = new LinkedHashMap<>();
+
+    /**
+     * @param consulta Lê um lote de chaves do banco.
+     * @param preencher Copia os dados lidos (segundo argumento) para a instância (primeiro);
+     *                  não é chamado se a chave não existir mais.
+     */
+    CargaEmLote(Consulta<K, T> consulta, BiConsumer<T, T> preencher) {
+        this.consulta = consulta;
+        this.preencher = preencher;
+    }
+
+    /**
+     * Marca a instância para ser completada com os dados da chave. Instâncias diferentes da
+     * mesma chave são todas completadas, com uma única leitura.
+     */
+    void adicionar(K chave, T instancia) {
+        List<T> instancias = pendentes.computeIfAbsent(chave, k -> new ArrayList<>(1));
+        for (T registrada : instancias) {
+            if (registrada == instancia) {
+                return;
+            }
+        }
+        instancias.add(instancia);
+    }
+
+    /**
+     * Completa as instâncias de todas as chaves pendentes, em consultas de até
+     * {@link #CHAVES_POR_CONSULTA} chaves.
+     *
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    void carregarPendentes() throws SQLException {
+        while (!pendentes.isEmpty()) {
+            List<K> lote = new ArrayList<>(Math.min(pendentes.size(), CHAVES_POR_CONSULTA));
+            Iterator<K> it = pendentes.keySet().iterator();
+            while (it.hasNext() && lote.size() < CHAVES_POR_CONSULTA) {
+                lote.add(it.next());
+            }
+            Map<K, T> lidos = consulta.carregar(lote);
+            for (K chave : lote) {
+                List<T> instancias = pendentes.remove(chave);
+                T dados = lidos.get(chave);
+                if (dados != null) {
+                    for (T instancia : instancias) {
+                        preencher.accept(instancia, dados);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Divide as chaves em partes de até {@link #CHAVES_POR_CONSULTA}, uma por consulta.
+     */
+    static <K> List<List<K>> dividir(Collection<K> chaves) {
+        List<K> todas = new ArrayList<>(chaves);
+        List<List<K>> partes = new ArrayList<>((todas.size() + CHAVES_POR_CONSULTA - 1) / CHAVES_POR_CONSULTA);
+        for (int i = 0; i < todas.size(); i += CHAVES_POR_CONSULTA) {
+            partes.add(todas.subList(i, Math.min(i + CHAVES_POR_CONSULTA, todas.size())));
+        }
+        return partes;
+    }
+
+    /**
+     * Retorna os marcadores de uma cláusula IN com a quantidade informada de parâmetros, como "?, ?, ?".
+     */
+    static String marcadores(int quantidade) {
+        StringBuilder sb = new StringBuilder(quantidade * 3);
+        for (int i = 0; i < quantidade; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
@@ -1,14 +1,28 @@
 package dao;
 
+import cache.CacheAusencias;
+import cache.CacheClientes;
+import cache.DicionarioTextos;
+import cache.IndiceClientes;
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import model.Cliente;
 import model.Endereco;
+import model.RankingCliente;
 
 /**
  * DAO para a entidade Cliente.
@@ -23,10 +37,11 @@ public class ClienteDAO {
      * Se qualquer uma das inserções falhar, todas as operações são desfeitas (rollback).
      * 
      * @param cliente O objeto Cliente a ser inserido.
+     * @return O cliente inserido, para que a tela o acrescente sem recarregar a listagem.
      * @throws SQLException Se ocorrer um erro de banco, como violação de chave única (CPF/CNPJ duplicado)
      *                      ou campos obrigatórios nulos.
      */
-    public void inserirCliente(Cliente cliente) throws SQLException {
+    public Cliente inserirCliente(Cliente cliente) throws SQLException {
         String enderecoSQL = "INSERT INTO endereco (rua, bairro, cidade, numero, complemento) VALUES (?, ?, ?, ?, ?)";
         String pessoaSQL = "INSERT INTO pessoa (nome, email, cnpj_cpf, endereco_id) VALUES (?, ?, ?, ?)";
         String clienteSQL = "INSERT INTO cliente (pessoa_id, telefone) VALUES (?, ?)";
@@ -102,6 +117,10 @@ public class ClienteDAO {
                 }
             }
         } 
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ClienteAlterado(cliente.getIdentificador(), cliente, versoes.applyAsLong(VersaoTabelas.Tabela.CLIENTE))),
+                VersaoTabelas.Tabela.CLIENTE);
+        return cliente;
     }
     
     /**
@@ -123,33 +142,120 @@ public class ClienteDAO {
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                Endereco endereco = new Endereco(
-                    rs.getString("rua"),
-                    rs.getString("bairro"),
-                    rs.getString("cidade"),
-                    rs.getString("numero"),
-                    rs.getString("complemento")
-                );
-                Cliente cliente = new Cliente();
-                cliente.setIdentificador(rs.getString("cnpj_cpf"));
-                cliente.setNome(rs.getString("nome"));
-                cliente.setEmail(rs.getString("email"));
-                cliente.setTelefone(rs.getString("telefone"));
-                cliente.setEndereco(endereco);
-                clientes.add(cliente);
+                clientes.add(mapearCliente(rs));
             }
         }
         return clientes;
     }
 
+    /**
+     * Carrega o índice de busca de clientes com os dados de todos os clientes.
+     * As linhas são lidas em modo streaming e indexadas uma a uma, sem montar a lista completa
+     * de clientes na memória. Buscas feitas durante a carga já enxergam os clientes indexados.
+     *
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public void carregarIndiceBusca() throws SQLException {
+        String sql = "SELECT p.cnpj_cpf, p.nome, p.email, c.telefone " +
+                     "FROM pessoa p " +
+                     "JOIN cliente c ON p.pessoa_id = c.pessoa_id";
+
+        IndiceClientes indice = IndiceClientes.getInstancia();
+        indice.iniciarCarga();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Integer.MIN_VALUE ativa o modo streaming do Connector/J.
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    indice.adicionarDaCarga(rs.getString("cnpj_cpf"), rs.getString("nome"), rs.getString("email"), rs.getString("telefone"));
+                }
+            }
+        }
+        indice.concluirCarga();
+    }
+
+    /**
+     * Lista uma página de clientes usando paginação por chave (keyset).
+     * A página começa logo após o cliente informado, segundo a ordenação escolhida,
+     * de modo que o custo de cada página não cresce com a posição na listagem.
+     * O filtro e a ordenação são aplicados pelo banco, com apoio dos índices de nome e cidade.
+     *
+     * @param ordem A coluna de ordenação.
+     * @param decrescente Se a ordem é decrescente.
+     * @param filtro Os critérios de filtro, ou null para listar todos.
+     * @param ultimo O último cliente da página anterior, ou null para a primeira página.
+     * @param limite O número máximo de clientes da página.
+     * @return Os clientes da página, na ordem escolhida.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public List<Cliente> listarClientesPagina(OrdenacaoCliente ordem, boolean decrescente, FiltroCliente filtro,
+                                              Cliente ultimo, int limite) throws SQLException {
+        String coluna = ordem.getColuna();
+        CondicoesSQL condicoes = filtro != null ? filtro.condicoes() : new CondicoesSQL();
+        if (ultimo != null) {
+            condicoes.adicionar(Paginacao.condicaoApos(coluna, "p.cnpj_cpf", ordem.valorDe(ultimo), decrescente));
+        }
+        String sql = "SELECT p.pessoa_id, p.nome, p.email, p.cnpj_cpf, e.rua, e.bairro, e.cidade, e.numero, e.complemento, c.telefone " +
+                     "FROM pessoa p " +
+                     "JOIN endereco e ON p.endereco_id = e.endereco_id " +
+                     "JOIN cliente c ON p.pessoa_id = c.pessoa_id " +
+                     condicoes.where() +
+                     "ORDER BY " + Paginacao.ordenacao(coluna, "p.cnpj_cpf", decrescente) + " LIMIT ?";
+
+        List<Cliente> clientes = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int pos = condicoes.definirParametros(pstmt, 1);
+            if (ultimo != null) {
+                pos = Paginacao.definirParametrosApos(pstmt, pos, coluna, "p.cnpj_cpf", ordem.valorDe(ultimo), ultimo.getIdentificador());
+            }
+            pstmt.setInt(pos, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    clientes.add(mapearCliente(rs));
+                }
+            }
+        }
+        return clientes;
+    }
+
+    // Monta um Cliente a partir da linha atual de uma consulta que junta pessoa, endereco e cliente.
+    // Bairro e cidade se repetem entre clientes e vêm do dicionário (uma String por valor distinto).
+    private Cliente mapearCliente(ResultSet rs) throws SQLException {
+        Endereco endereco = new Endereco(
+            rs.getString("rua"),
+            DicionarioTextos.BAIRROS.internar(rs.getString("bairro")),
+            DicionarioTextos.CIDADES.internar(rs.getString("cidade")),
+            rs.getString("numero"),
+            rs.getString("complemento")
+        );
+        Cliente cliente = new Cliente();
+        cliente.setIdentificador(rs.getString("cnpj_cpf"));
+        cliente.setNome(rs.getString("nome"));
+        cliente.setEmail(rs.getString("email"));
+        cliente.setTelefone(rs.getString("telefone"));
+        cliente.setEndereco(endereco);
+        return cliente;
+    }
+
     /**
      * Consulta um cliente específico pelo seu identificador (CPF/CNPJ).
+     * Os clientes consultados com frequência são servidos pelo {@link CacheClientes}, sem consultar o banco.
+     * Um identificador não encontrado fica registrado por alguns segundos em {@link CacheAusencias#CLIENTES},
+     * e as novas consultas dele (uma nova tentativa após um erro de digitação) retornam null direto.
      * 
      * @param identificador O CPF ou CNPJ do cliente.
      * @return um objeto Cliente se encontrado, ou null caso contrário.
      * @throws SQLException Se ocorrer um erro durante a consulta.
      */
     public Cliente consultarCliente(String identificador) throws SQLException {
+        return CacheAusencias.CLIENTES.obter(identificador,
+                () -> CacheClientes.getInstancia().obter(identificador, () -> lerCliente(identificador)));
+    }
+
+    private Cliente lerCliente(String identificador) throws SQLException {
         String sql = "SELECT p.pessoa_id, p.nome, p.email, p.cnpj_cpf, e.rua, e.bairro, e.cidade, e.numero, e.complemento, c.telefone " +
                      "FROM pessoa p " +
                      "JOIN endereco e ON p.endereco_id = e.endereco_id " +
@@ -162,34 +268,73 @@ public class ClienteDAO {
             pstmt.setString(1, identificador);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Endereco endereco = new Endereco(
-                        rs.getString("rua"),
-                        rs.getString("bairro"),
-                        rs.getString("cidade"),
-                        rs.getString("numero"),
-                        rs.getString("complemento")
-                    );
-
-                    Cliente cliente = new Cliente();
-                    cliente.setIdentificador(rs.getString("cnpj_cpf"));
-                    cliente.setNome(rs.getString("nome"));
-                    cliente.setEmail(rs.getString("email"));
-                    cliente.setEndereco(endereco);
-                    cliente.setTelefone(rs.getString("telefone"));
-                    return cliente;
+                    return mapearCliente(rs);
                 }
             }
         }
         return null;
     }
 
+    /**
+     * Consulta vários clientes de uma vez pelos seus identificadores (CPF/CNPJ), com uma
+     * consulta {@code IN (...)} para cada {@value CargaEmLote#CHAVES_POR_CONSULTA} identificadores.
+     * Com o índice de busca carregado, identificadores que não estão nele nem chegam ao banco;
+     * os clientes que estão no {@link CacheClientes} vêm dele.
+     *
+     * @param identificadores Os CPFs ou CNPJs. Identificadores repetidos são consultados uma vez.
+     * @return Os clientes encontrados, pelo identificador. Identificadores inexistentes ficam de fora do mapa.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public Map<String, Cliente> consultarClientes(Collection<String> identificadores) throws SQLException {
+        Set<String> faltantes = new LinkedHashSet<>(identificadores);
+        IndiceClientes indice = IndiceClientes.getInstancia();
+        if (indice.isCarregado()) {
+            faltantes.removeIf(identificador -> !indice.contem(identificador));
+        }
+        faltantes.removeIf(CacheAusencias.CLIENTES::ausente);
+
+        Map<String, Cliente> clientes = new HashMap<>(faltantes.size() * 2);
+        CacheClientes cache = CacheClientes.getInstancia();
+        for (Iterator<String> it = faltantes.iterator(); it.hasNext(); ) {
+            String identificador = it.next();
+            Cliente cliente = cache.obterSePresente(identificador);
+            if (cliente != null) {
+                clientes.put(identificador, cliente);
+                it.remove();
+            }
+        }
+        for (List<String> parte : CargaEmLote.dividir(faltantes)) {
+            String sql = "SELECT p.pessoa_id, p.nome, p.email, p.cnpj_cpf, e.rua, e.bairro, e.cidade, e.numero, e.complemento, c.telefone " +
+                         "FROM pessoa p " +
+                         "JOIN endereco e ON p.endereco_id = e.endereco_id " +
+                         "JOIN cliente c ON p.pessoa_id = c.pessoa_id " +
+                         "WHERE p.cnpj_cpf IN (" + CargaEmLote.marcadores(parte.size()) + ")";
+
+            try (Connection conn = ConnectionFactory.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                for (int i = 0; i < parte.size(); i++) {
+                    pstmt.setString(i + 1, parte.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Cliente cliente = mapearCliente(rs);
+                        clientes.put(cliente.getIdentificador(), cliente);
+                    }
+                }
+            }
+        }
+        return clientes;
+    }
+
     /**
      * Atualiza os dados de um cliente existente de forma transacional.
      * 
      * @param cliente O objeto Cliente com os dados atualizados.
+     * @return O cliente atualizado.
      * @throws SQLException Se ocorrer um erro durante a atualização.
      */
-    public void atualizarCliente(Cliente cliente) throws SQLException {
+    public Cliente atualizarCliente(Cliente cliente) throws SQLException {
         String enderecoSQL = "UPDATE endereco SET rua = ?, bairro = ?, cidade = ?, numero = ?, complemento = ? WHERE endereco_id = (SELECT endereco_id FROM pessoa WHERE cnpj_cpf = ?)";
         String pessoaSQL = "UPDATE pessoa SET nome = ?, email = ? WHERE cnpj_cpf = ?";
         String clienteSQL = "UPDATE cliente SET telefone = ? WHERE pessoa_id = (SELECT pessoa_id FROM pessoa WHERE cnpj_cpf = ?)";
@@ -231,6 +376,10 @@ public class ClienteDAO {
                 throw new SQLException("Erro ao atualizar cliente: " + e.getMessage(), e);
             }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ClienteAlterado(cliente.getIdentificador(), cliente, versoes.applyAsLong(VersaoTabelas.Tabela.CLIENTE))),
+                VersaoTabelas.Tabela.CLIENTE);
+        return cliente;
     }
 
     /**
@@ -300,5 +449,45 @@ public class ClienteDAO {
                 }
             }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ClienteAlterado(identificador, null, versoes.applyAsLong(VersaoTabelas.Tabela.CLIENTE))),
+                VersaoTabelas.Tabela.CLIENTE);
+    }
+
+    /**
+     * Lista os primeiros clientes do ranking segundo o critério informado.
+     * Os dados vêm da tabela cliente_resumo, mantida de forma incremental a cada venda,
+     * e a ordenação usa o índice do critério: o custo é proporcional ao limite, não ao número de vendas.
+     * Clientes que ainda não compraram não aparecem no ranking.
+     *
+     * @param criterio O critério de ordenação.
+     * @param limite O número máximo de clientes retornados.
+     * @return Os clientes na ordem do ranking.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public List<RankingCliente> listarRanking(CriterioRanking criterio, int limite) throws SQLException {
+        String sql = "SELECT p.cnpj_cpf, p.nome, r.ultima_compra, r.total_compras, r.lucro_total " +
+                     "FROM cliente_resumo r " +
+                     "JOIN pessoa p ON r.pessoa_id = p.pessoa_id " +
+                     "ORDER BY " + criterio.getOrdenacao() + " LIMIT ?";
+
+        List<RankingCliente> ranking = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ranking.add(new RankingCliente(
+                        rs.getString("cnpj_cpf"),
+                        rs.getString("nome"),
+                        rs.getObject("ultima_compra", LocalDate.class),
+                        rs.getInt("total_compras"),
+                        ColunasDinheiro.lerOuZero(rs, "lucro_total")
+                    ));
+                }
+            }
+        }
+        return ranking;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package dao;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import model.Dinheiro;
+
+/**
+ * Conversão entre as colunas monetárias do banco (DECIMAL com duas casas) e {@link Dinheiro}.
+ */
+final class ColunasDinheiro {
+
+    private ColunasDinheiro() {
+    }
+
+    /**
+     * Lê a coluna como Dinheiro, ou null se ela for NULL.
+     */
+    static Dinheiro ler(ResultSet rs, String coluna) throws SQLException {
+        BigDecimal valor = rs.getBigDecimal(coluna);
+        return valor == null ? null : Dinheiro.de(valor);
+    }
+
+    /**
+     * Lê a coluna como Dinheiro, tratando NULL (por exemplo, a soma de nenhuma linha) como zero.
+     */
+    static Dinheiro lerOuZero(ResultSet rs, String coluna) throws SQLException {
+        Dinheiro valor = ler(rs, coluna);
+        return valor == null ? Dinheiro.ZERO : valor;
+    }
+
+    /**
+     * Lê a coluna, pela posição, em centavos, tratando NULL como zero. Serve às leituras em massa,
+     * que guardam os valores como long sem manter um Dinheiro por linha.
+     */
+    static long lerCentavos(ResultSet rs, int coluna) throws SQLException {
+        BigDecimal valor = rs.getBigDecimal(coluna);
+        return valor == null ? 0 : Dinheiro.de(valor).getCentavos();
+    }
+
+    /**
+     * Lê a coluna, pelo nome, em centavos, tratando NULL como zero.
+     */
+    static long lerCentavos(ResultSet rs, String coluna) throws SQLException {
+        BigDecimal valor = rs.getBigDecimal(coluna);
+        return valor == null ? 0 : Dinheiro.de(valor).getCentavos();
+    }
+
+    static void definir(PreparedStatement pstmt, int posicao, Dinheiro valor) throws SQLException {
+        if (valor == null) {
+            pstmt.setNull(posicao, Types.DECIMAL);
+        } else {
+            pstmt.setBigDecimal(posicao, valor.toBigDecimal());
+        }
+    }
+}
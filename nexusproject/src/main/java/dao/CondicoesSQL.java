@@ -0,0 +1,93 @@
+package dao;
+
+import cache.IndiceClientes;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula as condições da cláusula WHERE de uma listagem e os seus parâmetros, na ordem
+ * em que aparecem na consulta. Os filtros de texto usam {@code LIKE 'prefixo%'}, que o
+ * MySQL resolve pelo índice da coluna.
+ */
+final class CondicoesSQL {
+
+    private final List<String> condicoes = new ArrayList<>();
+    private final List<Object> parametros = new ArrayList<>();
+
+    /**
+     * Exige que a coluna comece pelo texto informado. Textos nulos ou vazios são ignorados.
+     */
+    CondicoesSQL comecaCom(String coluna, String prefixo) {
+        if (prefixo != null && !prefixo.isBlank()) {
+            condicoes.add(coluna + " LIKE ?");
+            parametros.add(escaparLike(prefixo.trim()) + "%");
+        }
+        return this;
+    }
+
+    /**
+     * Exige que a coluna seja maior ou igual ao valor informado, se ele não for nulo.
+     */
+    CondicoesSQL aPartirDe(String coluna, Object valor) {
+        if (valor != null) {
+            condicoes.add(coluna + " >= ?");
+            parametros.add(valor);
+        }
+        return this;
+    }
+
+    /**
+     * Exige que a coluna seja menor ou igual ao valor informado, se ele não for nulo.
+     */
+    CondicoesSQL ate(String coluna, Object valor) {
+        if (valor != null) {
+            condicoes.add(coluna + " <= ?");
+            parametros.add(valor);
+        }
+        return this;
+    }
+
+    /**
+     * Acrescenta uma condição cujos parâmetros são definidos à parte, depois dos demais.
+     */
+    CondicoesSQL adicionar(String condicao) {
+        condicoes.add(condicao);
+        return this;
+    }
+
+    /**
+     * Retorna a cláusula WHERE com todas as condições, ou uma string vazia se não houver nenhuma.
+     */
+    String where() {
+        return condicoes.isEmpty() ? "" : "WHERE " + String.join(" AND ", condicoes) + " ";
+    }
+
+    /**
+     * Define os parâmetros das condições a partir da posição informada.
+     *
+     * @return A próxima posição livre de parâmetro.
+     */
+    int definirParametros(PreparedStatement pstmt, int posicao) throws SQLException {
+        for (Object parametro : parametros) {
+            pstmt.setObject(posicao++, parametro);
+        }
+        return posicao;
+    }
+
+    /**
+     * Verifica, em memória, se o valor começa pelo prefixo como o banco faria com LIKE:
+     * sem diferenciar acentos e maiúsculas. Prefixos nulos ou vazios aceitam qualquer valor.
+     */
+    static boolean casaComPrefixo(String valor, String prefixo) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return true;
+        }
+        return valor != null && IndiceClientes.normalizar(valor).startsWith(IndiceClientes.normalizar(prefixo.trim()));
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
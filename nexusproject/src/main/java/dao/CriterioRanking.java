@@ -0,0 +1,29 @@
+package dao;
+
+/**
+ * Critérios de ordenação do ranking de clientes. Cada critério corresponde a um índice
+ * da tabela cliente_resumo, de modo que o topo do ranking é lido direto do índice.
+ */
+public enum CriterioRanking {
+
+    MAIOR_LUCRO("Maior lucro", "r.lucro_total DESC"),
+    MAIS_COMPRAS("Mais compras", "r.total_compras DESC"),
+    SEM_COMPRAR_HA_MAIS_TEMPO("Sem comprar há mais tempo", "r.ultima_compra ASC");
+
+    private final String descricao;
+    private final String ordenacao;
+
+    CriterioRanking(String descricao, String ordenacao) {
+        this.descricao = descricao;
+        this.ordenacao = ordenacao;
+    }
+
+    String getOrdenacao() {
+        return ordenacao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
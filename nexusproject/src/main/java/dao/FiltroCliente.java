@@ -0,0 +1,60 @@
+package dao;
+
+import model.Cliente;
+
+/**
+ * Critérios de filtro da listagem paginada de clientes.
+ * Os campos são comparados pelo início do texto, sem diferenciar acentos e maiúsculas;
+ * campos nulos ou vazios não filtram.
+ */
+public class FiltroCliente {
+
+    private String nome;
+    private String cidade;
+
+    public FiltroCliente() {
+    }
+
+    public FiltroCliente(String nome, String cidade) {
+        this.nome = nome;
+        this.cidade = cidade;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getCidade() {
+        return cidade;
+    }
+
+    public void setCidade(String cidade) {
+        this.cidade = cidade;
+    }
+
+    /**
+     * Indica se algum critério está preenchido.
+     */
+    public boolean isAtivo() {
+        return (nome != null && !nome.isBlank()) || (cidade != null && !cidade.isBlank());
+    }
+
+    /**
+     * Verifica se o cliente atende ao filtro, com as mesmas regras da consulta.
+     * Usado para decidir se um cliente recém-gravado deve aparecer na listagem filtrada.
+     */
+    public boolean aceita(Cliente cliente) {
+        return CondicoesSQL.casaComPrefixo(cliente.getNome(), nome)
+            && CondicoesSQL.casaComPrefixo(cliente.getEndereco().getCidade(), cidade);
+    }
+
+    CondicoesSQL condicoes() {
+        return new CondicoesSQL()
+            .comecaCom("p.nome", nome)
+            .comecaCom("e.cidade", cidade);
+    }
+}
@@ -0,0 +1,59 @@
+package dao;
+
+import model.Produto;
+
+/**
+ * Critérios de filtro da listagem paginada de produtos.
+ * Os campos são comparados pelo início do texto, sem diferenciar acentos e maiúsculas;
+ * campos nulos ou vazios não filtram.
+ */
+public class FiltroProduto {
+
+    private String nome;
+    private String categoria;
+
+    public FiltroProduto() {
+    }
+
+    public FiltroProduto(String nome, String categoria) {
+        this.nome = nome;
+        this.categoria = categoria;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+    }
+
+    /**
+     * Indica se algum critério está preenchido.
+     */
+    public boolean isAtivo() {
+        return (nome != null && !nome.isBlank()) || (categoria != null && !categoria.isBlank());
+    }
+
+    /**
+     * Verifica se o produto atende ao filtro, com as mesmas regras da consulta.
+     */
+    public boolean aceita(Produto produto) {
+        return CondicoesSQL.casaComPrefixo(produto.getNome(), nome)
+            && CondicoesSQL.casaComPrefixo(produto.getCategoria(), categoria);
+    }
+
+    CondicoesSQL condicoes() {
+        return new CondicoesSQL()
+            .comecaCom("nome", nome)
+            .comecaCom("categoria", categoria);
+    }
+}
@@ -0,0 +1,72 @@
+package dao;
+
+import java.time.LocalDate;
+import model.Venda;
+
+/**
+ * Critérios de filtro da listagem paginada de vendas: período (datas inclusivas) e
+ * início do nome do produto. Campos nulos ou vazios não filtram.
+ */
+public class FiltroVenda {
+
+    private LocalDate inicio;
+    private LocalDate fim;
+    private String produto;
+
+    public FiltroVenda() {
+    }
+
+    public FiltroVenda(LocalDate inicio, LocalDate fim, String produto) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.produto = produto;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDate fim) {
+        this.fim = fim;
+    }
+
+    public String getProduto() {
+        return produto;
+    }
+
+    public void setProduto(String produto) {
+        this.produto = produto;
+    }
+
+    /**
+     * Indica se algum critério está preenchido.
+     */
+    public boolean isAtivo() {
+        return inicio != null || fim != null || (produto != null && !produto.isBlank());
+    }
+
+    /**
+     * Verifica se a venda atende ao filtro, com as mesmas regras da consulta.
+     */
+    public boolean aceita(Venda venda) {
+        LocalDate data = venda.getDataVenda();
+        return (inicio == null || (data != null && !data.isBefore(inicio)))
+            && (fim == null || (data != null && !data.isAfter(fim)))
+            && CondicoesSQL.casaComPrefixo(venda.getProduto().getNome(), produto);
+    }
+
+    CondicoesSQL condicoes() {
+        return new CondicoesSQL()
+            .aPartirDe("v.data", inicio)
+            .ate("v.data", fim)
+            .comecaCom("p.nome", produto);
+    }
+}
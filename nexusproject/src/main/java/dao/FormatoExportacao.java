@@ -0,0 +1,27 @@
+package dao;
+
+/**
+ * Formatos suportados pela exportação de vendas.
+ */
+public enum FormatoExportacao {
+
+    CSV("CSV", ".csv"),
+    JSON_LINES("JSON Lines", ".jsonl");
+
+    private final String descricao;
+    private final String extensao;
+
+    FormatoExportacao(String descricao, String extensao) {
+        this.descricao = descricao;
+        this.extensao = extensao;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
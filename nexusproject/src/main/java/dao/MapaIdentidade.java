@@ -0,0 +1,49 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapa de identidade usado durante uma consulta: garante uma única instância por chave primária.
+ * <p>
+ * Numa listagem de vendas, o mesmo produto e o mesmo cliente aparecem em muitas linhas. Em vez
+ * de montar um objeto novo a cada linha, a primeira linha de cada chave monta o objeto e as
+ * seguintes reutilizam essa instância, o que reduz a memória e o trabalho do coletor de lixo.
+ * O mapa vale apenas para a consulta que o criou; consultas seguintes montam instâncias novas,
+ * com os dados atuais do banco.
+ * <p>
+ * As instâncias são compartilhadas pelas linhas do resultado e devem ser tratadas como somente leitura.
+ *
+ * @param <T> O tipo de objeto mapeado.
+ */
+final class MapaIdentidade<T> {
+
+    /**
+     * Monta o objeto a partir da linha atual do ResultSet.
+     */
+    @FunctionalInterface
+    interface Leitor<T> {
+        T ler(ResultSet rs) throws SQLException;
+    }
+
+    private final Leitor<T> leitor;
+    private final Map<Integer, T> instancias = new HashMap<>();
+
+    MapaIdentidade(Leitor<T> leitor) {
+        this.leitor = leitor;
+    }
+
+    /**
+     * Retorna a instância da chave, montando-a a partir da linha atual na primeira vez.
+     */
+    T obter(int chave, ResultSet rs) throws SQLException {
+        T instancia = instancias.get(chave);
+        if (instancia == null) {
+            instancia = leitor.ler(rs);
+            instancias.put(chave, instancia);
+        }
+        return instancia;
+    }
+}
@@ -1,11 +1,20 @@
 package dao;
 
+import cache.CacheClientes;
+import cache.CatalogoProdutos;
+import cache.IndiceClientes;
+import cache.PerfilCache;
+import cache.RelatorioCache;
+import evento.BarramentoEventos;
+import evento.CaixaAlterado;
+import evento.PerfilAlterado;
 import model.Microempreendedor;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import model.Dinheiro;
 import model.Endereco;
 
 /**
@@ -82,7 +91,7 @@ public class MicroempreendedorDAO {
                 try (PreparedStatement micempStmt = connection.prepareStatement(micempSQL)) {
                     micempStmt.setInt(1, pessoaId);
                     micempStmt.setString(2, micemp.getSenha());
-                    micempStmt.setBigDecimal(3, micemp.getCaixa()); // Caixa inicial
+                    ColunasDinheiro.definir(micempStmt, 3, micemp.getCaixa()); // Caixa inicial
                     micempStmt.setString(4, micemp.getLogin());
                     micempStmt.executeUpdate();
                 }
@@ -94,15 +103,28 @@ public class MicroempreendedorDAO {
                 throw e; 
             }
         }
+        VersaoTabelas.publicar(versoes -> {
+            // As duas partes do cadastro formam uma única alteração, com a mesma versão.
+            long versao = versoes.applyAsLong(VersaoTabelas.Tabela.MICROEMPREENDEDOR);
+            BarramentoEventos barramento = BarramentoEventos.getInstancia();
+            barramento.publicar(new PerfilAlterado(micemp, versao));
+            barramento.publicar(new CaixaAlterado(micemp.getCaixa() == null ? Dinheiro.ZERO : micemp.getCaixa(), versao));
+        }, VersaoTabelas.Tabela.MICROEMPREENDEDOR);
     }
 
     /**
      * Consulta os dados do microempreendedor cadastrado no sistema.
+     * O perfil é lido do banco uma única vez e depois servido pelo {@link PerfilCache},
+     * mantido atualizado pelas edições do perfil e pelas vendas.
      * 
      * @return um objeto Microempreendedor com os dados do perfil, ou null se não houver cadastro.
      * @throws SQLException Se ocorrer um erro durante a consulta.
      */
     public Microempreendedor consultarMicroempreendedor() throws SQLException {
+        return PerfilCache.getInstancia().obter(this::lerMicroempreendedor);
+    }
+
+    private Microempreendedor lerMicroempreendedor() throws SQLException {
         // A consulta usa JOINs para buscar todos os dados relacionados ao microempreendedor de uma só vez.
         // LIMIT 1 é usado para garantir que apenas um registro seja retornado, reforçando a regra de negócio.
         String sql = "SELECT p.pessoa_id, p.nome, p.email, p.cnpj_cpf, e.rua, e.bairro, e.cidade, e.numero, e.complemento, m.senha, m.caixa, m.login " +
@@ -125,7 +147,7 @@ public class MicroempreendedorDAO {
                 micemp.setEndereco(endereco);
                 micemp.setLogin(rs.getString("login"));
                 micemp.setSenha(rs.getString("senha"));
-                micemp.setCaixa(rs.getBigDecimal("caixa"));
+                micemp.setCaixa(ColunasDinheiro.lerOuZero(rs, "caixa"));
                 return micemp;
             }
         }
@@ -182,6 +204,9 @@ public class MicroempreendedorDAO {
                 throw e;
             }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new PerfilAlterado(micemp, versoes.applyAsLong(VersaoTabelas.Tabela.MICROEMPREENDEDOR))),
+                VersaoTabelas.Tabela.MICROEMPREENDEDOR);
     }
     
     /**
@@ -216,7 +241,7 @@ public class MicroempreendedorDAO {
      * @throws SQLException Se ocorrer um erro durante o reset.
      */
     public void reset() throws SQLException {
-        String[] tables = {"venda", "produto", "cliente", "microempreendedor", "pessoa", "endereco"};
+        String[] tables = {"venda", "resumo_mensal_produto", "cliente_resumo", "produto", "cliente", "microempreendedor", "pessoa", "endereco"};
         
         try (Connection connection = ConnectionFactory.getConnection()) {
             connection.setAutoCommit(false);
@@ -242,5 +267,15 @@ public class MicroempreendedorDAO {
                 throw new SQLException("Falha ao resetar o banco de dados: " + e.getMessage(), e);
             }
         }
+
+        // Os dados em memória não correspondem mais a nada no banco.
+        RelatorioCache.getInstancia().limpar();
+        CacheClientes.getInstancia().limpar();
+        PerfilCache.getInstancia().limpar();
+        // O catálogo atende às consultas de produto e o índice filtra as de cliente: ambos
+        // passam a refletir o banco vazio, ou continuariam a devolver os registros apagados.
+        CatalogoProdutos.getInstancia().esvaziar();
+        IndiceClientes.getInstancia().esvaziar();
+        VersaoTabelas.incrementar(VersaoTabelas.Tabela.values());
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package dao;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import model.Cliente;
+
+/**
+ * Colunas pelas quais a listagem paginada de clientes pode ser ordenada.
+ */
+public enum OrdenacaoCliente {
+
+    IDENTIFICADOR("p.cnpj_cpf", Cliente::getIdentificador),
+    NOME("p.nome", Cliente::getNome),
+    CIDADE("e.cidade", c -> c.getEndereco().getCidade());
+
+    private final String coluna;
+    private final Function<Cliente, Object> valor;
+
+    OrdenacaoCliente(String coluna, Function<Cliente, Object> valor) {
+        this.coluna = coluna;
+        this.valor = valor;
+    }
+
+    String getColuna() {
+        return coluna;
+    }
+
+    Object valorDe(Cliente cliente) {
+        return valor.apply(cliente);
+    }
+
+    /**
+     * Comparador equivalente à ordenação da consulta paginada, incluindo o desempate
+     * pela chave. Usado para posicionar na tabela linhas alteradas sem recarregá-la.
+     */
+    public Comparator<Cliente> comparador() {
+        return (a, b) -> {
+            int cmp = Paginacao.comparar(valorDe(a), valorDe(b));
+            return cmp != 0 ? cmp : Paginacao.comparar(a.getIdentificador(), b.getIdentificador());
+        };
+    }
+}
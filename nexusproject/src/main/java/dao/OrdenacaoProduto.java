@@ -0,0 +1,43 @@
+package dao;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import model.Produto;
+
+/**
+ * Colunas pelas quais a listagem paginada de produtos pode ser ordenada.
+ */
+public enum OrdenacaoProduto {
+
+    ID("item_id", Produto::getProdutoId),
+    NOME("nome", Produto::getNome),
+    CATEGORIA("categoria", Produto::getCategoria),
+    QUANTIDADE("quantidade", Produto::getQuantidade);
+
+    private final String coluna;
+    private final Function<Produto, Object> valor;
+
+    OrdenacaoProduto(String coluna, Function<Produto, Object> valor) {
+        this.coluna = coluna;
+        this.valor = valor;
+    }
+
+    String getColuna() {
+        return coluna;
+    }
+
+    Object valorDe(Produto produto) {
+        return valor.apply(produto);
+    }
+
+    /**
+     * Comparador equivalente à ordenação da consulta paginada, incluindo o desempate
+     * pela chave. Usado para posicionar na tabela linhas alteradas sem recarregá-la.
+     */
+    public Comparator<Produto> comparador() {
+        return (a, b) -> {
+            int cmp = Paginacao.comparar(valorDe(a), valorDe(b));
+            return cmp != 0 ? cmp : Paginacao.comparar(a.getProdutoId(), b.getProdutoId());
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package dao;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import model.Venda;
+
+/**
+ * Colunas pelas quais a listagem paginada de vendas pode ser ordenada.
+ */
+public enum OrdenacaoVenda {
+
+    ID("v.venda_id", Venda::getId),
+    DATA("v.data", Venda::getDataVenda);
+
+    private final String coluna;
+    private final Function<Venda, Object> valor;
+
+    OrdenacaoVenda(String coluna, Function<Venda, Object> valor) {
+        this.coluna = coluna;
+        this.valor = valor;
+    }
+
+    String getColuna() {
+        return coluna;
+    }
+
+    Object valorDe(Venda venda) {
+        return valor.apply(venda);
+    }
+
+    /**
+     * Comparador equivalente à ordenação da consulta paginada, incluindo o desempate
+     * pela chave. Usado para posicionar na tabela linhas alteradas sem recarregá-la.
+     */
+    public Comparator<Venda> comparador() {
+        return (a, b) -> {
+            int cmp = Paginacao.comparar(valorDe(a), valorDe(b));
+            return cmp != 0 ? cmp : Paginacao.comparar(a.getId(), b.getId());
+        };
+    }
+}
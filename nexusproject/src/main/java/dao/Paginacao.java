@@ -0,0 +1,84 @@
+package dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * Utilitário para montar consultas paginadas por chave (keyset pagination).
+ * Em vez de OFFSET, que obriga o banco a percorrer todas as linhas anteriores, cada página
+ * começa logo após a última linha da página anterior, identificada pelo valor da coluna
+ * de ordenação e pela chave primária (usada como critério de desempate).
+ * Os valores nulos são tratados como menores que qualquer outro, como na ordenação do MySQL.
+ */
+final class Paginacao {
+
+    // Aproxima a collation padrão do MySQL (utf8mb4_0900_ai_ci): ignora acentos e maiúsculas.
+    private static final Collator COLLATOR = Collator.getInstance(Locale.of("pt", "BR"));
+
+    static {
+        COLLATOR.setStrength(Collator.PRIMARY);
+    }
+
+    private Paginacao() {
+    }
+
+    /**
+     * Retorna a condição que seleciona as linhas posteriores à última linha já carregada.
+     * Na ordem decrescente, os nulos vêm por último, como no MySQL.
+     *
+     * @param coluna A coluna de ordenação.
+     * @param colunaId A chave primária usada no desempate.
+     * @param valorAnterior O valor da coluna de ordenação na última linha carregada.
+     * @param decrescente Se a listagem está em ordem decrescente.
+     */
+    static String condicaoApos(String coluna, String colunaId, Object valorAnterior, boolean decrescente) {
+        String apos = decrescente ? " < ?" : " > ?";
+        if (coluna.equals(colunaId)) {
+            return "(" + colunaId + apos + ")";
+        }
+        if (valorAnterior == null) {
+            return decrescente
+                ? "(" + coluna + " IS NULL AND " + colunaId + apos + ")"
+                : "((" + coluna + " IS NULL AND " + colunaId + apos + ") OR " + coluna + " IS NOT NULL)";
+        }
+        return "(" + coluna + apos + " OR (" + coluna + " = ? AND " + colunaId + apos + ")" +
+               (decrescente ? " OR " + coluna + " IS NULL)" : ")");
+    }
+
+    /**
+     * Define os parâmetros da condição criada por {@link #condicaoApos}.
+     *
+     * @return A próxima posição livre de parâmetro.
+     */
+    static int definirParametrosApos(PreparedStatement pstmt, int posicao, String coluna, String colunaId,
+                                     Object valorAnterior, Object idAnterior) throws SQLException {
+        if (!coluna.equals(colunaId) && valorAnterior != null) {
+            pstmt.setObject(posicao++, valorAnterior);
+            pstmt.setObject(posicao++, valorAnterior);
+        }
+        pstmt.setObject(posicao++, idAnterior);
+        return posicao;
+    }
+
+    static String ordenacao(String coluna, String colunaId, boolean decrescente) {
+        String direcao = decrescente ? " DESC" : "";
+        return coluna.equals(colunaId) ? colunaId + direcao : coluna + direcao + ", " + colunaId + direcao;
+    }
+
+    /**
+     * Compara dois valores de coluna na mesma ordem usada pelo banco: nulos primeiro,
+     * textos sem diferenciar acentos nem maiúsculas.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int comparar(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof String && b instanceof String) {
+            return COLLATOR.compare((String) a, (String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+}
@@ -1,11 +1,23 @@
 package dao;
 
+import cache.CacheAusencias;
+import cache.CatalogoProdutos;
+import cache.DicionarioTextos;
+import evento.BarramentoEventos;
+import evento.ProdutoAlterado;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import model.Produto;
 
 /**
@@ -19,38 +31,56 @@ public class ProdutoDAO {
      * Insere um novo produto no banco de dados.
      * 
      * @param obj O objeto Produto a ser inserido.
+     * @return O produto inserido, com o ID gerado pelo banco.
      * @throws SQLException Se ocorrer um erro durante a inserção no banco de dados.
      */
-    public void inserir(Produto obj) throws SQLException {
+    public Produto inserir(Produto obj) throws SQLException {
         // Instrução SQL parametrizada para evitar Injeção de SQL.
         String sql = "INSERT INTO produto (nome, preco_unitario, quantidade, categoria, preco_custo) VALUES (?,?,?,?,?);";
 
         // 'try-with-resources' garante que a conexão e o statement sejam fechados automaticamente.
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, obj.getNome());
-            pstmt.setBigDecimal(2, obj.getPrecoUnitario());
+            ColunasDinheiro.definir(pstmt, 2, obj.getPrecoUnitario());
             pstmt.setInt(3, obj.getQuantidade());
             pstmt.setString(4, obj.getCategoria());
-            pstmt.setBigDecimal(5, obj.getPrecoCusto());
+            ColunasDinheiro.definir(pstmt, 5, obj.getPrecoCusto());
 
             int rowsAffected = pstmt.executeUpdate();
 
             if (rowsAffected == 0) {
                 throw new SQLException("Falha ao inserir o produto, nenhuma linha foi modificada.");
             }
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    obj.setProdutoId(generatedKeys.getInt(1));
+                } else {
+                    throw new SQLException("Falha ao inserir o produto, nenhum ID obtido.");
+                }
+            }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ProdutoAlterado(obj.getProdutoId(), obj, versoes.applyAsLong(VersaoTabelas.Tabela.PRODUTO))),
+                VersaoTabelas.Tabela.PRODUTO);
+        return obj;
     }
 
     /**
-     * Lista todos os produtos cadastrados no banco de dados.
+     * Lista todos os produtos cadastrados, em ordem de ID.
+     * Com o catálogo carregado, a lista vem da memória, sem consultar o banco.
      * 
      * @return uma lista de objetos Produto.
      * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
      */
     public List<Produto> listarProdutos() throws SQLException {
-        String sql = "SELECT * FROM produto";
+        CatalogoProdutos catalogo = CatalogoProdutos.getInstancia();
+        if (catalogo.isCarregado()) {
+            return catalogo.listar();
+        }
+        String sql = "SELECT * FROM produto ORDER BY item_id";
         List<Produto> produtos = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
@@ -59,28 +89,108 @@ public class ProdutoDAO {
 
             // Itera sobre o resultado da consulta, criando um objeto Produto para cada registro.
             while (rs.next()) {
-                Produto produto = new Produto(
-                    rs.getInt("item_id"),
-                    rs.getString("nome"),
-                    rs.getBigDecimal("preco_unitario"),
-                    rs.getInt("quantidade"),
-                    rs.getString("categoria"),
-                    rs.getBigDecimal("preco_custo")
-                );
-                produtos.add(produto);
+                produtos.add(mapearProduto(rs));
+            }
+        }
+        return produtos;
+    }
+
+    /**
+     * Carrega o catálogo de produtos em memória com todos os produtos cadastrados.
+     *
+     * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
+     */
+    public void carregarCatalogo() throws SQLException {
+        String sql = "SELECT * FROM produto";
+
+        CatalogoProdutos catalogo = CatalogoProdutos.getInstancia();
+        catalogo.iniciarCarga();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                catalogo.adicionarDaCarga(mapearProduto(rs));
+            }
+        }
+        catalogo.concluirCarga();
+    }
+
+    /**
+     * Lista uma página de produtos usando paginação por chave (keyset).
+     * A página começa logo após o produto informado, segundo a ordenação escolhida.
+     * O filtro e a ordenação são aplicados pelo banco, com apoio dos índices de nome,
+     * categoria e quantidade.
+     *
+     * @param ordem A coluna de ordenação.
+     * @param decrescente Se a ordem é decrescente.
+     * @param filtro Os critérios de filtro, ou null para listar todos.
+     * @param ultimo O último produto da página anterior, ou null para a primeira página.
+     * @param limite O número máximo de produtos da página.
+     * @return Os produtos da página, na ordem escolhida.
+     * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
+     */
+    public List<Produto> listarProdutosPagina(OrdenacaoProduto ordem, boolean decrescente, FiltroProduto filtro,
+                                              Produto ultimo, int limite) throws SQLException {
+        String coluna = ordem.getColuna();
+        CondicoesSQL condicoes = filtro != null ? filtro.condicoes() : new CondicoesSQL();
+        if (ultimo != null) {
+            condicoes.adicionar(Paginacao.condicaoApos(coluna, "item_id", ordem.valorDe(ultimo), decrescente));
+        }
+        String sql = "SELECT * FROM produto " +
+                     condicoes.where() +
+                     "ORDER BY " + Paginacao.ordenacao(coluna, "item_id", decrescente) + " LIMIT ?";
+
+        List<Produto> produtos = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int pos = condicoes.definirParametros(pstmt, 1);
+            if (ultimo != null) {
+                pos = Paginacao.definirParametrosApos(pstmt, pos, coluna, "item_id", ordem.valorDe(ultimo), ultimo.getProdutoId());
+            }
+            pstmt.setInt(pos, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    produtos.add(mapearProduto(rs));
+                }
             }
         }
         return produtos;
     }
 
+    private Produto mapearProduto(ResultSet rs) throws SQLException {
+        return new Produto(
+            rs.getInt("item_id"),
+            rs.getString("nome"),
+            ColunasDinheiro.ler(rs, "preco_unitario"),
+            rs.getInt("quantidade"),
+            DicionarioTextos.CATEGORIAS.internar(rs.getString("categoria")),
+            ColunasDinheiro.ler(rs, "preco_custo")
+        );
+    }
+
     /**
      * Consulta um produto específico pelo seu ID.
+     * Com o catálogo carregado, o produto vem da memória, sem consultar o banco. O catálogo é
+     * atualizado por este DAO e pelo VendaDAO antes de as gravações retornarem, de modo que
+     * uma consulta feita depois de uma gravação já enxerga o resultado dela.
+     * Antes da carga do catálogo, um ID não encontrado no banco fica registrado por alguns
+     * segundos em {@link CacheAusencias#PRODUTOS}, e as novas consultas dele retornam null direto.
      * 
      * @param id O ID (item_id) do produto a ser consultado.
      * @return um objeto Produto se encontrado, ou null caso contrário.
      * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
      */
     public Produto consultarProduto(int id) throws SQLException {
+        CatalogoProdutos catalogo = CatalogoProdutos.getInstancia();
+        if (catalogo.isCarregado()) {
+            return catalogo.consultar(id);
+        }
+        return CacheAusencias.PRODUTOS.obter(id, () -> lerProduto(id));
+    }
+
+    private Produto lerProduto(int id) throws SQLException {
         String sql = "SELECT * FROM produto WHERE item_id = ?";
         
         try (Connection conn = ConnectionFactory.getConnection();
@@ -92,10 +202,10 @@ public class ProdutoDAO {
                     Produto prod = new Produto();
                     prod.setProdutoId(rs.getInt("item_id"));
                     prod.setNome(rs.getString("nome"));
-                    prod.setPrecoUnitario(rs.getBigDecimal("preco_unitario"));
+                    prod.setPrecoUnitario(ColunasDinheiro.ler(rs, "preco_unitario"));
                     prod.setQuantidade(rs.getInt("quantidade"));
-                    prod.setCategoria(rs.getString("categoria"));
-                    prod.setPrecoCusto(rs.getBigDecimal("preco_custo"));
+                    prod.setCategoria(DicionarioTextos.CATEGORIAS.internar(rs.getString("categoria")));
+                    prod.setPrecoCusto(ColunasDinheiro.ler(rs, "preco_custo"));
                     return prod;
                 }
             }
@@ -103,23 +213,81 @@ public class ProdutoDAO {
         return null;
     }
 
+    /**
+     * Consulta vários produtos de uma vez pelos seus IDs.
+     * Com o catálogo carregado, os produtos vêm dele; os que faltarem são lidos do banco
+     * com uma consulta {@code IN (...)} para cada {@value CargaEmLote#CHAVES_POR_CONSULTA} IDs.
+     *
+     * @param ids Os IDs dos produtos. IDs repetidos são consultados uma vez.
+     * @return Os produtos encontrados, pelo ID. IDs inexistentes ficam de fora do mapa.
+     * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
+     */
+    public Map<Integer, Produto> consultarProdutos(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Produto> produtos = new HashMap<>(ids.size() * 2);
+        Set<Integer> faltantes = new LinkedHashSet<>(ids);
+        CatalogoProdutos catalogo = CatalogoProdutos.getInstancia();
+        if (catalogo.isCarregado()) {
+            for (Iterator<Integer> it = faltantes.iterator(); it.hasNext(); ) {
+                Integer id = it.next();
+                Produto produto = catalogo.consultar(id);
+                if (produto != null) {
+                    produtos.put(id, produto);
+                    it.remove();
+                }
+            }
+        }
+        faltantes.removeIf(CacheAusencias.PRODUTOS::ausente);
+        for (List<Integer> parte : CargaEmLote.dividir(faltantes)) {
+            produtos.putAll(carregarPorIds(parte));
+        }
+        return produtos;
+    }
+
+    /**
+     * Lê os produtos dos IDs informados direto do banco, numa única consulta.
+     *
+     * @param ids Os IDs, no máximo {@link CargaEmLote#CHAVES_POR_CONSULTA}.
+     * @return Os produtos encontrados, pelo ID.
+     * @throws SQLException Se ocorrer um erro durante a consulta no banco de dados.
+     */
+    private Map<Integer, Produto> carregarPorIds(List<Integer> ids) throws SQLException {
+        String sql = "SELECT * FROM produto WHERE item_id IN (" + CargaEmLote.marcadores(ids.size()) + ")";
+
+        Map<Integer, Produto> produtos = new HashMap<>(ids.size() * 2);
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Produto produto = mapearProduto(rs);
+                    produtos.put(produto.getProdutoId(), produto);
+                }
+            }
+        }
+        return produtos;
+    }
+
     /**
      * Atualiza os dados de um produto existente no banco de dados.
      * 
      * @param obj O objeto Produto com os dados atualizados. O ID do produto é usado para localizá-lo.
+     * @return O produto atualizado.
      * @throws SQLException Se ocorrer um erro durante a atualização ou se o produto não for encontrado.
      */
-    public void atualizar(Produto obj) throws SQLException {
+    public Produto atualizar(Produto obj) throws SQLException {
         String sql = "UPDATE produto SET nome = ?, preco_unitario = ?, quantidade = ?, categoria = ?, preco_custo = ? WHERE (item_id = ?);";
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, obj.getNome());
-            pstmt.setBigDecimal(2, obj.getPrecoUnitario());
+            ColunasDinheiro.definir(pstmt, 2, obj.getPrecoUnitario());
             pstmt.setInt(3, obj.getQuantidade());
             pstmt.setString(4, obj.getCategoria());
-            pstmt.setBigDecimal(5, obj.getPrecoCusto());
+            ColunasDinheiro.definir(pstmt, 5, obj.getPrecoCusto());
             pstmt.setInt(6, obj.getProdutoId());
 
             int rowsAffected = pstmt.executeUpdate();
@@ -128,6 +296,10 @@ public class ProdutoDAO {
                 throw new SQLException("Falha ao atualizar o produto, nenhuma linha foi modificada ou produto não encontrado.");
             }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ProdutoAlterado(obj.getProdutoId(), obj, versoes.applyAsLong(VersaoTabelas.Tabela.PRODUTO))),
+                VersaoTabelas.Tabela.PRODUTO);
+        return obj;
     }
 
     /**
@@ -164,5 +336,8 @@ public class ProdutoDAO {
                 }
             }
         }
+        VersaoTabelas.publicar(versoes -> BarramentoEventos.getInstancia().publicar(
+                new ProdutoAlterado(id, null, versoes.applyAsLong(VersaoTabelas.Tabela.PRODUTO))),
+                VersaoTabelas.Tabela.PRODUTO);
     }
 }
\ No newline at end of file
@@ -1,17 +1,43 @@
 package dao;
 
-import java.math.BigDecimal; 
+import cache.RelatorioCache;
+import colecoes.MapaIntObjeto;
+import evento.BarramentoEventos;
+import evento.CaixaAlterado;
+import evento.VendaRegistrada;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
 import model.Cliente;
-import model.Endereco;
+import model.Dinheiro;
+import model.Granularidade;
 import model.Produto;
+import model.RelatorioMensal;
+import model.ResumoPeriodo;
+import model.ResumoVendas;
 import model.Venda;
+import model.VendasColunares;
 
 /**
  * DAO para a entidade Venda.
@@ -19,6 +45,21 @@ import model.Venda;
  * listagem e a geração de dados para relatórios.
  */
 public class VendaDAO {
+
+    // Ordena as vendas da atualização do caixa até a publicação dos eventos (ver inserir).
+    private static final Object ORDEM_DO_CAIXA = new Object();
+
+    // Rótulo usado nos relatórios para produtos sem categoria.
+    private static final String SEM_CATEGORIA = "Sem categoria";
+
+    // Consulta das vendas com apenas as chaves do produto e do cliente (e o CPF/CNPJ, que as
+    // listagens exibem). As associações pedidas são completadas em lote depois da leitura (ver carregar).
+    // O produto entra no JOIN porque o filtro por nome usa p.nome.
+    private static final String SELECT_VENDA =
+        "SELECT v.venda_id, v.data, v.quantidade, v.lucro, v.cliente_id, v.item_id, c_pes.cnpj_cpf " +
+        "FROM venda v " +
+        "JOIN produto p ON v.item_id = p.item_id " +
+        "JOIN pessoa c_pes ON v.cliente_id = c_pes.pessoa_id";
     
     /**
      * Insere uma nova venda no sistema.
@@ -27,13 +68,16 @@ public class VendaDAO {
      * 1. Verifica se há estoque suficiente do produto.
      * 2. Registra a venda na tabela 'venda'.
      * 3. Deduz a quantidade vendida do estoque na tabela 'produto'.
-     * 4. Atualiza o caixa total do microempreendedor com o lucro da venda.
+     * 4. Acumula a venda no resumo mensal do produto (usado pelos relatórios por categoria).
+     * 5. Atualiza o resumo do cliente (última compra, número de compras e lucro total).
+     * 6. Atualiza o caixa total do microempreendedor com o lucro da venda.
      * 
      * @param obj O objeto Venda contendo os detalhes da transação.
+     * @return A venda registrada, com o ID gerado, o lucro calculado e o estoque do produto já deduzido.
      * @throws SQLException Se a quantidade em estoque for insuficiente ou se ocorrer outro erro de banco.
      * @throws IllegalArgumentException Se os objetos Venda, Produto ou Cliente forem nulos.
      */
-    public void inserir(Venda obj) throws SQLException {
+    public Venda inserir(Venda obj) throws SQLException {
         if (obj == null || obj.getProduto() == null || obj.getCliente() == null) {
             throw new IllegalArgumentException("Venda, produto e cliente não podem ser nulos.");
         }
@@ -41,10 +85,18 @@ public class VendaDAO {
         String checkQuantidadeSQL = "SELECT quantidade FROM produto WHERE item_id = ?";
         String insertVendaSQL = "INSERT INTO venda (cliente_id, item_id, data, quantidade, lucro) VALUES ((SELECT p.pessoa_id FROM pessoa p JOIN cliente c ON p.pessoa_id = c.pessoa_id WHERE p.cnpj_cpf = ?), ?, ?, ?, ?)";
         String updateProdutoSQL = "UPDATE produto SET quantidade = quantidade - ? WHERE item_id = ?";
+        String resumoMensalSQL = "INSERT INTO resumo_mensal_produto (ano_mes, item_id, unidades, receita, lucro) VALUES (?, ?, ?, ?, ?) " +
+                                 "ON DUPLICATE KEY UPDATE unidades = unidades + VALUES(unidades), receita = receita + VALUES(receita), lucro = lucro + VALUES(lucro)";
+        String resumoClienteSQL = "INSERT INTO cliente_resumo (pessoa_id, ultima_compra, total_compras, lucro_total) " +
+                                  "VALUES ((SELECT p.pessoa_id FROM pessoa p JOIN cliente c ON p.pessoa_id = c.pessoa_id WHERE p.cnpj_cpf = ?), ?, 1, ?) " +
+                                  "ON DUPLICATE KEY UPDATE ultima_compra = GREATEST(ultima_compra, VALUES(ultima_compra)), " +
+                                  "total_compras = total_compras + 1, lucro_total = lucro_total + VALUES(lucro_total)";
         String sumLucroSQL = "SELECT SUM(lucro) AS total_lucro FROM venda";
         String getMicroempreendedorSQL = "SELECT cnpj_cpf FROM pessoa JOIN microempreendedor ON pessoa.pessoa_id = microempreendedor.pessoa_id LIMIT 1";
         String updateCaixaSQL = "UPDATE microempreendedor SET caixa = ? WHERE pessoa_id = (SELECT pessoa_id FROM pessoa WHERE cnpj_cpf = ?)";
-        
+        Dinheiro totalLucro = Dinheiro.ZERO;
+        Dinheiro lucro = obj.calcularLucro();
+
         try (Connection conn = ConnectionFactory.getConnection()) {
             conn.setAutoCommit(false); 
 
@@ -64,13 +116,18 @@ public class VendaDAO {
                 }
 
                 // ETAPA 2: Inserir o registro da venda. O lucro é calculado no momento da inserção.
-                try (PreparedStatement insertVendaStmt = conn.prepareStatement(insertVendaSQL)) {
+                try (PreparedStatement insertVendaStmt = conn.prepareStatement(insertVendaSQL, Statement.RETURN_GENERATED_KEYS)) {
                     insertVendaStmt.setString(1, obj.getCliente().getIdentificador());
                     insertVendaStmt.setInt(2, obj.getProduto().getProdutoId());
                     insertVendaStmt.setObject(3, obj.getDataVenda());
                     insertVendaStmt.setInt(4, obj.getQuantidade());
-                    insertVendaStmt.setBigDecimal(5, obj.calcularLucro());
+                    ColunasDinheiro.definir(insertVendaStmt, 5, lucro);
                     if(insertVendaStmt.executeUpdate() == 0) throw new SQLException("Falha ao registrar a venda.");
+                    try (ResultSet generatedKeys = insertVendaStmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            obj.setId(generatedKeys.getInt(1));
+                        }
+                    }
                 }
 
                 // ETAPA 3: Atualizar (diminuir) a quantidade do produto no estoque.
@@ -80,121 +137,319 @@ public class VendaDAO {
                     if(updateProdutoStmt.executeUpdate() == 0) throw new SQLException("Falha ao atualizar o estoque.");
                 }
 
-                // ETAPA 4: Atualizar o caixa do microempreendedor.
+                // ETAPA 4: Acumular a venda no resumo mensal do produto.
+                // A receita usa o preço praticado no momento da venda.
+                try (PreparedStatement resumoStmt = conn.prepareStatement(resumoMensalSQL)) {
+                    resumoStmt.setInt(1, anoMes(YearMonth.from(obj.getDataVenda())));
+                    resumoStmt.setInt(2, obj.getProduto().getProdutoId());
+                    resumoStmt.setInt(3, obj.getQuantidade());
+                    ColunasDinheiro.definir(resumoStmt, 4, obj.getProduto().getPrecoUnitario().multiplicar(obj.getQuantidade()));
+                    ColunasDinheiro.definir(resumoStmt, 5, lucro);
+                    resumoStmt.executeUpdate();
+                }
+
+                // ETAPA 5: Atualizar o resumo do cliente usado pelo ranking.
+                try (PreparedStatement resumoStmt = conn.prepareStatement(resumoClienteSQL)) {
+                    resumoStmt.setString(1, obj.getCliente().getIdentificador());
+                    resumoStmt.setObject(2, obj.getDataVenda());
+                    ColunasDinheiro.definir(resumoStmt, 3, lucro);
+                    resumoStmt.executeUpdate();
+                }
+
+                // ETAPA 6: Atualizar o caixa do microempreendedor.
                 // Esta abordagem recalcula o total a cada venda para garantir consistência.
-                BigDecimal totalLucro = BigDecimal.ZERO;
-                try(PreparedStatement sumLucroStmt = conn.prepareStatement(sumLucroSQL);
-                    ResultSet rsSum = sumLucroStmt.executeQuery()){
-                    if(rsSum.next()) {
-                        BigDecimal sum = rsSum.getBigDecimal("total_lucro");
-                        if (sum != null) {
-                            totalLucro = sum;
+                // Da atualização do caixa até a publicação, as vendas passam uma de cada vez: os
+                // eventos saem na ordem dos commits, e a versão de cada CaixaAlterado cresce com
+                // ela, para que um total mais antigo nunca sobrescreva um mais novo (ver PerfilCache).
+                synchronized (ORDEM_DO_CAIXA) {
+                    try(PreparedStatement sumLucroStmt = conn.prepareStatement(sumLucroSQL);
+                        ResultSet rsSum = sumLucroStmt.executeQuery()){
+                        if(rsSum.next()) {
+                            totalLucro = ColunasDinheiro.lerOuZero(rsSum, "total_lucro");
                         }
                     }
-                }
-                
-                String micId = null;
-                try(PreparedStatement getMicStmt = conn.prepareStatement(getMicroempreendedorSQL);
-                    ResultSet rsMic = getMicStmt.executeQuery()) {
-                    if(rsMic.next()) micId = rsMic.getString("cnpj_cpf");
-                    else throw new SQLException("Microempreendedor não encontrado para atualizar o caixa.");
-                }
+                    
+                    String micId = null;
+                    try(PreparedStatement getMicStmt = conn.prepareStatement(getMicroempreendedorSQL);
+                        ResultSet rsMic = getMicStmt.executeQuery()) {
+                        if(rsMic.next()) micId = rsMic.getString("cnpj_cpf");
+                        else throw new SQLException("Microempreendedor não encontrado para atualizar o caixa.");
+                    }
 
-                try(PreparedStatement updateCaixaStmt = conn.prepareStatement(updateCaixaSQL)) {
-                    updateCaixaStmt.setBigDecimal(1, totalLucro);
-                    updateCaixaStmt.setString(2, micId);
-                     if(updateCaixaStmt.executeUpdate() == 0) throw new SQLException("Falha ao atualizar o caixa do microempreendedor.");
-                }
+                    try(PreparedStatement updateCaixaStmt = conn.prepareStatement(updateCaixaSQL)) {
+                        ColunasDinheiro.definir(updateCaixaStmt, 1, totalLucro);
+                        updateCaixaStmt.setString(2, micId);
+                         if(updateCaixaStmt.executeUpdate() == 0) throw new SQLException("Falha ao atualizar o caixa do microempreendedor.");
+                    }
 
-                conn.commit(); // Confirma todas as operações se nenhuma exceção foi lançada.
+                    conn.commit(); // Confirma todas as operações se nenhuma exceção foi lançada.
+                    publicarVenda(obj, lucro, totalLucro);
+                }
 
             } catch (SQLException e) {
                 conn.rollback(); // Desfaz todas as operações em caso de erro.
                 throw e; 
             }
         }
+        return obj;
+    }
+
+    // Só após o commit: caches (relatórios, catálogo, perfil) e telas aplicam a venda, a baixa
+    // de estoque e o novo caixa ao que já têm em memória.
+    private static void publicarVenda(Venda obj, Dinheiro lucro, Dinheiro caixa) {
+        obj.setValorTotal(lucro);
+        obj.getProduto().setQuantidade(obj.getProduto().getQuantidade() - obj.getQuantidade());
+
+        VersaoTabelas.publicar(versoes -> {
+            BarramentoEventos barramento = BarramentoEventos.getInstancia();
+            barramento.publicar(new VendaRegistrada(obj, versoes.applyAsLong(VersaoTabelas.Tabela.VENDA),
+                    versoes.applyAsLong(VersaoTabelas.Tabela.PRODUTO)));
+            barramento.publicar(new CaixaAlterado(caixa, versoes.applyAsLong(VersaoTabelas.Tabela.MICROEMPREENDEDOR)));
+        }, VersaoTabelas.Tabela.VENDA, VersaoTabelas.Tabela.PRODUTO, VersaoTabelas.Tabela.MICROEMPREENDEDOR);
     }
 
     /**
-     * Lista todas as vendas registradas com detalhes completos do produto e cliente.
+     * Lista todas as vendas registradas, com o produto e o cliente completos.
      * 
      * @return Uma lista de objetos Venda.
      * @throws SQLException Se ocorrer um erro durante a consulta.
      */
     public List<Venda> listarVendas() throws SQLException {
-        // Consulta complexa que junta 5 tabelas para montar um relatório detalhado.
-        // Aliases (v, p, c, c_pes, e) são usados para tornar a consulta mais legível.
-        String sql = "SELECT v.venda_id, v.data, v.quantidade, v.lucro, " +
-                     "p.item_id, p.nome AS produto_nome, p.preco_unitario, p.preco_custo, " +
-                     "c_pes.cnpj_cpf, c_pes.nome AS cliente_nome, c_pes.email, c.telefone, " +
-                     "e.rua, e.bairro, e.cidade, e.numero, e.complemento " +
-                     "FROM venda v " +
-                     "JOIN produto p ON v.item_id = p.item_id " +
-                     "JOIN cliente c ON v.cliente_id = c.pessoa_id " +
-                     "JOIN pessoa c_pes ON c.pessoa_id = c_pes.pessoa_id " +
-                     "JOIN endereco e ON c_pes.endereco_id = e.endereco_id";
+        return listarVendas(EnumSet.allOf(AssociacaoVenda.class));
+    }
+
+    /**
+     * Lista todas as vendas registradas, carregando em lote só as associações pedidas
+     * (ver {@link #carregar}).
+     *
+     * @param associacoes As associações a carregar; as demais vêm só com a chave.
+     * @return Uma lista de objetos Venda.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public List<Venda> listarVendas(Set<AssociacaoVenda> associacoes) throws SQLException {
+        String sql = SELECT_VENDA;
 
         List<Venda> vendas = new ArrayList<>();
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
 
+            MapaIdentidade<Produto> produtos = produtosDaVenda();
+            MapaIdentidade<Cliente> clientes = clientesDaVenda();
             while (rs.next()) {
-                Venda venda = new Venda();
-                venda.setId(rs.getInt("venda_id"));
-                venda.setDataVenda(rs.getObject("data", LocalDate.class));
-                venda.setQuantidade(rs.getInt("quantidade"));
-                venda.setValorTotal(rs.getBigDecimal("lucro"));
-
-                Produto produto = new Produto();
-                produto.setProdutoId(rs.getInt("item_id"));
-                produto.setNome(rs.getString("produto_nome"));
-                produto.setPrecoUnitario(rs.getBigDecimal("preco_unitario"));
-                produto.setPrecoCusto(rs.getBigDecimal("preco_custo"));
-
-                Endereco endereco = new Endereco(rs.getString("rua"), rs.getString("bairro"), rs.getString("cidade"), rs.getString("numero"), rs.getString("complemento"));
-                
-                Cliente cliente = new Cliente();
-                cliente.setIdentificador(rs.getString("cnpj_cpf"));
-                cliente.setNome(rs.getString("cliente_nome"));
-                cliente.setEmail(rs.getString("email"));
-                cliente.setTelefone(rs.getString("telefone"));
-                cliente.setEndereco(endereco);
-
-                venda.setProduto(produto);
-                venda.setCliente(cliente);
-                vendas.add(venda);
+                vendas.add(mapearVenda(rs, produtos, clientes));
             }
         }
+        carregar(vendas, associacoes);
         return vendas;
     }
 
+    /**
+     * Lista uma página de vendas usando paginação por chave (keyset), com o produto e o
+     * cliente completos. A página começa logo após a venda informada, segundo a ordenação
+     * escolhida. O filtro e a ordenação são aplicados pelo banco; o período usa o índice de data.
+     *
+     * @param ordem A coluna de ordenação.
+     * @param decrescente Se a ordem é decrescente.
+     * @param filtro Os critérios de filtro, ou null para listar todas.
+     * @param ultima A última venda da página anterior, ou null para a primeira página.
+     * @param limite O número máximo de vendas da página.
+     * @return As vendas da página, na ordem escolhida.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public List<Venda> listarVendasPagina(OrdenacaoVenda ordem, boolean decrescente, FiltroVenda filtro,
+                                          Venda ultima, int limite) throws SQLException {
+        return listarVendasPagina(ordem, decrescente, filtro, ultima, limite, EnumSet.allOf(AssociacaoVenda.class));
+    }
+
+    /**
+     * Lista uma página de vendas como {@link #listarVendasPagina(OrdenacaoVenda, boolean, FiltroVenda, Venda, int)},
+     * carregando em lote só as associações pedidas (ver {@link #carregar}).
+     *
+     * @param associacoes As associações a carregar; as demais vêm só com a chave.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public List<Venda> listarVendasPagina(OrdenacaoVenda ordem, boolean decrescente, FiltroVenda filtro,
+                                          Venda ultima, int limite, Set<AssociacaoVenda> associacoes) throws SQLException {
+        String coluna = ordem.getColuna();
+        CondicoesSQL condicoes = filtro != null ? filtro.condicoes() : new CondicoesSQL();
+        if (ultima != null) {
+            condicoes.adicionar(Paginacao.condicaoApos(coluna, "v.venda_id", ordem.valorDe(ultima), decrescente));
+        }
+        String sql = SELECT_VENDA + " " +
+                     condicoes.where() +
+                     "ORDER BY " + Paginacao.ordenacao(coluna, "v.venda_id", decrescente) + " LIMIT ?";
+
+        List<Venda> vendas = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int pos = condicoes.definirParametros(pstmt, 1);
+            if (ultima != null) {
+                pos = Paginacao.definirParametrosApos(pstmt, pos, coluna, "v.venda_id", ordem.valorDe(ultima), ultima.getId());
+            }
+            pstmt.setInt(pos, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapaIdentidade<Produto> produtos = produtosDaVenda();
+                MapaIdentidade<Cliente> clientes = clientesDaVenda();
+                while (rs.next()) {
+                    vendas.add(mapearVenda(rs, produtos, clientes));
+                }
+            }
+        }
+        carregar(vendas, associacoes);
+        return vendas;
+    }
+
+    /**
+     * Lê as vendas, já filtradas e ordenadas pelo banco, diretamente para a lista por colunas,
+     * sem montar objetos Venda, Produto e Cliente. Só as colunas exibidas na listagem são lidas.
+     * <p>
+     * A leitura é feita em modo streaming e as linhas são publicadas em lotes conforme chegam,
+     * para que a tela possa exibi-las antes do fim da consulta. Se a thread for interrompida,
+     * a consulta é cancelada e o método retorna com as linhas lidas até então.
+     *
+     * @param ordem A coluna de ordenação.
+     * @param decrescente Se a ordem é decrescente.
+     * @param filtro Os critérios de filtro, ou null para ler todas.
+     * @param destino A lista que recebe as vendas.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public void lerVendasColunares(OrdenacaoVenda ordem, boolean decrescente, FiltroVenda filtro,
+                                   VendasColunares destino) throws SQLException {
+        final int linhasPorLote = 10_000;
+        CondicoesSQL condicoes = filtro != null ? filtro.condicoes() : new CondicoesSQL();
+        String sql = "SELECT v.venda_id, c_pes.cnpj_cpf, p.item_id, p.nome AS produto_nome, " +
+                     "v.quantidade, v.data, v.lucro " +
+                     "FROM venda v " +
+                     "JOIN produto p ON v.item_id = p.item_id " +
+                     "JOIN pessoa c_pes ON v.cliente_id = c_pes.pessoa_id " +
+                     condicoes.where() +
+                     "ORDER BY " + Paginacao.ordenacao(ordem.getColuna(), "v.venda_id", decrescente);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Integer.MIN_VALUE ativa o modo streaming do Connector/J: as linhas não são carregadas todas na memória.
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            condicoes.definirParametros(pstmt, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int lidas = 0;
+                while (rs.next()) {
+                    destino.adicionar(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getString(4),
+                            rs.getInt(5), rs.getObject(6, LocalDate.class), ColunasDinheiro.lerCentavos(rs, 7));
+                    if (++lidas % linhasPorLote == 0) {
+                        destino.publicar();
+                        if (Thread.currentThread().isInterrupted()) {
+                            // Sem cancelar, fechar o ResultSet leria (e descartaria) o restante das linhas.
+                            pstmt.cancel();
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        destino.publicar();
+    }
+
+    // Monta uma Venda a partir da linha atual de SELECT_VENDA. Vendas do mesmo item ou do mesmo
+    // cliente compartilham a instância do produto ou do cliente (ver MapaIdentidade), que só tem
+    // a chave preenchida até ser completada por carregar.
+    private Venda mapearVenda(ResultSet rs, MapaIdentidade<Produto> produtos,
+                              MapaIdentidade<Cliente> clientes) throws SQLException {
+        Venda venda = new Venda();
+        venda.setId(rs.getInt("venda_id"));
+        venda.setDataVenda(rs.getObject("data", LocalDate.class));
+        venda.setQuantidade(rs.getInt("quantidade"));
+        venda.setValorTotal(ColunasDinheiro.ler(rs, "lucro"));
+        venda.setProduto(produtos.obter(rs.getInt("item_id"), rs));
+        venda.setCliente(clientes.obter(rs.getInt("cliente_id"), rs));
+        return venda;
+    }
+
+    private static MapaIdentidade<Produto> produtosDaVenda() {
+        return new MapaIdentidade<>(linha -> {
+            Produto produto = new Produto();
+            produto.setProdutoId(linha.getInt("item_id"));
+            return produto;
+        });
+    }
+
+    private static MapaIdentidade<Cliente> clientesDaVenda() {
+        return new MapaIdentidade<>(linha -> {
+            Cliente cliente = new Cliente();
+            cliente.setIdentificador(linha.getString("cnpj_cpf"));
+            return cliente;
+        });
+    }
+
+    /**
+     * Completa, em lote, as associações pedidas das vendas informadas: uma consulta
+     * {@code IN (...)} por associação para cada {@value CargaEmLote#CHAVES_POR_CONSULTA} chaves,
+     * qualquer que seja o número de vendas (ver {@link CargaEmLote}). Vendas que compartilham o
+     * produto ou o cliente compartilham a leitura. Serve para completar, fora da thread de
+     * eventos, vendas listadas sem alguma associação; depois dele, ler as associações não
+     * acessa o banco.
+     *
+     * @param vendas As vendas a completar.
+     * @param associacoes As associações a carregar.
+     * @throws SQLException Se ocorrer um erro durante a consulta.
+     */
+    public void carregar(Collection<Venda> vendas, Set<AssociacaoVenda> associacoes) throws SQLException {
+        if (associacoes.contains(AssociacaoVenda.PRODUTO)) {
+            CargaEmLote<Integer, Produto> produtos = new CargaEmLote<>(new ProdutoDAO()::consultarProdutos, (produto, dados) -> {
+                produto.setNome(dados.getNome());
+                produto.setPrecoUnitario(dados.getPrecoUnitario());
+                produto.setQuantidade(dados.getQuantidade());
+                produto.setCategoria(dados.getCategoria());
+                produto.setPrecoCusto(dados.getPrecoCusto());
+            });
+            for (Venda venda : vendas) {
+                if (venda.getProduto() != null) {
+                    produtos.adicionar(venda.getProduto().getProdutoId(), venda.getProduto());
+                }
+            }
+            produtos.carregarPendentes();
+        }
+        if (associacoes.contains(AssociacaoVenda.CLIENTE)) {
+            CargaEmLote<String, Cliente> clientes = new CargaEmLote<>(new ClienteDAO()::consultarClientes, (cliente, dados) -> {
+                cliente.setNome(dados.getNome());
+                cliente.setEmail(dados.getEmail());
+                cliente.setEndereco(dados.getEndereco());
+                cliente.setTelefone(dados.getTelefone());
+            });
+            for (Venda venda : vendas) {
+                if (venda.getCliente() != null && venda.getCliente().getIdentificador() != null) {
+                    clientes.adicionar(venda.getCliente().getIdentificador(), venda.getCliente());
+                }
+            }
+            clientes.carregarPendentes();
+        }
+    }
+
     /**
      * Calcula o lucro total para um determinado mês e ano.
      * 
      * @param mes O mês (1-12).
      * @param ano O ano (ex: 2024).
-     * @return O valor do lucro total como BigDecimal. Retorna BigDecimal.ZERO se não houver lucro.
+     * @return O valor do lucro total. Retorna Dinheiro.ZERO se não houver lucro.
      * @throws SQLException Se ocorrer um erro na consulta.
      */
-    public BigDecimal obterLucroMensal(int mes, int ano) throws SQLException {
-        // Usa a função MONTH() e YEAR() do SQL para filtrar as vendas pelo período desejado.
+    public Dinheiro obterLucroMensal(int mes, int ano) throws SQLException {
+        // Filtra as vendas pela faixa de datas do mês (e não por MONTH()/YEAR(), que impediriam o uso do índice).
         // SUM(lucro) é uma função de agregação que soma os valores da coluna.
-        String sql = "SELECT SUM(lucro) AS total_lucro FROM venda WHERE MONTH(data) = ? AND YEAR(data) = ?";
+        String sql = "SELECT SUM(lucro) AS total_lucro FROM venda WHERE data >= ? AND data < ?";
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, mes);
-            pstmt.setInt(2, ano);
+            definirFaixaDoMes(pstmt, 1, mes, ano);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    BigDecimal lucro = rs.getBigDecimal("total_lucro");
                     // Boa prática: SUM() retorna NULL se não houver linhas para somar.
                     // Este tratamento evita um NullPointerException.
-                    return lucro == null ? BigDecimal.ZERO : lucro;
+                    return ColunasDinheiro.lerOuZero(rs, "total_lucro");
                 }
             }
         }
-        return BigDecimal.ZERO;
+        return Dinheiro.ZERO;
     }
 
     /**
@@ -210,12 +465,11 @@ public class VendaDAO {
         // Ordena em ordem decrescente (ORDER BY ... DESC) e pega apenas o primeiro (LIMIT 1).
         String sql = "SELECT p.nome, SUM(v.quantidade) AS total_quantidade " +
                      "FROM venda v JOIN produto p ON v.item_id = p.item_id " +
-                     "WHERE MONTH(v.data) = ? AND YEAR(v.data) = ? " +
+                     "WHERE v.data >= ? AND v.data < ? " +
                      "GROUP BY p.nome ORDER BY total_quantidade DESC LIMIT 1";
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, mes);
-            pstmt.setInt(2, ano);
+            definirFaixaDoMes(pstmt, 1, mes, ano);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     return rs.getString("nome");
@@ -225,51 +479,385 @@ public class VendaDAO {
         return "Nenhum produto vendido";
     }
 
+    /**
+     * Gera o relatório completo de um mês: lucro total, produto mais vendido e vendas do período.
+     * O resultado é servido pelo {@link RelatorioCache}; as consultas só são executadas quando o mês
+     * ainda não foi calculado ou quando uma venda desse mês foi registrada desde o último cálculo.
+     *
+     * @param mes O mês (1-12).
+     * @param ano O ano (ex: 2024).
+     * @return O relatório do mês.
+     * @throws SQLException Se ocorrer um erro na consulta.
+     */
+    public RelatorioMensal gerarRelatorioMensal(int mes, int ano) throws SQLException {
+        YearMonth periodo = YearMonth.of(ano, mes);
+        return RelatorioCache.getInstancia().obter(periodo, () -> new RelatorioMensal(
+            periodo,
+            obterLucroMensal(mes, ano),
+            obterProdutoMaisVendido(mes, ano),
+            listarProdutosVendidosMes(mes, ano)
+        ));
+    }
+
     /**
      * Lista todos os produtos vendidos em um determinado mês e ano para o relatório.
      * 
      * @param mes O mês (1-12).
      * @param ano O ano (ex: 2024).
-     * @return Uma lista de objetos Venda contendo os dados relevantes para o relatório.
+     * @return Uma lista de objetos Venda contendo os dados relevantes para o relatório. Os produtos
+     *         vêm completos; os clientes trazem apenas o CPF/CNPJ, o único dado exibido.
      * @throws SQLException Se ocorrer um erro na consulta.
      */
     public List<Venda> listarProdutosVendidosMes(int mes, int ano) throws SQLException {
-        String sql = "SELECT v.venda_id, v.data, v.quantidade, v.lucro, " +
-                     "p.item_id, p.nome AS produto_nome, p.preco_unitario, p.preco_custo, " +
-                     "c_pes.cnpj_cpf " +
-                     "FROM venda v " +
-                     "JOIN produto p ON v.item_id = p.item_id " +
-                     "JOIN pessoa c_pes ON v.cliente_id = c_pes.pessoa_id " +
-                     "WHERE MONTH(v.data) = ? AND YEAR(v.data) = ?";
+        String sql = SELECT_VENDA + " WHERE v.data >= ? AND v.data < ?";
         
         List<Venda> vendas = new ArrayList<>();
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, mes);
-            pstmt.setInt(2, ano);
+            definirFaixaDoMes(pstmt, 1, mes, ano);
             try (ResultSet rs = pstmt.executeQuery()) {
+                MapaIdentidade<Produto> produtos = produtosDaVenda();
+                MapaIdentidade<Cliente> clientes = clientesDaVenda();
                 while (rs.next()) {
-                    Venda venda = new Venda();
-                    venda.setId(rs.getInt("venda_id"));
-                    venda.setDataVenda(rs.getObject("data", LocalDate.class));
-                    venda.setQuantidade(rs.getInt("quantidade"));
-                    venda.setValorTotal(rs.getBigDecimal("lucro"));
-
-                    Produto produto = new Produto();
-                    produto.setProdutoId(rs.getInt("item_id"));
-                    produto.setNome(rs.getString("produto_nome"));
-                    produto.setPrecoUnitario(rs.getBigDecimal("preco_unitario"));
-                    produto.setPrecoCusto(rs.getBigDecimal("preco_custo"));
-                    
-                    Cliente cliente = new Cliente();
-                    cliente.setIdentificador(rs.getString("cnpj_cpf"));
-                    
-                    venda.setProduto(produto);
-                    venda.setCliente(cliente);
-                    vendas.add(venda);
+                    vendas.add(mapearVenda(rs, produtos, clientes));
                 }
             }
         }
+        // O relatório exibe o nome dos produtos; do cliente, só o CPF/CNPJ, que vem da consulta.
+        carregar(vendas, EnumSet.of(AssociacaoVenda.PRODUTO));
         return vendas;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gera o relatório de tendência entre dois meses (inclusive), agrupado por dia, semana ou mês.
+     * Em vez de três consultas por mês, as vendas do intervalo inteiro são lidas de uma só vez
+     * para vetores primitivos e agregadas em paralelo com fork/join. Os nomes dos produtos
+     * são buscados numa segunda consulta, apenas para os itens vendidos no intervalo.
+     * Todos os períodos da série são completos: no agrupamento por semana, o intervalo é
+     * ampliado para começar na segunda-feira da primeira semana e terminar no domingo da
+     * última, de modo que cada "Semana de dd/MM" soma os sete dias, mesmo os dos meses vizinhos.
+     *
+     * @param mesInicial O primeiro mês do intervalo.
+     * @param mesFinal O último mês do intervalo (inclusive).
+     * @param granularidade O tamanho de cada período da série.
+     * @return A série em ordem cronológica, incluindo os períodos sem vendas.
+     * @throws SQLException Se ocorrer um erro na consulta.
+     * @throws IllegalArgumentException Se o mês inicial for posterior ao final.
+     */
+    public List<ResumoPeriodo> gerarRelatorioPeriodo(YearMonth mesInicial, YearMonth mesFinal, Granularidade granularidade) throws SQLException {
+        if (mesInicial.isAfter(mesFinal)) {
+            throw new IllegalArgumentException("O mês inicial deve ser anterior ou igual ao mês final.");
+        }
+        LocalDate fimDosMeses = mesFinal.plusMonths(1).atDay(1); // Exclusivo.
+
+        // Monta a lista de períodos; o início de cada um (em dias desde a época) é usado na busca binária.
+        // A consulta cobre os períodos inteiros, do início do primeiro ao fim do último.
+        List<LocalDate> inicios = new ArrayList<>();
+        LocalDate d = granularidade.inicioDoPeriodo(mesInicial.atDay(1));
+        for (; d.isBefore(fimDosMeses); d = granularidade.proximoPeriodo(d)) {
+            inicios.add(d);
+        }
+        LocalDate dataInicial = inicios.get(0);
+        LocalDate dataLimite = d; // Exclusivo: início do período seguinte ao último.
+        int[] inicioPeriodo = new int[inicios.size()];
+        for (int i = 0; i < inicioPeriodo.length; i++) {
+            inicioPeriodo[i] = (int) inicios.get(i).toEpochDay();
+        }
+
+        // O filtro por faixa de datas (e não por MONTH()/YEAR()) permite o uso do índice em venda.data.
+        String vendasSQL = "SELECT data, item_id, quantidade, lucro FROM venda WHERE data >= ? AND data < ?";
+        String nomesSQL = "SELECT item_id, nome FROM produto WHERE item_id IN " +
+                          "(SELECT DISTINCT item_id FROM venda WHERE data >= ? AND data < ?)";
+
+        int total = 0;
+        int[] periodo = new int[1024];
+        int[] itemId = new int[1024];
+        int[] quantidade = new int[1024];
+        long[] lucroCentavos = new long[1024];
+        MapaIntObjeto<String> nomes = new MapaIntObjeto<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(vendasSQL)) {
+                pstmt.setObject(1, dataInicial);
+                pstmt.setObject(2, dataLimite);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (total == periodo.length) {
+                            int novoTamanho = total * 2;
+                            periodo = Arrays.copyOf(periodo, novoTamanho);
+                            itemId = Arrays.copyOf(itemId, novoTamanho);
+                            quantidade = Arrays.copyOf(quantidade, novoTamanho);
+                            lucroCentavos = Arrays.copyOf(lucroCentavos, novoTamanho);
+                        }
+                        int dia = (int) rs.getDate("data").toLocalDate().toEpochDay();
+                        int pos = Arrays.binarySearch(inicioPeriodo, dia);
+                        periodo[total] = pos >= 0 ? pos : -pos - 2;
+                        itemId[total] = rs.getInt("item_id");
+                        quantidade[total] = rs.getInt("quantidade");
+                        lucroCentavos[total] = ColunasDinheiro.lerCentavos(rs, "lucro");
+                        total++;
+                    }
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(nomesSQL)) {
+                pstmt.setObject(1, dataInicial);
+                pstmt.setObject(2, dataLimite);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        nomes.put(rs.getInt("item_id"), rs.getString("nome"));
+                    }
+                }
+            }
+        }
+
+        AgregacaoPeriodos.Parcial agregado = ForkJoinPool.commonPool().invoke(
+            new AgregacaoPeriodos(periodo, itemId, quantidade, lucroCentavos, inicioPeriodo.length, 0, total));
+
+        List<ResumoPeriodo> serie = new ArrayList<>(inicioPeriodo.length);
+        for (int p = 0; p < inicioPeriodo.length; p++) {
+            LocalDate inicio = inicios.get(p);
+            int maisVendido = agregado.produtoMaisVendido(p);
+            serie.add(new ResumoPeriodo(
+                inicio,
+                granularidade.rotular(inicio),
+                Dinheiro.deCentavos(agregado.lucroCentavos[p]),
+                agregado.unidades[p],
+                maisVendido == -1 ? "Nenhum produto vendido" : nomes.get(maisVendido)
+            ));
+        }
+        return serie;
+    }
+
+    /**
+     * Gera o relatório de lucro, receita e unidades vendidas por categoria de produto.
+     * Lê a tabela resumo_mensal_produto (uma linha por produto e mês), de modo que o custo
+     * depende do número de produtos vendidos no período e não do número de vendas.
+     *
+     * @param mesInicial O primeiro mês do período.
+     * @param mesFinal O último mês do período (inclusive).
+     * @return As categorias ordenadas pelo lucro, da maior para a menor.
+     * @throws SQLException Se ocorrer um erro na consulta.
+     */
+    public List<ResumoVendas> gerarRelatorioCategorias(YearMonth mesInicial, YearMonth mesFinal) throws SQLException {
+        String sql = "SELECT COALESCE(p.categoria, '" + SEM_CATEGORIA + "') AS categoria, " +
+                     "SUM(r.unidades) AS unidades, SUM(r.receita) AS receita, SUM(r.lucro) AS lucro " +
+                     "FROM resumo_mensal_produto r JOIN produto p ON r.item_id = p.item_id " +
+                     "WHERE r.ano_mes BETWEEN ? AND ? " +
+                     "GROUP BY COALESCE(p.categoria, '" + SEM_CATEGORIA + "') ORDER BY lucro DESC";
+
+        List<ResumoVendas> categorias = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, anoMes(mesInicial));
+            pstmt.setInt(2, anoMes(mesFinal));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    categorias.add(new ResumoVendas(rs.getString("categoria"), rs.getLong("unidades"), ColunasDinheiro.lerOuZero(rs, "receita"), ColunasDinheiro.lerOuZero(rs, "lucro")));
+                }
+            }
+        }
+        return categorias;
+    }
+
+    /**
+     * Detalha uma categoria do relatório, listando os totais de cada produto dela no período.
+     *
+     * @param categoria A categoria, como retornada por {@link #gerarRelatorioCategorias}.
+     * @param mesInicial O primeiro mês do período.
+     * @param mesFinal O último mês do período (inclusive).
+     * @return Os produtos da categoria ordenados pelo lucro, do maior para o menor.
+     * @throws SQLException Se ocorrer um erro na consulta.
+     */
+    public List<ResumoVendas> detalharCategoria(String categoria, YearMonth mesInicial, YearMonth mesFinal) throws SQLException {
+        String sql = "SELECT p.nome, SUM(r.unidades) AS unidades, SUM(r.receita) AS receita, SUM(r.lucro) AS lucro " +
+                     "FROM resumo_mensal_produto r JOIN produto p ON r.item_id = p.item_id " +
+                     "WHERE r.ano_mes BETWEEN ? AND ? AND COALESCE(p.categoria, '" + SEM_CATEGORIA + "') = ? " +
+                     "GROUP BY r.item_id, p.nome ORDER BY lucro DESC";
+
+        List<ResumoVendas> produtos = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, anoMes(mesInicial));
+            pstmt.setInt(2, anoMes(mesFinal));
+            pstmt.setString(3, categoria);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    produtos.add(new ResumoVendas(rs.getString("nome"), rs.getLong("unidades"), ColunasDinheiro.lerOuZero(rs, "receita"), ColunasDinheiro.lerOuZero(rs, "lucro")));
+                }
+            }
+        }
+        return produtos;
+    }
+
+    // Chave do mês na tabela resumo_mensal_produto: 202403 para março de 2024.
+    private static int anoMes(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+
+    // Define os parâmetros [primeiro dia do mês, primeiro dia do mês seguinte) a partir da posição informada.
+    private static void definirFaixaDoMes(PreparedStatement pstmt, int posicao, int mes, int ano) throws SQLException {
+        YearMonth periodo = YearMonth.of(ano, mes);
+        pstmt.setObject(posicao, periodo.atDay(1));
+        pstmt.setObject(posicao + 1, periodo.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * Exporta as vendas para um arquivo CSV ou JSON Lines, opcionalmente compactado com gzip.
+     * As linhas são lidas em modo streaming (o driver do MySQL entrega uma linha por vez quando o
+     * fetch size é Integer.MIN_VALUE) e escritas diretamente num canal de arquivo com buffer,
+     * sem montar objetos Venda. Assim o consumo de memória não depende do tamanho do histórico.
+     *
+     * @param destino O arquivo de destino. Se já existir, é sobrescrito.
+     * @param formato O formato de saída.
+     * @param gzip Se true, o arquivo é compactado com gzip.
+     * @param inicio A data inicial (inclusive), ou null para não limitar.
+     * @param fim A data final (inclusive), ou null para não limitar.
+     * @return O número de vendas exportadas.
+     * @throws SQLException Se ocorrer um erro na consulta.
+     * @throws IOException Se ocorrer um erro ao gravar o arquivo.
+     */
+    public long exportarVendas(Path destino, FormatoExportacao formato, boolean gzip, LocalDate inicio, LocalDate fim) throws SQLException, IOException {
+        StringBuilder sql = new StringBuilder(
+            "SELECT v.venda_id, v.data, c_pes.cnpj_cpf, c_pes.nome AS cliente_nome, " +
+            "p.item_id, p.nome AS produto_nome, v.quantidade, v.lucro " +
+            "FROM venda v " +
+            "JOIN produto p ON v.item_id = p.item_id " +
+            "JOIN pessoa c_pes ON v.cliente_id = c_pes.pessoa_id " +
+            "WHERE 1 = 1");
+        if (inicio != null) {
+            sql.append(" AND v.data >= ?");
+        }
+        if (fim != null) {
+            sql.append(" AND v.data <= ?");
+        }
+        sql.append(" ORDER BY v.venda_id");
+
+        final int tamanhoBuffer = 64 * 1024;
+        long total = 0;
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Integer.MIN_VALUE ativa o modo streaming do Connector/J: as linhas não são carregadas todas na memória.
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            int i = 1;
+            if (inicio != null) {
+                pstmt.setObject(i++, inicio);
+            }
+            if (fim != null) {
+                pstmt.setObject(i++, fim);
+            }
+
+            // O arquivo só é aberto (e truncado) depois que a consulta foi aceita pelo banco.
+            try (ResultSet rs = pstmt.executeQuery();
+                 FileChannel arquivo = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = new BufferedWriter(Channels.newWriter(abrirCanal(arquivo, gzip, tamanhoBuffer), StandardCharsets.UTF_8), tamanhoBuffer)) {
+
+                if (formato == FormatoExportacao.CSV) {
+                    out.write("venda_id,data,cliente_cnpj_cpf,cliente_nome,item_id,produto_nome,quantidade,lucro\n");
+                }
+
+                while (rs.next()) {
+                    if (formato == FormatoExportacao.CSV) {
+                        out.write(Integer.toString(rs.getInt("venda_id")));
+                        out.write(',');
+                        out.write(rs.getString("data"));
+                        out.write(',');
+                        escreverCsv(out, rs.getString("cnpj_cpf"));
+                        out.write(',');
+                        escreverCsv(out, rs.getString("cliente_nome"));
+                        out.write(',');
+                        out.write(Integer.toString(rs.getInt("item_id")));
+                        out.write(',');
+                        escreverCsv(out, rs.getString("produto_nome"));
+                        out.write(',');
+                        out.write(Integer.toString(rs.getInt("quantidade")));
+                        out.write(',');
+                        escreverCsv(out, rs.getString("lucro"));
+                    } else {
+                        out.write("{\"venda_id\":");
+                        out.write(Integer.toString(rs.getInt("venda_id")));
+                        out.write(",\"data\":");
+                        escreverJson(out, rs.getString("data"));
+                        out.write(",\"cliente_cnpj_cpf\":");
+                        escreverJson(out, rs.getString("cnpj_cpf"));
+                        out.write(",\"cliente_nome\":");
+                        escreverJson(out, rs.getString("cliente_nome"));
+                        out.write(",\"item_id\":");
+                        out.write(Integer.toString(rs.getInt("item_id")));
+                        out.write(",\"produto_nome\":");
+                        escreverJson(out, rs.getString("produto_nome"));
+                        out.write(",\"quantidade\":");
+                        out.write(Integer.toString(rs.getInt("quantidade")));
+                        out.write(",\"lucro\":");
+                        String lucro = rs.getString("lucro");
+                        out.write(lucro == null ? "null" : lucro);
+                        out.write('}');
+                    }
+                    out.write('\n');
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    // Fechar o canal devolvido fecha também o arquivo (e, com gzip, grava o final do formato).
+    private static WritableByteChannel abrirCanal(FileChannel arquivo, boolean gzip, int tamanhoBuffer) throws IOException {
+        if (!gzip) {
+            return arquivo;
+        }
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(arquivo), tamanhoBuffer));
+    }
+
+    // Escreve um campo CSV: vazio quando o valor é nulo, e entre aspas somente quando o valor
+    // contém separador, aspas ou quebra de linha.
+    private static void escreverCsv(Writer out, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean precisaAspas = false;
+        for (int i = 0; i < valor.length() && !precisaAspas; i++) {
+            char c = valor.charAt(i);
+            precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!precisaAspas) {
+            out.write(valor);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static void escreverJson(Writer out, String valor) throws IOException {
+        if (valor == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
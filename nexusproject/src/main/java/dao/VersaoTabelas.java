@@ -0,0 +1,83 @@
+package dao;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Versão de alteração de cada tabela, mantida em memória.
+ * Os DAOs incrementam a versão de uma tabela após confirmar (commit) uma alteração nela;
+ * as telas guardam a versão dos dados que exibem e só recarregam quando ela muda.
+ * Alterações feitas no banco por fora da aplicação não são percebidas.
+ * <p>
+ * Os eventos de uma alteração levam a versão que a tabela passou a ter com ela (ver
+ * {@link #publicar}). Uma tela que exibe a versão {@code v} aplica o evento da versão
+ * {@code v + 1}, ignora os de versões que já leu e recarrega se perdeu alguma alteração.
+ */
+public final class VersaoTabelas {
+
+    /**
+     * Conjuntos de dados exibidos pelas telas.
+     */
+    public enum Tabela {
+        CLIENTE, PRODUTO, VENDA, MICROEMPREENDEDOR
+    }
+
+    private static final Map<Tabela, AtomicLong> VERSOES = new EnumMap<>(Tabela.class);
+
+    static {
+        for (Tabela tabela : Tabela.values()) {
+            VERSOES.put(tabela, new AtomicLong());
+        }
+    }
+
+    private VersaoTabelas() {
+    }
+
+    /**
+     * Retorna a versão atual da tabela. Espera a publicação em andamento, se houver, terminar.
+     */
+    public static synchronized long versao(Tabela tabela) {
+        return VERSOES.get(tabela).get();
+    }
+
+    /**
+     * Publica os eventos de uma alteração confirmada e incrementa a versão das tabelas alteradas.
+     * Os eventos são montados com as novas versões, que {@code eventos} obtém pela tabela, e
+     * entregues aos caches antes de as versões mudarem: quem lê uma versão já encontra os
+     * caches atualizados até ela. As alterações são publicadas uma de cada vez, na ordem das versões.
+     *
+     * @param eventos Monta e publica os eventos, recebendo a nova versão de cada tabela.
+     * @param tabelas As tabelas alteradas.
+     */
+    static synchronized void publicar(Consumer<ToLongFunction<Tabela>> eventos, Tabela... tabelas) {
+        Map<Tabela, Long> novas = new EnumMap<>(Tabela.class);
+        for (Tabela tabela : tabelas) {
+            novas.put(tabela, VERSOES.get(tabela).get() + 1);
+        }
+        try {
+            eventos.accept(tabela -> {
+                Long nova = novas.get(tabela);
+                if (nova == null) {
+                    throw new IllegalArgumentException("Tabela não alterada: " + tabela);
+                }
+                return nova;
+            });
+        } finally {
+            for (Map.Entry<Tabela, Long> nova : novas.entrySet()) {
+                VERSOES.get(nova.getKey()).set(nova.getValue());
+            }
+        }
+    }
+
+    /**
+     * Incrementa a versão das tabelas sem publicar eventos; as telas que as exibem recarregam.
+     */
+    static synchronized void incrementar(Tabela... tabelas) {
+        for (Tabela tabela : tabelas) {
+            VERSOES.get(tabela).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package evento;
+
+import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Barramento de eventos de domínio dentro da aplicação.
+ * <p>
+ * Os DAOs publicam um evento após confirmar (commit) cada alteração: venda registrada
+ * ({@link VendaRegistrada}), produto incluído, alterado ou excluído ({@link ProdutoAlterado}),
+ * o mesmo para clientes ({@link ClienteAlterado}) e novo caixa do microempreendedor
+ * ({@link CaixaAlterado}). Caches e telas se inscrevem pelo tipo do evento e aplicam a
+ * alteração ao que já têm em memória, sem consultar o banco.
+ * <p>
+ * Os eventos carregam os objetos gravados pelo DAO e devem ser tratados como somente leitura:
+ * quem precisar alterá-los deve fazer uma cópia. Cada evento traz também a versão que a tabela
+ * alterada passou a ter ({@code VersaoTabelas}), para que uma tela saiba se ele já está
+ * refletido nos dados que leu.
+ */
+public final class BarramentoEventos {
+
+    private static final BarramentoEventos INSTANCIA = new BarramentoEventos();
+    private static final Logger LOGGER = Logger.getLogger(BarramentoEventos.class.getName());
+
+    /**
+     * Recebe os eventos de um tipo.
+     */
+    @FunctionalInterface
+    public interface Ouvinte<E> {
+        void aoReceber(E evento);
+    }
+
+    private final Map<Class<?>, CopyOnWriteArrayList<Ouvinte<Object>>> ouvintes = new ConcurrentHashMap<>();
+
+    private BarramentoEventos() {
+    }
+
+    public static BarramentoEventos getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Inscreve um ouvinte, chamado na própria thread que publica o evento, logo após o commit.
+     * Serve para caches, que precisam estar atualizados antes de a operação retornar.
+     *
+     * @param tipo A classe do evento.
+     * @param ouvinte Chamado a cada evento publicado do tipo.
+     * @return A inscrição, que pode ser cancelada.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Inscricao inscrever(Class<E> tipo, Ouvinte<? super E> ouvinte) {
+        Ouvinte<Object> registrado = evento -> ((Ouvinte<Object>) ouvinte).aoReceber(evento);
+        ouvintes.computeIfAbsent(tipo, t -> new CopyOnWriteArrayList<>()).add(registrado);
+        return new Inscricao(tipo, registrado);
+    }
+
+    /**
+     * Inscreve um ouvinte de uma tela. Ele é chamado na thread de eventos do Swing, onde pode
+     * alterar componentes. A inscrição acompanha a janela: é suspensa quando ela é ocultada,
+     * retomada quando volta a ser exibida e cancelada quando é descartada (dispose). Ao ser
+     * exibida de novo, a tela deve comparar a versão dos seus dados com a atual, porque os
+     * eventos publicados enquanto ela estava oculta não são entregues.
+     *
+     * @param janela A janela dona do ouvinte.
+     * @param tipo A classe do evento.
+     * @param ouvinte Chamado a cada evento publicado do tipo.
+     * @return A inscrição, que pode ser cancelada.
+     */
+    public <E> Inscricao inscreverNaTela(Window janela, Class<E> tipo, Ouvinte<? super E> ouvinte) {
+        Inscricao inscricao = inscrever(tipo, evento -> SwingUtilities.invokeLater(() -> ouvinte.aoReceber(evento)));
+        janela.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent evt) {
+                inscricao.retomar();
+            }
+
+            @Override
+            public void componentHidden(ComponentEvent evt) {
+                inscricao.cancelar();
+            }
+        });
+        janela.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent evt) {
+                inscricao.cancelar();
+            }
+        });
+        return inscricao;
+    }
+
+    /**
+     * Entrega o evento aos ouvintes inscritos no seu tipo. Uma falha em um ouvinte é registrada
+     * no log e não impede a entrega aos demais, nem desfaz a operação já confirmada.
+     */
+    public void publicar(Object evento) {
+        CopyOnWriteArrayList<Ouvinte<Object>> inscritos = ouvintes.get(evento.getClass());
+        if (inscritos == null) {
+            return;
+        }
+        for (Ouvinte<Object> ouvinte : inscritos) {
+            try {
+                ouvinte.aoReceber(evento);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Falha ao tratar o evento " + evento, ex);
+            }
+        }
+    }
+
+    /**
+     * Inscrição de um ouvinte no barramento.
+     */
+    public final class Inscricao {
+
+        private final Class<?> tipo;
+        private final Ouvinte<Object> ouvinte;
+
+        private Inscricao(Class<?> tipo, Ouvinte<Object> ouvinte) {
+            this.tipo = tipo;
+            this.ouvinte = ouvinte;
+        }
+
+        /**
+         * Deixa de receber os eventos. Eventos já agendados na thread de eventos ainda podem chegar.
+         */
+        public void cancelar() {
+            CopyOnWriteArrayList<Ouvinte<Object>> inscritos = ouvintes.get(tipo);
+            if (inscritos != null) {
+                inscritos.remove(ouvinte);
+            }
+        }
+
+        /**
+         * Volta a receber os eventos após {@link #cancelar()}; não faz nada se a inscrição está ativa.
+         */
+        public void retomar() {
+            ouvintes.computeIfAbsent(tipo, t -> new CopyOnWriteArrayList<>()).addIfAbsent(ouvinte);
+        }
+    }
+}
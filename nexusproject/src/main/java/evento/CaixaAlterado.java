@@ -0,0 +1,37 @@
+package evento;
+
+import model.Dinheiro;
+
+/**
+ * O caixa do microempreendedor mudou.
+ */
+public final class CaixaAlterado {
+
+    private final Dinheiro caixa;
+    private final long versao;
+
+    /**
+     * @param caixa O novo valor do caixa.
+     * @param versao A versão do microempreendedor após a alteração.
+     */
+    public CaixaAlterado(Dinheiro caixa, long versao) {
+        this.caixa = caixa;
+        this.versao = versao;
+    }
+
+    public Dinheiro getCaixa() {
+        return caixa;
+    }
+
+    /**
+     * A versão do microempreendedor após a alteração (ver {@code VersaoTabelas}).
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    @Override
+    public String toString() {
+        return "CaixaAlterado{" + "caixa=" + caixa + ", versao=" + versao + '}';
+    }
+}
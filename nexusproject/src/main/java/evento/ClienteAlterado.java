@@ -0,0 +1,51 @@
+package evento;
+
+import model.Cliente;
+
+/**
+ * Um cliente foi incluído, alterado ou excluído.
+ */
+public final class ClienteAlterado {
+
+    private final String identificador;
+    private final Cliente cliente;
+    private final long versao;
+
+    /**
+     * @param identificador O CPF/CNPJ do cliente.
+     * @param cliente Os dados gravados, ou null se o cliente foi excluído.
+     * @param versao A versão da tabela de clientes após a alteração.
+     */
+    public ClienteAlterado(String identificador, Cliente cliente, long versao) {
+        this.identificador = identificador;
+        this.cliente = cliente;
+        this.versao = versao;
+    }
+
+    public String getIdentificador() {
+        return identificador;
+    }
+
+    /**
+     * Os dados gravados do cliente, ou null se ele foi excluído.
+     */
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    /**
+     * A versão da tabela de clientes após a alteração (ver {@code VersaoTabelas}).
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    public boolean isExcluido() {
+        return cliente == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ClienteAlterado{" + "identificador=" + identificador + ", excluido=" + isExcluido() + ", versao=" + versao + '}';
+    }
+}
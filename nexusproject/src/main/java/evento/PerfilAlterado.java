@@ -0,0 +1,38 @@
+package evento;
+
+import model.Microempreendedor;
+
+/**
+ * O perfil do microempreendedor foi cadastrado ou atualizado.
+ * Na atualização, o caixa do objeto não é gravado; ele muda apenas por {@link CaixaAlterado}.
+ */
+public final class PerfilAlterado {
+
+    private final Microempreendedor microempreendedor;
+    private final long versao;
+
+    /**
+     * @param microempreendedor Os dados gravados.
+     * @param versao A versão do microempreendedor após a alteração.
+     */
+    public PerfilAlterado(Microempreendedor microempreendedor, long versao) {
+        this.microempreendedor = microempreendedor;
+        this.versao = versao;
+    }
+
+    public Microempreendedor getMicroempreendedor() {
+        return microempreendedor;
+    }
+
+    /**
+     * A versão do microempreendedor após a alteração (ver {@code VersaoTabelas}).
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    @Override
+    public String toString() {
+        return "PerfilAlterado{" + "microempreendedor=" + microempreendedor + ", versao=" + versao + '}';
+    }
+}
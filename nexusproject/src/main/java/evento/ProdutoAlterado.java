@@ -0,0 +1,51 @@
+package evento;
+
+import model.Produto;
+
+/**
+ * Um produto foi incluído, alterado ou excluído.
+ */
+public final class ProdutoAlterado {
+
+    private final int produtoId;
+    private final Produto produto;
+    private final long versao;
+
+    /**
+     * @param produtoId O ID do produto.
+     * @param produto Os dados gravados, ou null se o produto foi excluído.
+     * @param versao A versão da tabela de produtos após a alteração.
+     */
+    public ProdutoAlterado(int produtoId, Produto produto, long versao) {
+        this.produtoId = produtoId;
+        this.produto = produto;
+        this.versao = versao;
+    }
+
+    public int getProdutoId() {
+        return produtoId;
+    }
+
+    /**
+     * Os dados gravados do produto, ou null se ele foi excluído.
+     */
+    public Produto getProduto() {
+        return produto;
+    }
+
+    /**
+     * A versão da tabela de produtos após a alteração (ver {@code VersaoTabelas}).
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    public boolean isExcluido() {
+        return produto == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ProdutoAlterado{" + "produtoId=" + produtoId + ", excluido=" + isExcluido() + ", versao=" + versao + '}';
+    }
+}
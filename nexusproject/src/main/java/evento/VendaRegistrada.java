@@ -0,0 +1,48 @@
+package evento;
+
+import model.Venda;
+
+/**
+ * Uma venda foi registrada. A venda traz o ID gerado, o lucro calculado, o produto e o cliente;
+ * o estoque do produto diminuiu na quantidade vendida.
+ */
+public final class VendaRegistrada {
+
+    private final Venda venda;
+    private final long versaoVendas;
+    private final long versaoProdutos;
+
+    /**
+     * @param venda A venda gravada.
+     * @param versaoVendas A versão da tabela de vendas após o registro.
+     * @param versaoProdutos A versão da tabela de produtos após a baixa de estoque.
+     */
+    public VendaRegistrada(Venda venda, long versaoVendas, long versaoProdutos) {
+        this.venda = venda;
+        this.versaoVendas = versaoVendas;
+        this.versaoProdutos = versaoProdutos;
+    }
+
+    public Venda getVenda() {
+        return venda;
+    }
+
+    /**
+     * A versão da tabela de vendas após o registro (ver {@code VersaoTabelas}).
+     */
+    public long getVersaoVendas() {
+        return versaoVendas;
+    }
+
+    /**
+     * A versão da tabela de produtos após a baixa de estoque (ver {@code VersaoTabelas}).
+     */
+    public long getVersaoProdutos() {
+        return versaoProdutos;
+    }
+
+    @Override
+    public String toString() {
+        return "VendaRegistrada{" + "venda=" + venda.getId() + ", versaoVendas=" + versaoVendas + ", versaoProdutos=" + versaoProdutos + '}';
+    }
+}
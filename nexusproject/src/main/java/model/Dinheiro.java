@@ -0,0 +1,105 @@
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável, guardado como um número inteiro de centavos.
+ * <p>
+ * Substitui o BigDecimal nos preços, lucros e no caixa: somas e multiplicações são feitas
+ * sobre um {@code long}, sem criar objetos intermediários, e a conta é exata. Uma operação
+ * cujo resultado não cabe em um {@code long} lança {@link ArithmeticException}, em vez de
+ * produzir um valor errado.
+ * <p>
+ * A conversão de e para BigDecimal fica restrita às bordas: leitura e gravação no banco
+ * (colunas DECIMAL com duas casas) e texto digitado pelo usuário.
+ */
+public final class Dinheiro implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    /**
+     * Cria o valor a partir de uma quantia em centavos.
+     */
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Converte um BigDecimal, arredondando para duas casas (metade para cima).
+     *
+     * @throws ArithmeticException Se o valor não couber em um long de centavos.
+     */
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Converte o texto digitado (por exemplo, "12.50"), arredondando para duas casas.
+     *
+     * @throws NumberFormatException Se o texto não for um número.
+     */
+    public static Dinheiro parse(String texto) {
+        return de(new BigDecimal(texto.trim()));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro multiplicar(long fator) {
+        return deCentavos(Math.multiplyExact(centavos, fator));
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Texto para exibição, no formato "R$ 12,50" (separador decimal da localidade padrão).
+     */
+    public String formatar() {
+        return String.format("R$ %.2f", toBigDecimal());
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Dinheiro && ((Dinheiro) obj).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /**
+     * O valor com duas casas decimais e ponto, por exemplo "12.50", aceito por {@link #parse}.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
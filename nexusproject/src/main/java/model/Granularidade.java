@@ -0,0 +1,68 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+
+public enum Granularidade {
+
+    DIA("Diária"),
+    SEMANA("Semanal"),
+    MES("Mensal");
+
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    private final String descricao;
+
+    Granularidade(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Retorna a data de início do período que contém a data informada.
+     * Semanas começam na segunda-feira.
+     */
+    public LocalDate inicioDoPeriodo(LocalDate data) {
+        switch (this) {
+            case SEMANA:
+                return data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES:
+                return data.withDayOfMonth(1);
+            default:
+                return data;
+        }
+    }
+
+    public LocalDate proximoPeriodo(LocalDate inicio) {
+        switch (this) {
+            case SEMANA:
+                return inicio.plusWeeks(1);
+            case MES:
+                return inicio.plusMonths(1);
+            default:
+                return inicio.plusDays(1);
+        }
+    }
+
+    public String rotular(LocalDate inicio) {
+        switch (this) {
+            case SEMANA:
+                return "Semana de " + inicio.format(FORMATO_DIA);
+            case MES:
+                return inicio.format(FORMATO_MES);
+            default:
+                return inicio.format(FORMATO_DIA);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
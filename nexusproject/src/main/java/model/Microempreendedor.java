@@ -1,17 +1,15 @@
 package model;
 
-import java.math.BigDecimal;
-
 public class Microempreendedor extends Pessoa{
     
     private String senha;
     private String login;
-    private BigDecimal caixa;
+    private Dinheiro caixa;
 
     public Microempreendedor() {
     }
 
-    public Microempreendedor(String senha, String login, BigDecimal caixa, String identificador, String nome, String email, Endereco endereco) {
+    public Microempreendedor(String senha, String login, Dinheiro caixa, String identificador, String nome, String email, Endereco endereco) {
         super(identificador, nome, email, endereco);
         this.senha = senha;
         this.login = login;
@@ -34,11 +32,11 @@ public class Microempreendedor extends Pessoa{
         this.login = login;
     }
 
-    public BigDecimal getCaixa() {
+    public Dinheiro getCaixa() {
         return caixa;
     }
 
-    public void setCaixa(BigDecimal caixa) {
+    public void setCaixa(Dinheiro caixa) {
         this.caixa = caixa;
     }
     
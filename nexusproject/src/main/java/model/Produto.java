@@ -1,20 +1,18 @@
 package model;
 
-import java.math.BigDecimal;
-
 public class Produto {
     
     private int produtoId;
     private String nome;
-    private BigDecimal precoUnitario;
+    private Dinheiro precoUnitario;
     private int quantidade;
     private String categoria;
-    private BigDecimal precoCusto;
+    private Dinheiro precoCusto;
 
     public Produto() {
     }
 
-    public Produto(String nome, BigDecimal precoUnitario, int quantidade, String categoria, BigDecimal precoCusto) {
+    public Produto(String nome, Dinheiro precoUnitario, int quantidade, String categoria, Dinheiro precoCusto) {
         //this.produtoId = produtoId;
         this.nome = nome;
         this.precoUnitario = precoUnitario;
@@ -23,7 +21,7 @@ public class Produto {
         this.precoCusto = precoCusto;
     }
 
-    public Produto(int produtoId, String nome, BigDecimal precoUnitario, int quantidade, String categoria, BigDecimal precoCusto) {
+    public Produto(int produtoId, String nome, Dinheiro precoUnitario, int quantidade, String categoria, Dinheiro precoCusto) {
         this.produtoId = produtoId;
         this.nome = nome;
         this.precoUnitario = precoUnitario;
@@ -50,11 +48,11 @@ public class Produto {
         this.nome = nome;
     }
 
-    public BigDecimal getPrecoUnitario() {
+    public Dinheiro getPrecoUnitario() {
         return precoUnitario;
     }
 
-    public void setPrecoUnitario(BigDecimal precoUnitario) {
+    public void setPrecoUnitario(Dinheiro precoUnitario) {
         this.precoUnitario = precoUnitario;
     }
 
@@ -74,11 +72,11 @@ public class Produto {
         this.categoria = categoria;
     }
 
-    public BigDecimal getPrecoCusto() {
+    public Dinheiro getPrecoCusto() {
         return precoCusto;
     }
 
-    public void setPrecoCusto(BigDecimal precoCusto) {
+    public void setPrecoCusto(Dinheiro precoCusto) {
         this.precoCusto = precoCusto;
     }
 
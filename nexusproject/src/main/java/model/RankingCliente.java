@@ -0,0 +1,68 @@
+package model;
+
+import java.time.LocalDate;
+
+public class RankingCliente {
+
+    private String identificador;
+    private String nome;
+    private LocalDate ultimaCompra;
+    private int totalCompras;
+    private Dinheiro lucroTotal;
+
+    public RankingCliente() {
+    }
+
+    public RankingCliente(String identificador, String nome, LocalDate ultimaCompra, int totalCompras, Dinheiro lucroTotal) {
+        this.identificador = identificador;
+        this.nome = nome;
+        this.ultimaCompra = ultimaCompra;
+        this.totalCompras = totalCompras;
+        this.lucroTotal = lucroTotal;
+    }
+
+    public String getIdentificador() {
+        return identificador;
+    }
+
+    public void setIdentificador(String identificador) {
+        this.identificador = identificador;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public LocalDate getUltimaCompra() {
+        return ultimaCompra;
+    }
+
+    public void setUltimaCompra(LocalDate ultimaCompra) {
+        this.ultimaCompra = ultimaCompra;
+    }
+
+    public int getTotalCompras() {
+        return totalCompras;
+    }
+
+    public void setTotalCompras(int totalCompras) {
+        this.totalCompras = totalCompras;
+    }
+
+    public Dinheiro getLucroTotal() {
+        return lucroTotal;
+    }
+
+    public void setLucroTotal(Dinheiro lucroTotal) {
+        this.lucroTotal = lucroTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "RankingCliente{" + "identificador=" + identificador + ", nome=" + nome + ", ultimaCompra=" + ultimaCompra + ", totalCompras=" + totalCompras + ", lucroTotal=" + lucroTotal + '}';
+    }
+}
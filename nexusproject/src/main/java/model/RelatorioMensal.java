@@ -0,0 +1,41 @@
+package model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+public class RelatorioMensal {
+
+    private final YearMonth mes;
+    private final Dinheiro lucroTotal;
+    private final String produtoMaisVendido;
+    private final List<Venda> vendas;
+
+    public RelatorioMensal(YearMonth mes, Dinheiro lucroTotal, String produtoMaisVendido, List<Venda> vendas) {
+        this.mes = mes;
+        this.lucroTotal = lucroTotal;
+        this.produtoMaisVendido = produtoMaisVendido;
+        this.vendas = Collections.unmodifiableList(vendas);
+    }
+
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    public Dinheiro getLucroTotal() {
+        return lucroTotal;
+    }
+
+    public String getProdutoMaisVendido() {
+        return produtoMaisVendido;
+    }
+
+    public List<Venda> getVendas() {
+        return vendas;
+    }
+
+    @Override
+    public String toString() {
+        return "RelatorioMensal{" + "mes=" + mes + ", lucroTotal=" + lucroTotal + ", produtoMaisVendido=" + produtoMaisVendido + ", vendas=" + vendas.size() + '}';
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.time.LocalDate;
+
+public class ResumoPeriodo {
+
+    private LocalDate inicio;
+    private String rotulo;
+    private Dinheiro lucro;
+    private long unidades;
+    private String produtoMaisVendido;
+
+    public ResumoPeriodo() {
+    }
+
+    public ResumoPeriodo(LocalDate inicio, String rotulo, Dinheiro lucro, long unidades, String produtoMaisVendido) {
+        this.inicio = inicio;
+        this.rotulo = rotulo;
+        this.lucro = lucro;
+        this.unidades = unidades;
+        this.produtoMaisVendido = produtoMaisVendido;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    public void setRotulo(String rotulo) {
+        this.rotulo = rotulo;
+    }
+
+    public Dinheiro getLucro() {
+        return lucro;
+    }
+
+    public void setLucro(Dinheiro lucro) {
+        this.lucro = lucro;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public void setUnidades(long unidades) {
+        this.unidades = unidades;
+    }
+
+    public String getProdutoMaisVendido() {
+        return produtoMaisVendido;
+    }
+
+    public void setProdutoMaisVendido(String produtoMaisVendido) {
+        this.produtoMaisVendido = produtoMaisVendido;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoPeriodo{" + "rotulo=" + rotulo + ", lucro=" + lucro + ", unidades=" + unidades + ", produtoMaisVendido=" + produtoMaisVendido + '}';
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+/**
+ * Totais de vendas de um grupo (uma categoria ou um produto) em um período.
+ */
+public class ResumoVendas {
+
+    private String descricao;
+    private long unidades;
+    private Dinheiro receita;
+    private Dinheiro lucro;
+
+    public ResumoVendas() {
+    }
+
+    public ResumoVendas(String descricao, long unidades, Dinheiro receita, Dinheiro lucro) {
+        this.descricao = descricao;
+        this.unidades = unidades;
+        this.receita = receita;
+        this.lucro = lucro;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public void setUnidades(long unidades) {
+        this.unidades = unidades;
+    }
+
+    public Dinheiro getReceita() {
+        return receita;
+    }
+
+    public void setReceita(Dinheiro receita) {
+        this.receita = receita;
+    }
+
+    public Dinheiro getLucro() {
+        return lucro;
+    }
+
+    public void setLucro(Dinheiro lucro) {
+        this.lucro = lucro;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoVendas{" + "descricao=" + descricao + ", unidades=" + unidades + ", receita=" + receita + ", lucro=" + lucro + '}';
+    }
+}
@@ -1,6 +1,5 @@
 package model;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public class Venda {
@@ -8,7 +7,7 @@ public class Venda {
     private int id;
     private LocalDate dataVenda;
     private int quantidade;
-    private BigDecimal valorTotal;
+    private Dinheiro valorTotal;
     private Cliente cliente;
     private Produto produto;
 
@@ -46,11 +45,11 @@ public class Venda {
         this.quantidade = quantidade;
     }
 
-    public BigDecimal getValorTotal() {
+    public Dinheiro getValorTotal() {
         return valorTotal;
     }
 
-    public void setValorTotal(BigDecimal valorTotal) {
+    public void setValorTotal(Dinheiro valorTotal) {
         this.valorTotal = valorTotal;
     }
 
@@ -70,11 +69,10 @@ public class Venda {
         this.produto = produto;
     }
 
-    public BigDecimal calcularLucro() {
-        BigDecimal precoUnitario = produto.getPrecoUnitario();
-        BigDecimal precoCusto = produto.getPrecoCusto();
-        BigDecimal lucroPorUnidade = precoUnitario.subtract(precoCusto);
-        return lucroPorUnidade.multiply(new BigDecimal(this.quantidade));
+    // A conta é feita em centavos; só o resultado vira um objeto.
+    public Dinheiro calcularLucro() {
+        long lucroPorUnidade = Math.subtractExact(produto.getPrecoUnitario().getCentavos(), produto.getPrecoCusto().getCentavos());
+        return Dinheiro.deCentavos(Math.multiplyExact(lucroPorUnidade, quantidade));
     }
     
     @Override
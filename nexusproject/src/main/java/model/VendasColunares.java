@@ -0,0 +1,176 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lista de vendas guardada por colunas, para exibir grandes volumes com pouca memória.
+ * <p>
+ * Em vez de um objeto Venda (com Cliente, Endereco e Produto) por linha, cada coluna é um
+ * vetor de tipo primitivo: datas como dia do calendário, lucro em centavos. Os textos que se
+ * repetem entre linhas (CPF/CNPJ do cliente e nome do produto) são guardados uma única vez
+ * num dicionário, e as linhas guardam apenas o código da entrada. Os vetores são divididos
+ * em blocos de tamanho fixo, que nunca são copiados ao crescer.
+ * <p>
+ * Uma única thread acrescenta linhas; outras threads podem ler, ao mesmo tempo, as linhas já
+ * publicadas por {@link #publicar()}.
+ */
+public final class VendasColunares {
+
+    private static final int BITS_BLOCO = 16;
+    private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+
+    private int[][] ids = new int[0][];
+    private int[][] clientes = new int[0][];
+    private int[][] produtoIds = new int[0][];
+    private int[][] produtoNomes = new int[0][];
+    private int[][] quantidades = new int[0][];
+    private int[][] datas = new int[0][];
+    private long[][] lucros = new long[0][];
+
+    private final Dicionario dicionarioClientes = new Dicionario();
+    private final Dicionario dicionarioProdutos = new Dicionario();
+
+    // Linhas escritas (visíveis só para a thread que escreve) e linhas publicadas.
+    private int escritas = 0;
+    private volatile int publicadas = 0;
+    private volatile Runnable aoPublicar;
+
+    /**
+     * Número de linhas publicadas, que podem ser lidas por qualquer thread.
+     */
+    public int tamanho() {
+        return publicadas;
+    }
+
+    /**
+     * Define a ação executada, na thread que escreve, a cada publicação de linhas.
+     */
+    public void setAoPublicar(Runnable aoPublicar) {
+        this.aoPublicar = aoPublicar;
+    }
+
+    /**
+     * Acrescenta uma venda. A linha só fica visível para outras threads após {@link #publicar()}.
+     *
+     * @param lucroCentavos O lucro da venda, em centavos.
+     */
+    public void adicionar(int vendaId, String clienteId, int produtoId, String produtoNome,
+                          int quantidade, LocalDate data, long lucroCentavos) {
+        int linha = escritas;
+        int bloco = linha >>> BITS_BLOCO;
+        if (bloco == ids.length) {
+            criarBloco();
+        }
+        int pos = linha & MASCARA_BLOCO;
+        ids[bloco][pos] = vendaId;
+        clientes[bloco][pos] = dicionarioClientes.codigo(clienteId);
+        produtoIds[bloco][pos] = produtoId;
+        produtoNomes[bloco][pos] = dicionarioProdutos.codigo(produtoNome);
+        quantidades[bloco][pos] = quantidade;
+        datas[bloco][pos] = data == null ? Integer.MIN_VALUE : (int) data.toEpochDay();
+        lucros[bloco][pos] = lucroCentavos;
+        escritas = linha + 1;
+    }
+
+    /**
+     * Acrescenta uma venda completa, como as devolvidas pelo VendaDAO.
+     */
+    public void adicionar(Venda venda) {
+        long lucro = venda.getValorTotal() == null ? 0 : venda.getValorTotal().getCentavos();
+        adicionar(venda.getId(), venda.getCliente().getIdentificador(), venda.getProduto().getProdutoId(),
+                venda.getProduto().getNome(), venda.getQuantidade(), venda.getDataVenda(), lucro);
+    }
+
+    /**
+     * Torna visíveis para as demais threads todas as linhas acrescentadas até agora.
+     */
+    public void publicar() {
+        publicadas = escritas;
+        Runnable acao = aoPublicar;
+        if (acao != null) {
+            acao.run();
+        }
+    }
+
+    public int getVendaId(int linha) {
+        return ids[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO];
+    }
+
+    public String getClienteId(int linha) {
+        return dicionarioClientes.valor(clientes[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO]);
+    }
+
+    public int getProdutoId(int linha) {
+        return produtoIds[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO];
+    }
+
+    public String getProdutoNome(int linha) {
+        return dicionarioProdutos.valor(produtoNomes[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO]);
+    }
+
+    public int getQuantidade(int linha) {
+        return quantidades[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO];
+    }
+
+    public LocalDate getData(int linha) {
+        int dia = datas[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO];
+        return dia == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(dia);
+    }
+
+    public long getLucroCentavos(int linha) {
+        return lucros[linha >>> BITS_BLOCO][linha & MASCARA_BLOCO];
+    }
+
+    public Dinheiro getLucro(int linha) {
+        return Dinheiro.deCentavos(getLucroCentavos(linha));
+    }
+
+    // Os vetores externos são substituídos por cópias maiores; como a referência nova é
+    // gravada antes da publicação das linhas do bloco, quem lê sempre encontra o bloco.
+    private void criarBloco() {
+        int n = ids.length + 1;
+        ids = Arrays.copyOf(ids, n);
+        clientes = Arrays.copyOf(clientes, n);
+        produtoIds = Arrays.copyOf(produtoIds, n);
+        produtoNomes = Arrays.copyOf(produtoNomes, n);
+        quantidades = Arrays.copyOf(quantidades, n);
+        datas = Arrays.copyOf(datas, n);
+        lucros = Arrays.copyOf(lucros, n);
+        ids[n - 1] = new int[TAMANHO_BLOCO];
+        clientes[n - 1] = new int[TAMANHO_BLOCO];
+        produtoIds[n - 1] = new int[TAMANHO_BLOCO];
+        produtoNomes[n - 1] = new int[TAMANHO_BLOCO];
+        quantidades[n - 1] = new int[TAMANHO_BLOCO];
+        datas[n - 1] = new int[TAMANHO_BLOCO];
+        lucros[n - 1] = new long[TAMANHO_BLOCO];
+    }
+
+    // Associa cada texto distinto a um código sequencial. O vetor de valores só é substituído
+    // por cópias que contêm todos os valores anteriores.
+    private static final class Dicionario {
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private String[] valores = new String[16];
+
+        int codigo(String valor) {
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = codigos.size();
+                if (codigo == valores.length) {
+                    valores = Arrays.copyOf(valores, codigo * 2);
+                }
+                valores[codigo] = valor;
+                codigos.put(valor, codigo);
+            }
+            return codigo;
+        }
+
+        String valor(int codigo) {
+            return valores[codigo];
+        }
+    }
+}
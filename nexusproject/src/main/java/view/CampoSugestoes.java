@@ -0,0 +1,180 @@
+package view;
+
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * Lista de sugestões exibida abaixo de um campo de texto enquanto o usuário digita.
+ * <p>
+ * A busca só é feita após uma pausa na digitação, para não consultar a cada tecla.
+ * As setas percorrem as sugestões, Enter ou um clique escolhe uma e Esc fecha a lista.
+ * A busca roda na thread de eventos, portanto deve ser feita em memória.
+ *
+ * @param <T> O tipo de item sugerido.
+ */
+public class CampoSugestoes<T> {
+
+    public static final int ATRASO_PADRAO_MS = 200;
+    private static final int LINHAS_VISIVEIS = 10;
+
+    /**
+     * Retorna as sugestões para o texto digitado.
+     */
+    @FunctionalInterface
+    public interface Busca<T> {
+        List<T> buscar(String texto);
+    }
+
+    /**
+     * Recebe a sugestão escolhida pelo usuário.
+     */
+    @FunctionalInterface
+    public interface Selecao<T> {
+        void aoSelecionar(T item);
+    }
+
+    private final JTextField campo;
+    private final Busca<T> busca;
+    private final Selecao<T> selecao;
+    private final DefaultListModel<T> sugestoes = new DefaultListModel<>();
+    private final JList<T> lista = new JList<>(sugestoes);
+    private final JPopupMenu popup = new JPopupMenu();
+    private final Timer atraso;
+    // Ligado enquanto a seleção altera o próprio campo, para não disparar outra busca.
+    private boolean selecionando = false;
+
+    /**
+     * Instala a lista de sugestões no campo.
+     *
+     * @param campo O campo em que o usuário digita.
+     * @param busca Produz as sugestões para o texto do campo.
+     * @param selecao Chamada com a sugestão escolhida.
+     */
+    public CampoSugestoes(JTextField campo, Busca<T> busca, Selecao<T> selecao) {
+        this.campo = campo;
+        this.busca = busca;
+        this.selecao = selecao;
+        this.atraso = new Timer(ATRASO_PADRAO_MS, evt -> buscar());
+        atraso.setRepeats(false);
+
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent evt) {
+                agendarBusca();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent evt) {
+                agendarBusca();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent evt) {
+                agendarBusca();
+            }
+        });
+        campo.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent evt) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                switch (evt.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        moverSelecao(1);
+                        evt.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        moverSelecao(-1);
+                        evt.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        selecionar();
+                        evt.consume();
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+
+        lista.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        lista.setFocusable(false);
+        lista.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent evt) {
+                selecionar();
+            }
+        });
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(lista));
+    }
+
+    /**
+     * Define como cada sugestão é desenhada. Por padrão, é usado o {@code toString()} do item.
+     */
+    public void setRenderer(ListCellRenderer<? super T> renderer) {
+        lista.setCellRenderer(renderer);
+    }
+
+    private void agendarBusca() {
+        if (!selecionando) {
+            atraso.restart();
+        }
+    }
+
+    private void buscar() {
+        String texto = campo.getText().trim();
+        List<T> encontrados = texto.isEmpty() ? List.of() : busca.buscar(texto);
+        sugestoes.clear();
+        sugestoes.addAll(encontrados);
+        if (encontrados.isEmpty()) {
+            popup.setVisible(false);
+            return;
+        }
+        lista.setSelectedIndex(0);
+        lista.setVisibleRowCount(Math.min(encontrados.size(), LINHAS_VISIVEIS));
+        popup.pack();
+        if (!popup.isVisible()) {
+            popup.show(campo, 0, campo.getHeight());
+        }
+        campo.requestFocusInWindow();
+    }
+
+    private void moverSelecao(int deslocamento) {
+        int indice = Math.floorMod(lista.getSelectedIndex() + deslocamento, sugestoes.size());
+        lista.setSelectedIndex(indice);
+        lista.ensureIndexIsVisible(indice);
+    }
+
+    private void selecionar() {
+        T escolhido = lista.getSelectedValue();
+        if (escolhido == null) {
+            return;
+        }
+        popup.setVisible(false);
+        atraso.stop();
+        selecionando = true;
+        try {
+            selecao.aoSelecionar(escolhido);
+        } finally {
+            selecionando = false;
+        }
+    }
+}
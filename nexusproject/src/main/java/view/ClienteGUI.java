@@ -4,11 +4,25 @@
  */
 package view;
 
+import cache.IndiceClientes;
 import dao.ClienteDAO;
+import dao.FiltroCliente;
+import dao.OrdenacaoCliente;
+import dao.VersaoTabelas;
+import evento.BarramentoEventos;
+import evento.ClienteAlterado;
+import java.awt.GridLayout;
 import java.sql.SQLException;
+import java.util.Comparator;
 import java.util.List;
+import javax.swing.Box;
+import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
 import model.Cliente;
 import model.Endereco;
 
@@ -17,8 +31,88 @@ public class ClienteGUI extends javax.swing.JFrame {
     /**
      * Creates new form ClienteGUIteste
      */
+    // Versão da tabela exibida; a tela só recarrega ao ser ativada se ela tiver mudado.
+    private final VersaoExibida versaoExibida = new VersaoExibida(this, VersaoTabelas.Tabela.CLIENTE, this::listarTab);
+
+    // Busca por digitação, com sugestões vindas do índice de clientes.
+    private final JTextField cxBusca = new JTextField(18);
+
+    // Filtro aplicado pelo banco à listagem.
+    private FiltroCliente filtro = new FiltroCliente();
+
+    private final PaginacaoTableModel<Cliente> modelo = new PaginacaoTableModel<Cliente>(
+            new String[]{"ID", "Nome", "Email", "Telefone", "Cidade", "Rua", "Bairro", "Numero", "Complemento"}) {
+
+        private OrdenacaoCliente ordem = OrdenacaoCliente.NOME;
+        private boolean decrescente = false;
+
+        @Override
+        protected List<Cliente> carregarPagina(Cliente ultimo, int limite) throws SQLException {
+            return new ClienteDAO().listarClientesPagina(ordem, decrescente, filtro, ultimo, limite);
+        }
+
+        @Override
+        protected Object valorColuna(Cliente cli, int coluna) {
+            switch (coluna) {
+                case 0: return cli.getIdentificador();
+                case 1: return cli.getNome();
+                case 2: return cli.getEmail();
+                case 3: return cli.getTelefone();
+                case 4: return cli.getEndereco().getCidade();
+                case 5: return cli.getEndereco().getRua();
+                case 6: return cli.getEndereco().getBairro();
+                case 7: return cli.getEndereco().getNumero();
+                default: return cli.getEndereco().getComplemento();
+            }
+        }
+
+        @Override
+        protected Object chaveDe(Cliente cli) {
+            return cli.getIdentificador();
+        }
+
+        @Override
+        protected Comparator<Cliente> comparador() {
+            return decrescente ? ordem.comparador().reversed() : ordem.comparador();
+        }
+
+        @Override
+        protected boolean aceita(Cliente cli) {
+            return filtro.aceita(cli);
+        }
+
+        // Clicar de novo na coluna já ordenada inverte a direção.
+        @Override
+        protected boolean ordenarPor(int coluna) {
+            OrdenacaoCliente nova;
+            switch (coluna) {
+                case 0: nova = OrdenacaoCliente.IDENTIFICADOR; break;
+                case 1: nova = OrdenacaoCliente.NOME; break;
+                case 4: nova = OrdenacaoCliente.CIDADE; break;
+                default: return false;
+            }
+            decrescente = nova == ordem && !decrescente;
+            ordem = nova;
+            return true;
+        }
+
+        @Override
+        protected void aoFalhar(Exception ex) {
+            JOptionPane.showMessageDialog(ClienteGUI.this, "Erro ao listar clientes: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+        }
+
+        // A tabela ficou vazia; a próxima ativação da tela a lê de novo.
+        @Override
+        protected void aoInterromper() {
+            versaoExibida.invalidar();
+        }
+    };
+
     public ClienteGUI() {
         initComponents();
+        montarMenu();
+        modelo.instalar(tbCliente);
+        ouvirEventos();
         setLocationRelativeTo(null);
         
         tbCliente.addMouseListener(new java.awt.event.MouseAdapter() {
@@ -36,21 +130,99 @@ public class ClienteGUI extends javax.swing.JFrame {
     });
     }
     
+    // Aplica à tabela as inclusões, alterações e exclusões de clientes feitas por qualquer tela,
+    // sem reconsultar o banco. Cada evento traz a versão da tabela após a alteração.
+    private void ouvirEventos() {
+        BarramentoEventos.getInstancia().inscreverNaTela(this, ClienteAlterado.class, evento ->
+            versaoExibida.aplicar(evento.getVersao(), () -> {
+                if (evento.isExcluido()) {
+                    modelo.removerLinha(evento.getIdentificador());
+                } else {
+                    modelo.atualizarLinha(evento.getCliente());
+                }
+            }));
+    }
+
+    private void montarMenu() {
+        JMenuBar barraMenu = new JMenuBar();
+        JMenu menuRelatorios = new JMenu("Relatórios");
+        JMenuItem itemRanking = new JMenuItem("Ranking de clientes");
+        itemRanking.addActionListener(evt -> new RankingClientesGUI().setVisible(true));
+        menuRelatorios.add(itemRanking);
+        JMenu menuExibir = new JMenu("Exibir");
+        JMenuItem itemFiltrar = new JMenuItem("Filtrar...");
+        itemFiltrar.addActionListener(evt -> filtrar());
+        JMenuItem itemRemoverFiltro = new JMenuItem("Remover filtro");
+        itemRemoverFiltro.addActionListener(evt -> aplicarFiltro(new FiltroCliente()));
+        menuExibir.add(itemFiltrar);
+        menuExibir.add(itemRemoverFiltro);
+        barraMenu.add(menuExibir);
+        barraMenu.add(menuRelatorios);
+        barraMenu.add(Box.createHorizontalGlue());
+        barraMenu.add(new JLabel("Buscar: "));
+        barraMenu.add(cxBusca);
+        montarBusca();
+        setJMenuBar(barraMenu);
+        pack();
+    }
+
+    private void filtrar() {
+        JTextField cxFiltroNome = new JTextField(filtro.getNome(), 20);
+        JTextField cxFiltroCidade = new JTextField(filtro.getCidade(), 20);
+        JPanel painel = new JPanel(new GridLayout(0, 2, 5, 5));
+        painel.add(new JLabel("Nome começa com:"));
+        painel.add(cxFiltroNome);
+        painel.add(new JLabel("Cidade começa com:"));
+        painel.add(cxFiltroCidade);
+        if (JOptionPane.showConfirmDialog(this, painel, "Filtrar Clientes", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION) {
+            aplicarFiltro(new FiltroCliente(cxFiltroNome.getText(), cxFiltroCidade.getText()));
+        }
+    }
+
+    private void aplicarFiltro(FiltroCliente novo) {
+        filtro = novo;
+        setTitle(novo.isAtivo() ? "Gerenciar Cliente (filtrado)" : "Gerenciar Cliente");
+        modelo.recarregar();
+    }
+
+    private void montarBusca() {
+        cxBusca.setToolTipText("Nome, email, telefone ou CPF/CNPJ");
+        cxBusca.setMaximumSize(cxBusca.getPreferredSize());
+        // A consulta ao índice é feita em memória e leva poucos milissegundos, então roda na própria thread de eventos.
+        new CampoSugestoes<IndiceClientes.Resultado>(cxBusca,
+                texto -> IndiceClientes.getInstancia().buscar(texto, IndiceClientes.LIMITE_PADRAO),
+                this::carregarClienteEscolhido);
+    }
+
+    // Carrega o cliente escolhido na lista de sugestões para o formulário.
+    private void carregarClienteEscolhido(IndiceClientes.Resultado escolhido) {
+        cxBusca.setText("");
+        String id = escolhido.getIdentificador();
+        TarefaAssincrona.executar(this, () -> new ClienteDAO().consultarCliente(id), cliente -> {
+            if (cliente != null) {
+                preencherCampos(cliente);
+            } else {
+                JOptionPane.showMessageDialog(this, "Cliente com CPF/CNPJ " + id + " não encontrado.", "Não Encontrado", JOptionPane.WARNING_MESSAGE);
+            }
+        }, ex -> JOptionPane.showMessageDialog(this, "Erro ao consultar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
+    }
+    
     private void preencherCamposComLinhaSelecionada(int row) {
-    // Pega o modelo da tabela para acessar os dados
-    DefaultTableModel modelo = (DefaultTableModel) tbCliente.getModel();
-
-    // Pega o valor de cada coluna da linha selecionada e coloca nos campos de texto
-    // O método .toString() é usado para garantir que o valor seja uma String
-    cxID.setText(modelo.getValueAt(row, 0).toString());
-    cxNome.setText(modelo.getValueAt(row, 1).toString());
-    cxEmail.setText(modelo.getValueAt(row, 2).toString());
-    cxTelefone.setText(modelo.getValueAt(row, 3).toString());
-    cxCidade.setText(modelo.getValueAt(row, 4).toString());
-    cxRua.setText(modelo.getValueAt(row, 5).toString());
-    cxBairro.setText(modelo.getValueAt(row, 6).toString());
-    cxNumero.setText(modelo.getValueAt(row, 7).toString());
-    cxComplemento.setText(modelo.getValueAt(row, 8).toString());
+    // Pega o cliente da linha selecionada direto do modelo da tabela
+    preencherCampos(modelo.getLinha(row));
+}
+
+private void preencherCampos(Cliente cliente) {
+    // Coloca os dados do cliente nos campos de texto
+    cxID.setText(cliente.getIdentificador());
+    cxNome.setText(cliente.getNome());
+    cxEmail.setText(cliente.getEmail());
+    cxTelefone.setText(cliente.getTelefone());
+    cxCidade.setText(cliente.getEndereco().getCidade());
+    cxRua.setText(cliente.getEndereco().getRua());
+    cxBairro.setText(cliente.getEndereco().getBairro());
+    cxNumero.setText(cliente.getEndereco().getNumero());
+    cxComplemento.setText(cliente.getEndereco().getComplemento());
 
     // MUITO IMPORTANTE: Bloqueia o campo de ID para que o usuário não possa alterá-lo
     cxID.setEditable(false);
@@ -501,42 +673,42 @@ public class ClienteGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_cxNumeroActionPerformed
 
     private void btAdicionarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionarActionPerformed
-        try {
-            // 1. Cria o objeto Endereco a partir dos campos de texto.
-            Endereco endereco = new Endereco();
-            endereco.setRua(cxRua.getText());
-            endereco.setBairro(cxBairro.getText());
-            endereco.setCidade(cxCidade.getText());
-            endereco.setNumero(cxNumero.getText());
-            endereco.setComplemento(cxComplemento.getText());
-
-            // 2. Cria o objeto Cliente e associa o Endereço a ele.
-            Cliente cliente = new Cliente();
-            cliente.setNome(cxNome.getText());
-            cliente.setEmail(cxEmail.getText());
-            cliente.setTelefone(cxTelefone.getText());
-            cliente.setEndereco(endereco);
-            cliente.setIdentificador(cxID.getText());
-
-            // 3. Chama o DAO para realizar a inserção transacional.
-            ClienteDAO clienteController = new ClienteDAO();
-            clienteController.inserirCliente(cliente);
-
-            // 4. Feedback e atualização da tela.
+        // 1. Cria o objeto Endereco a partir dos campos de texto.
+        Endereco endereco = new Endereco();
+        endereco.setRua(cxRua.getText());
+        endereco.setBairro(cxBairro.getText());
+        endereco.setCidade(cxCidade.getText());
+        endereco.setNumero(cxNumero.getText());
+        endereco.setComplemento(cxComplemento.getText());
+
+        // 2. Cria o objeto Cliente e associa o Endereço a ele.
+        Cliente cliente = new Cliente();
+        cliente.setNome(cxNome.getText());
+        cliente.setEmail(cxEmail.getText());
+        cliente.setTelefone(cxTelefone.getText());
+        cliente.setEndereco(endereco);
+        cliente.setIdentificador(cxID.getText());
+
+        // 3. Chama o DAO para realizar a inserção transacional, fora da thread de eventos.
+        //    O botão fica desabilitado até a resposta, para que um duplo clique não insira duas vezes.
+        btAdicionar.setEnabled(false);
+        TarefaAssincrona.executarGravacao(this, () -> new ClienteDAO().inserirCliente(cliente), inserido -> {
+            btAdicionar.setEnabled(true);
+            // 4. Feedback. A tabela recebe o novo cliente pelo evento publicado pelo DAO.
             JOptionPane.showMessageDialog(this, "Cliente inserido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
             limpar();
-            listarTab(); // Atualiza a tabela para exibir o novo cliente.
-
-        } catch (SQLException ex) {
+        }, ex -> {
+            btAdicionar.setEnabled(true);
             ex.printStackTrace(); // Loga o erro completo no console para depuração.
 
             // 5. Fornece feedback de erro amigável e específico para o usuário.
-            if (ex.getMessage().contains("Duplicate entry")) {
+            String mensagem = String.valueOf(ex.getMessage());
+            if (mensagem.contains("Duplicate entry")) {
                 JOptionPane.showMessageDialog(this, 
                     "Erro: O CPF/CNPJ informado já está cadastrado no sistema.", 
                     "Dado Duplicado", 
                     JOptionPane.WARNING_MESSAGE);
-            } else if (ex.getMessage().contains("cannot be null")) {
+            } else if (mensagem.contains("cannot be null")) {
                  JOptionPane.showMessageDialog(this, 
                     "Erro: Todos os campos obrigatórios devem ser preenchidos.", 
                     "Campo Nulo", 
@@ -548,7 +720,7 @@ public class ClienteGUI extends javax.swing.JFrame {
                     "Erro de Banco de Dados", 
                     JOptionPane.ERROR_MESSAGE);
             }
-        }
+        });
     }//GEN-LAST:event_btAdicionarActionPerformed
 
     public void limpar(){
@@ -574,39 +746,37 @@ public class ClienteGUI extends javax.swing.JFrame {
             return; // Sai do método se nenhum cliente foi selecionado
         }
 
-        try {
-            // 2. Cria o objeto Endereco com os dados (possivelmente editados) do formulário.
-            Endereco endereco = new Endereco();
-            endereco.setRua(cxRua.getText());
-            endereco.setBairro(cxBairro.getText());
-            endereco.setCidade(cxCidade.getText());
-            endereco.setNumero(cxNumero.getText());
-            endereco.setComplemento(cxComplemento.getText());
-
-            // 3. Cria o objeto Cliente e associa o Endereço a ele.
-            Cliente cliente = new Cliente();
-            cliente.setIdentificador(cxID.getText()); // Pega o ID do campo (que está bloqueado)
-            cliente.setNome(cxNome.getText());
-            cliente.setEmail(cxEmail.getText());
-            cliente.setTelefone(cxTelefone.getText());
-            cliente.setEndereco(endereco);
-
-            // 4. Pede uma confirmação final ao usuário antes de salvar.
-            int resp = JOptionPane.showConfirmDialog(this, "Deseja salvar as alterações para o cliente " + cliente.getNome() + "?", "Confirmar Atualização", JOptionPane.YES_NO_OPTION);
-
-            if (resp == JOptionPane.YES_OPTION) {
-                // 5. Chama o DAO para realizar a atualização no banco.
-                ClienteDAO clienteController = new ClienteDAO();
-                clienteController.atualizarCliente(cliente);
-
-                // 6. Feedback e atualização da tela.
+        // 2. Cria o objeto Endereco com os dados (possivelmente editados) do formulário.
+        Endereco endereco = new Endereco();
+        endereco.setRua(cxRua.getText());
+        endereco.setBairro(cxBairro.getText());
+        endereco.setCidade(cxCidade.getText());
+        endereco.setNumero(cxNumero.getText());
+        endereco.setComplemento(cxComplemento.getText());
+
+        // 3. Cria o objeto Cliente e associa o Endereço a ele.
+        Cliente cliente = new Cliente();
+        cliente.setIdentificador(cxID.getText()); // Pega o ID do campo (que está bloqueado)
+        cliente.setNome(cxNome.getText());
+        cliente.setEmail(cxEmail.getText());
+        cliente.setTelefone(cxTelefone.getText());
+        cliente.setEndereco(endereco);
+
+        // 4. Pede uma confirmação final ao usuário antes de salvar.
+        int resp = JOptionPane.showConfirmDialog(this, "Deseja salvar as alterações para o cliente " + cliente.getNome() + "?", "Confirmar Atualização", JOptionPane.YES_NO_OPTION);
+
+        if (resp == JOptionPane.YES_OPTION) {
+            // 5. Chama o DAO para realizar a atualização no banco.
+            btAtualizar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> new ClienteDAO().atualizarCliente(cliente), atualizado -> {
+                btAtualizar.setEnabled(true);
+                // 6. Feedback. A tabela é atualizada pelo evento publicado pelo DAO.
                 JOptionPane.showMessageDialog(this, "Cliente atualizado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                 limpar();
-                listarTab(); 
-            }
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao atualizar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            }, ex -> {
+                btAtualizar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Erro ao atualizar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            });
         }
     }//GEN-LAST:event_btAtualizarActionPerformed
 
@@ -615,28 +785,9 @@ public class ClienteGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_btListarActionPerformed
 
     public void listarTab(){
-        DefaultTableModel modelo = (DefaultTableModel) tbCliente.getModel();
-        modelo.setRowCount(0);
-
-        try {
-            ClienteDAO clienteController = new ClienteDAO();
-            List<Cliente> clientes = clienteController.listarClientes();
-            for (Cliente cli : clientes) {
-                modelo.addRow(new Object[]{
-                    cli.getIdentificador(), 
-                    cli.getNome(), 
-                    cli.getEmail(), 
-                    cli.getTelefone(), 
-                    cli.getEndereco().getCidade(),
-                    cli.getEndereco().getRua(),
-                    cli.getEndereco().getBairro(),
-                    cli.getEndereco().getNumero(),
-                    cli.getEndereco().getComplemento()
-                });
-            }
-        } catch (SQLException ex) {
-             JOptionPane.showMessageDialog(this, "Erro ao listar clientes: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
+        // Recarrega apenas a primeira página; as demais são lidas conforme a rolagem.
+        versaoExibida.marcarAtual();
+        modelo.recarregar();
     }
     
     private void btSairActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btSairActionPerformed
@@ -646,7 +797,8 @@ public class ClienteGUI extends javax.swing.JFrame {
     public void sair(){
         int resp = JOptionPane.showConfirmDialog(this, "Deseja realmente sair?", "Sair", JOptionPane.YES_NO_OPTION);
         if(resp == JOptionPane.YES_OPTION){
-            dispose();
+            // Apenas oculta: a tela é reaproveitada pelo menu (ver Janelas).
+            setVisible(false);
         }
     }
     
@@ -658,14 +810,17 @@ public class ClienteGUI extends javax.swing.JFrame {
         
         int resp = JOptionPane.showConfirmDialog(this, "Tem certeza que deseja excluir o cliente com CPF/CNPJ " + id + "?", "Confirmar Exclusão", JOptionPane.YES_NO_OPTION);
         if (resp == JOptionPane.YES_OPTION) {
-            try {
-                ClienteDAO clienteController = new ClienteDAO();
-                clienteController.deletarCliente(id);
+            btDeletar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> {
+                new ClienteDAO().deletarCliente(id);
+                return null;
+            }, resultado -> {
+                btDeletar.setEnabled(true);
                 JOptionPane.showMessageDialog(this, "Cliente deletado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-                listarTab();
-            } catch (SQLException ex) {
+            }, ex -> {
+                btDeletar.setEnabled(true);
                 JOptionPane.showMessageDialog(this, "Erro ao deletar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }//GEN-LAST:event_btDeletarActionPerformed
 
@@ -675,9 +830,7 @@ public class ClienteGUI extends javax.swing.JFrame {
             return;
         }
 
-        try {
-            ClienteDAO clienteController = new ClienteDAO();
-            Cliente cliente = clienteController.consultarCliente(id);
+        TarefaAssincrona.executar(this, () -> new ClienteDAO().consultarCliente(id), cliente -> {
             if(cliente != null){
                 cxID.setText(cliente.getIdentificador());
                 cxNome.setText(cliente.getNome());
@@ -692,9 +845,7 @@ public class ClienteGUI extends javax.swing.JFrame {
                 JOptionPane.showMessageDialog(this, "Cliente com CPF/CNPJ " + id + " não encontrado.", "Não Encontrado", JOptionPane.WARNING_MESSAGE);
                 limpar();
             }
-        } catch (SQLException ex) {
-             JOptionPane.showMessageDialog(this, "Erro ao consultar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
+        }, ex -> JOptionPane.showMessageDialog(this, "Erro ao consultar cliente: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
     }//GEN-LAST:event_btConsultarActionPerformed
 
     private void cxIDActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cxIDActionPerformed
@@ -706,7 +857,7 @@ public class ClienteGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_btListar1ActionPerformed
 
     private void formWindowActivated(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_formWindowActivated
-       listarTab();
+        versaoExibida.verificar();
     }//GEN-LAST:event_formWindowActivated
 
     /**
@@ -0,0 +1,62 @@
+package view;
+
+import java.awt.Frame;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.swing.JFrame;
+import javax.swing.WindowConstants;
+
+/**
+ * Registro das telas abertas pelo menu principal.
+ * <p>
+ * Cada tela é criada na primeira vez em que é aberta e, ao ser fechada (pelo botão da janela
+ * ou pelo seu botão "Sair", que chama {@code setVisible(false)}), apenas fica oculta.
+ * Abri-la de novo exibe a mesma janela, sem montar os componentes nem reler os dados: ao ser
+ * ativada, a tela só recarrega o que mudou desde a última exibição (ver {@code VersaoTabelas}).
+ * Ao ser ocultada, a tela tem suas tarefas pendentes canceladas (ver {@link TarefaAssincrona}).
+ * Quando o menu principal é fechado, {@link #fecharTodas()} descarta todas as telas, para que
+ * nenhuma janela oculta mantenha a aplicação em execução.
+ * <p>
+ * Os métodos desta classe devem ser chamados na thread de eventos.
+ */
+final class Janelas {
+
+    private static final Map<Class<? extends JFrame>, JFrame> JANELAS = new HashMap<>();
+
+    private Janelas() {
+    }
+
+    /**
+     * Exibe a tela do tipo informado, criando-a com a fábrica se ainda não existir,
+     * e a traz para a frente.
+     *
+     * @param tipo A classe da tela.
+     * @param fabrica Cria a tela na primeira abertura.
+     * @return A tela exibida.
+     */
+    static <T extends JFrame> T abrir(Class<T> tipo, Supplier<T> fabrica) {
+        JFrame janela = JANELAS.get(tipo);
+        if (janela == null) {
+            janela = fabrica.get();
+            janela.setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
+            JANELAS.put(tipo, janela);
+        }
+        if ((janela.getExtendedState() & Frame.ICONIFIED) != 0) {
+            janela.setExtendedState(janela.getExtendedState() & ~Frame.ICONIFIED);
+        }
+        janela.setVisible(true);
+        janela.toFront();
+        return tipo.cast(janela);
+    }
+
+    /**
+     * Descarta (dispose) todas as telas registradas, visíveis ou ocultas.
+     */
+    static void fecharTodas() {
+        for (JFrame janela : JANELAS.values()) {
+            janela.dispose();
+        }
+        JANELAS.clear();
+    }
+}
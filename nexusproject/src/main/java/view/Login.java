@@ -5,7 +5,6 @@
 package view;
 
 import dao.MicroempreendedorDAO;
-import java.sql.SQLException;
 import javax.swing.JOptionPane;
 
 public class Login extends javax.swing.JFrame {
@@ -216,10 +215,10 @@ public class Login extends javax.swing.JFrame {
         String login = cxLogin.getText();
         String senha = cxSenha.getText();
         
-        try {
-            MicroempreendedorDAO micempController = new MicroempreendedorDAO();
-            boolean sucessoLogin = micempController.verificarLogin(login, senha);
-
+        // A verificação é feita fora da thread de eventos; o botão fica desabilitado até a resposta.
+        jButton1.setEnabled(false);
+        TarefaAssincrona.executar(this, () -> new MicroempreendedorDAO().verificarLogin(login, senha), sucessoLogin -> {
+            jButton1.setEnabled(true);
             if (sucessoLogin) {
                 // Login válido, limpa campos e navega para o menu principal.
                 limpar();
@@ -229,10 +228,11 @@ public class Login extends javax.swing.JFrame {
                 // Credenciais inválidas, informa o usuário.
                 rtVerificacao.setText("Usuário ou senha inválidos.");
             }
-        } catch (SQLException ex) {
+        }, ex -> {
+            jButton1.setEnabled(true);
             // Tratamento de erro para falhas de conexão com o banco.
             JOptionPane.showMessageDialog(this, "Erro de conexão com o banco de dados:\n" + ex.getMessage(), "Erro de Conexão", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }//GEN-LAST:event_jButton1ActionPerformed
 
     private void jButton3ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton3ActionPerformed
@@ -4,6 +4,15 @@
  */
 package view;
 
+import cache.CatalogoProdutos;
+import cache.IndiceClientes;
+import cache.PerfilCache;
+import dao.ClienteDAO;
+import dao.MicroempreendedorDAO;
+import dao.ProdutoDAO;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 public class Menu extends javax.swing.JFrame {
 
     /**
@@ -12,6 +21,42 @@ public class Menu extends javax.swing.JFrame {
     public Menu() {
         initComponents();
         setLocationRelativeTo(null);
+        fecharTelasAoSair();
+        carregarIndices();
+    }
+
+    // As telas abertas pelo menu só ficam ocultas ao serem fechadas; quando o menu é fechado,
+    // elas são descartadas, e a aplicação pode terminar.
+    private void fecharTelasAoSair() {
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent evt) {
+                Janelas.fecharTodas();
+            }
+        });
+    }
+
+    // Monta em segundo plano o índice da busca de clientes, o catálogo de produtos e o perfil
+    // do microempreendedor, sem prender o menu.
+    private void carregarIndices() {
+        if (!IndiceClientes.getInstancia().isCarregado()) {
+            TarefaAssincrona.executar(null, () -> {
+                new ClienteDAO().carregarIndiceBusca();
+                return null;
+            }, resultado -> {
+            }, ex -> Logger.getLogger(Menu.class.getName()).log(Level.WARNING, "Falha ao carregar o índice de busca de clientes", ex));
+        }
+        if (!CatalogoProdutos.getInstancia().isCarregado()) {
+            TarefaAssincrona.executar(null, () -> {
+                new ProdutoDAO().carregarCatalogo();
+                return null;
+            }, resultado -> {
+            }, ex -> Logger.getLogger(Menu.class.getName()).log(Level.WARNING, "Falha ao carregar o catálogo de produtos", ex));
+        }
+        if (!PerfilCache.getInstancia().isCarregado()) {
+            TarefaAssincrona.executar(null, () -> new MicroempreendedorDAO().consultarMicroempreendedor(), perfil -> {
+            }, ex -> Logger.getLogger(Menu.class.getName()).log(Level.WARNING, "Falha ao carregar o perfil do microempreendedor", ex));
+        }
     }
 
     /**
@@ -184,15 +229,15 @@ public class Menu extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
 
     private void jButton2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton2ActionPerformed
-        new ClienteGUI().setVisible(true);
+        Janelas.abrir(ClienteGUI.class, ClienteGUI::new);
     }//GEN-LAST:event_jButton2ActionPerformed
 
     private void jButton3ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton3ActionPerformed
-        new PerfilGUI().setVisible(true);
+        Janelas.abrir(PerfilGUI.class, PerfilGUI::new);
     }//GEN-LAST:event_jButton3ActionPerformed
 
     private void jButton4ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton4ActionPerformed
-        new VendaGUI().setVisible(true);
+        Janelas.abrir(VendaGUI.class, VendaGUI::new);
     }//GEN-LAST:event_jButton4ActionPerformed
 
     private void jButton5ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton5ActionPerformed
@@ -200,7 +245,7 @@ public class Menu extends javax.swing.JFrame {
     }//GEN-LAST:event_jButton5ActionPerformed
 
     private void jButton6ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton6ActionPerformed
-        new ProdutoGUI().setVisible(true);
+        Janelas.abrir(ProdutoGUI.class, ProdutoGUI::new);
     }//GEN-LAST:event_jButton6ActionPerformed
 
     /**
@@ -5,7 +5,6 @@
 package view;
 
 import dao.MicroempreendedorDAO;
-import java.sql.SQLException;
 import javax.swing.JOptionPane;
 import model.Endereco;
 import model.Microempreendedor;
@@ -365,37 +364,40 @@ public class MicroempreendedorGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_cxNomeActionPerformed
 
     private void btAdicionarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionarActionPerformed
-        try {
-            // 1. Monta o objeto Endereco com os dados da tela.
-            Endereco endereco = new Endereco();
-            endereco.setRua(cxRua.getText());
-            endereco.setBairro(cxBairro.getText());
-            endereco.setCidade(cxCidade.getText());
-            endereco.setNumero(cxNumero.getText());
-            endereco.setComplemento(cxComplemento.getText());
-
-            // 2. Monta o objeto Microempreendedor.
-            Microempreendedor microempreendedor = new Microempreendedor();
-            microempreendedor.setNome(cxNome.getText());
-            microempreendedor.setEmail(cxEmail.getText());
-            microempreendedor.setLogin(cxLogin.getText());
-            microempreendedor.setSenha(cxSenha.getText()); // ATENÇÃO: Senha em texto plano.
-            microempreendedor.setEndereco(endereco);
-            microempreendedor.setIdentificador(cxID.getText());
-
-            // 3. Invoca o DAO para realizar a inserção.
-            MicroempreendedorDAO micempController = new MicroempreendedorDAO();
-            micempController.inserirMicroempreendedor(microempreendedor);
-            
+        // 1. Monta o objeto Endereco com os dados da tela.
+        Endereco endereco = new Endereco();
+        endereco.setRua(cxRua.getText());
+        endereco.setBairro(cxBairro.getText());
+        endereco.setCidade(cxCidade.getText());
+        endereco.setNumero(cxNumero.getText());
+        endereco.setComplemento(cxComplemento.getText());
+
+        // 2. Monta o objeto Microempreendedor.
+        Microempreendedor microempreendedor = new Microempreendedor();
+        microempreendedor.setNome(cxNome.getText());
+        microempreendedor.setEmail(cxEmail.getText());
+        microempreendedor.setLogin(cxLogin.getText());
+        microempreendedor.setSenha(cxSenha.getText()); // ATENÇÃO: Senha em texto plano.
+        microempreendedor.setEndereco(endereco);
+        microempreendedor.setIdentificador(cxID.getText());
+
+        // 3. Invoca o DAO para realizar a inserção, fora da thread de eventos.
+        //    O botão fica desabilitado até a resposta, para que um duplo clique não cadastre duas vezes.
+        btAdicionar.setEnabled(false);
+        TarefaAssincrona.executarGravacao(this, () -> {
+            new MicroempreendedorDAO().inserirMicroempreendedor(microempreendedor);
+            return null;
+        }, resultado -> {
+            btAdicionar.setEnabled(true);
             // 4. Fornece feedback ao usuário e fecha a tela.
             JOptionPane.showMessageDialog(this, "Microempreendedor cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
             limpar();
             this.dispose(); // Fecha a tela de cadastro após o sucesso.
-
-        } catch (SQLException ex) {
+        }, ex -> {
+            btAdicionar.setEnabled(true);
             // Exibe a mensagem de erro específica vinda do DAO (ex: "Usuário já existe").
             JOptionPane.showMessageDialog(this, "Erro ao cadastrar: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }//GEN-LAST:event_btAdicionarActionPerformed
 
     private void cxComplementoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cxComplementoActionPerformed
@@ -0,0 +1,280 @@
+package view;
+
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * Modelo de tabela que carrega as linhas em páginas, sob demanda.
+ * Apenas a primeira página é lida ao abrir a tela; as seguintes são buscadas quando a
+ * tabela pede para desenhar as últimas linhas já carregadas, isto é, conforme o usuário rola.
+ * Cada página é lida a partir da última linha carregada (paginação por chave), então o
+ * custo de uma página não depende de quantas já foram lidas.
+ * A leitura é feita fora da thread de eventos (ver {@link TarefaAssincrona}).
+ *
+ * @param <T> O tipo de objeto exibido em cada linha.
+ */
+public abstract class PaginacaoTableModel<T> extends AbstractTableModel {
+
+    public static final int TAMANHO_PAGINA_PADRAO = 100;
+
+    private final String[] colunas;
+    private final int tamanhoPagina;
+    private final List<T> linhas = new ArrayList<>();
+    private boolean temMais = true;
+    private boolean carregando = false;
+    private boolean agendada = false;
+    // Incrementada a cada recarga, descarta páginas pedidas antes dela.
+    private int geracao = 0;
+    private JTable tabela;
+
+    protected PaginacaoTableModel(String[] colunas) {
+        this(colunas, TAMANHO_PAGINA_PADRAO);
+    }
+
+    protected PaginacaoTableModel(String[] colunas, int tamanhoPagina) {
+        this.colunas = colunas;
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Busca a página que começa logo após a linha informada.
+     *
+     * @param ultimo A última linha já carregada, ou null para a primeira página.
+     * @param limite O número máximo de linhas da página.
+     */
+    protected abstract List<T> carregarPagina(T ultimo, int limite) throws SQLException;
+
+    /**
+     * Retorna o valor exibido na coluna informada para a linha.
+     */
+    protected abstract Object valorColuna(T linha, int coluna);
+
+    /**
+     * Retorna a chave que identifica a linha (a chave primária do registro).
+     */
+    protected abstract Object chaveDe(T linha);
+
+    /**
+     * Retorna a ordem atual da listagem, igual à usada por {@link #carregarPagina}.
+     */
+    protected abstract Comparator<T> comparador();
+
+    /**
+     * Muda a ordenação para a coluna clicada no cabeçalho.
+     *
+     * @return true se a coluna pode ser usada para ordenar (e a tabela deve ser recarregada).
+     */
+    protected boolean ordenarPor(int coluna) {
+        return false;
+    }
+
+    /**
+     * Indica se a linha atende ao filtro da listagem. Linhas recusadas não são acrescentadas
+     * por {@link #inserirLinha}, e uma linha alterada que deixa de atender ao filtro sai da tabela.
+     */
+    protected boolean aceita(T linha) {
+        return true;
+    }
+
+    /**
+     * Chamado quando a leitura de uma página falha.
+     */
+    protected void aoFalhar(Exception ex) {
+    }
+
+    /**
+     * Chamado quando a leitura da primeira página é cancelada porque a janela foi fechada.
+     * A tabela fica vazia; quem a exibe deve recarregá-la ao ser reaberto.
+     */
+    protected void aoInterromper() {
+    }
+
+    /**
+     * Associa o modelo à tabela, centraliza o conteúdo e ativa a ordenação pelo cabeçalho.
+     * As larguras de coluna definidas no editor de formulários são preservadas.
+     */
+    public void instalar(JTable tabela) {
+        int[] larguras = new int[tabela.getColumnCount()];
+        for (int i = 0; i < larguras.length; i++) {
+            larguras[i] = tabela.getColumnModel().getColumn(i).getPreferredWidth();
+        }
+        this.tabela = tabela;
+        tabela.setModel(this);
+
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        for (int i = 0; i < tabela.getColumnCount(); i++) {
+            tabela.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
+            if (i < larguras.length) {
+                tabela.getColumnModel().getColumn(i).setPreferredWidth(larguras[i]);
+            }
+        }
+
+        tabela.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent evt) {
+                int coluna = tabela.convertColumnIndexToModel(tabela.columnAtPoint(evt.getPoint()));
+                if (coluna != -1 && ordenarPor(coluna)) {
+                    recarregar();
+                }
+            }
+        });
+    }
+
+    /**
+     * Descarta as linhas carregadas e lê novamente a primeira página.
+     */
+    public void recarregar() {
+        geracao++;
+        linhas.clear();
+        temMais = true;
+        carregando = false;
+        fireTableDataChanged();
+        carregarProximaPagina();
+    }
+
+    /**
+     * Pede a próxima página; ela é acrescentada ao fim da tabela quando chegar.
+     */
+    public void carregarProximaPagina() {
+        if (carregando || !temMais) {
+            return;
+        }
+        carregando = true;
+        int geracaoPedido = geracao;
+        T ultimo = linhas.isEmpty() ? null : linhas.get(linhas.size() - 1);
+        TarefaAssincrona<List<T>> tarefa = TarefaAssincrona.executar(tabela, () -> carregarPagina(ultimo, tamanhoPagina), pagina -> {
+            if (geracaoPedido != geracao) {
+                return;
+            }
+            carregando = false;
+            temMais = pagina.size() == tamanhoPagina;
+            if (!pagina.isEmpty()) {
+                int primeira = linhas.size();
+                linhas.addAll(pagina);
+                fireTableRowsInserted(primeira, linhas.size() - 1);
+            }
+        }, ex -> {
+            if (geracaoPedido != geracao) {
+                return;
+            }
+            carregando = false;
+            temMais = false;
+            aoFalhar(ex);
+        });
+        // Uma página seguinte volta a ser pedida quando a tabela desenhar a última linha;
+        // já a primeira não tem linha que a peça.
+        tarefa.aoCancelar(() -> {
+            if (geracaoPedido == geracao) {
+                carregando = false;
+                if (linhas.isEmpty()) {
+                    aoInterromper();
+                }
+            }
+        });
+    }
+
+    /**
+     * Acrescenta uma linha recém-criada na sua posição segundo a ordenação atual, sem
+     * consultar o banco, desde que ela atenda ao filtro. Se a posição cair depois da última
+     * linha carregada e ainda houver páginas a ler, a linha não é acrescentada: ela virá
+     * naturalmente com a próxima página.
+     */
+    public void inserirLinha(T nova) {
+        if (!aceita(nova)) {
+            return;
+        }
+        int posicao = Collections.binarySearch(linhas, nova, comparador());
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        // A última linha carregada serve de ponto de partida da próxima página; inserir depois
+        // dela (ou no lugar dela) faria a próxima página pular ou repetir registros.
+        if (temMais && posicao >= linhas.size()) {
+            return;
+        }
+        linhas.add(posicao, nova);
+        fireTableRowsInserted(posicao, posicao);
+    }
+
+    /**
+     * Substitui a linha de mesma chave pela versão atualizada, reposicionando-a caso a
+     * alteração mude sua posição na ordenação.
+     */
+    public void atualizarLinha(T atualizada) {
+        removerLinha(chaveDe(atualizada));
+        inserirLinha(atualizada);
+    }
+
+    /**
+     * Remove a linha com a chave informada, se ela estiver carregada.
+     */
+    public void removerLinha(Object chave) {
+        for (int i = 0; i < linhas.size(); i++) {
+            if (chaveDe(linhas.get(i)).equals(chave)) {
+                linhas.remove(i);
+                fireTableRowsDeleted(i, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retorna a linha com a chave informada, ou null se ela não estiver carregada.
+     */
+    public T buscarLinha(Object chave) {
+        for (T linha : linhas) {
+            if (chaveDe(linha).equals(chave)) {
+                return linha;
+            }
+        }
+        return null;
+    }
+
+    public T getLinha(int linha) {
+        return linhas.get(linha);
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colunas.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return colunas[coluna];
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        // Ao desenhar a última linha carregada, agenda a próxima página. O agendamento evita
+        // alterar o modelo enquanto a tabela ainda está no meio da pintura.
+        if (linha == linhas.size() - 1 && temMais && !carregando && !agendada) {
+            agendada = true;
+            SwingUtilities.invokeLater(() -> {
+                agendada = false;
+                carregarProximaPagina();
+            });
+        }
+        return valorColuna(linhas.get(linha), coluna);
+    }
+}
@@ -5,13 +5,17 @@
 package view;
 
 import dao.MicroempreendedorDAO;
-import java.sql.SQLException;
+import dao.VersaoTabelas;
+import evento.BarramentoEventos;
+import evento.CaixaAlterado;
 import javax.swing.JOptionPane;
 import model.Microempreendedor;
 
 public class PerfilGUI extends javax.swing.JFrame {
     
     private Microempreendedor micempAtual;
+    // Versão do perfil exibido; a tela só recarrega ao ser ativada se ela tiver mudado.
+    private final VersaoExibida versaoExibida = new VersaoExibida(this, VersaoTabelas.Tabela.MICROEMPREENDEDOR, this::carregarDadosPerfil);
 
     /**
      * Creates new form PerfilGUI
@@ -19,6 +23,19 @@ public class PerfilGUI extends javax.swing.JFrame {
     public PerfilGUI() {
         initComponents();
         setLocationRelativeTo(null);
+        ouvirEventos();
+    }
+
+    // Mostra o novo caixa assim que uma venda é registrada, sem reconsultar o perfil.
+    // Cada evento traz a versão do microempreendedor após a alteração.
+    private void ouvirEventos() {
+        BarramentoEventos.getInstancia().inscreverNaTela(this, CaixaAlterado.class, evento ->
+            versaoExibida.aplicar(evento.getVersao(), () -> {
+                if (micempAtual != null) {
+                    micempAtual.setCaixa(evento.getCaixa());
+                    cxLucro.setText(micempAtual.getCaixa().formatar());
+                }
+            }));
     }
 
     /**
@@ -375,38 +392,43 @@ public class PerfilGUI extends javax.swing.JFrame {
             return;
         }
 
-        try {
-            // 1. Usa diálogos para pedir os novos dados, pré-preenchendo com os valores atuais.
-            String nome = JOptionPane.showInputDialog(this, "Informe o NOVO nome", micempAtual.getNome());
-            micempAtual.setNome(nome != null ? nome : micempAtual.getNome());
+        // 1. Usa diálogos para pedir os novos dados, pré-preenchendo com os valores atuais.
+        String nome = JOptionPane.showInputDialog(this, "Informe o NOVO nome", micempAtual.getNome());
+        micempAtual.setNome(nome != null ? nome : micempAtual.getNome());
 
-            String login = JOptionPane.showInputDialog(this, "Informe o NOVO login", micempAtual.getLogin());
-            micempAtual.setLogin(login != null ? login : micempAtual.getLogin());
-            
-            // ... (outros campos) ...
-            
-            String senha = JOptionPane.showInputDialog(this, "Informe a NOVA senha");
-            // A senha só é atualizada se o usuário digitar um novo valor.
-            if(senha != null && !senha.trim().isEmpty()) micempAtual.setSenha(senha);
+        String login = JOptionPane.showInputDialog(this, "Informe o NOVO login", micempAtual.getLogin());
+        micempAtual.setLogin(login != null ? login : micempAtual.getLogin());
+        
+        // ... (outros campos) ...
+        
+        String senha = JOptionPane.showInputDialog(this, "Informe a NOVA senha");
+        // A senha só é atualizada se o usuário digitar um novo valor.
+        if(senha != null && !senha.trim().isEmpty()) micempAtual.setSenha(senha);
 
-            // 2. Pede confirmação final.
-            int resp = JOptionPane.showConfirmDialog(this, "Confirmar atualização dos dados?", "Atualização de Perfil", JOptionPane.YES_NO_OPTION);
-            
-            if(resp == JOptionPane.YES_OPTION){
-                MicroempreendedorDAO micempController = new MicroempreendedorDAO();
-                micempController.atualizarMicroempreendedor(micempAtual);
+        // 2. Pede confirmação final.
+        int resp = JOptionPane.showConfirmDialog(this, "Confirmar atualização dos dados?", "Atualização de Perfil", JOptionPane.YES_NO_OPTION);
+        
+        if(resp == JOptionPane.YES_OPTION){
+            Microempreendedor micemp = micempAtual;
+            btAtualizar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> {
+                new MicroempreendedorDAO().atualizarMicroempreendedor(micemp);
+                return null;
+            }, resultado -> {
+                btAtualizar.setEnabled(true);
                 JOptionPane.showMessageDialog(this, "Perfil atualizado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                 carregarDadosPerfil(); // Recarrega os dados na tela para refletir as mudanças.
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao atualizar perfil: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            }, ex -> {
+                btAtualizar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Erro ao atualizar perfil: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            });
         }
     }//GEN-LAST:event_btAtualizarActionPerformed
 
     private void carregarDadosPerfil() {
-        try {
-            MicroempreendedorDAO micempController = new MicroempreendedorDAO();
-            micempAtual = micempController.consultarMicroempreendedor();
+        versaoExibida.marcarAtual();
+        TarefaAssincrona.executar(this, () -> new MicroempreendedorDAO().consultarMicroempreendedor(), micemp -> {
+            micempAtual = micemp;
             
             if (micempAtual != null) {
                 cxNome.setText(micempAtual.getNome());
@@ -418,16 +440,17 @@ public class PerfilGUI extends javax.swing.JFrame {
                 cxCidade.setText(micempAtual.getEndereco().getCidade());
                 cxNumero.setText(micempAtual.getEndereco().getNumero());
                 cxComplemento.setText(micempAtual.getEndereco().getComplemento());
-                cxLucro.setText(String.format("R$ %.2f", micempAtual.getCaixa()));
+                cxLucro.setText(micempAtual.getCaixa().formatar());
             } else {
                  JOptionPane.showMessageDialog(this, "Nenhum perfil de microempreendedor encontrado.", "Aviso", JOptionPane.WARNING_MESSAGE);
                  btAtualizar.setEnabled(false);
                  btDeletar.setEnabled(false);
             }
-        } catch (SQLException ex) {
+        }, ex -> {
             JOptionPane.showMessageDialog(this, "Erro ao carregar dados do perfil: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            this.dispose();
-        }
+            versaoExibida.invalidar();
+            setVisible(false);
+        }).aoCancelar(versaoExibida::invalidar); // A tela foi fechada antes da resposta; a próxima ativação lê de novo.
     }
     
     private void btDeletarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btDeletarActionPerformed
@@ -439,25 +462,29 @@ public class PerfilGUI extends javax.swing.JFrame {
             JOptionPane.WARNING_MESSAGE);
         
         if(resp == JOptionPane.YES_OPTION){
-            try {
-                MicroempreendedorDAO micempController = new MicroempreendedorDAO();
-                micempController.reset();
+            btDeletar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> {
+                new MicroempreendedorDAO().reset();
+                return null;
+            }, resultado -> {
                 JOptionPane.showMessageDialog(this, "Sistema resetado com sucesso.\nO programa será encerrado.", "Reset Concluído", JOptionPane.INFORMATION_MESSAGE);
                 System.exit(0); // Fecha a aplicação
-            } catch (SQLException ex) {
+            }, ex -> {
+                btDeletar.setEnabled(true);
                 JOptionPane.showMessageDialog(this, "Erro ao resetar o sistema: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }//GEN-LAST:event_btDeletarActionPerformed
 
     private void formWindowActivated(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_formWindowActivated
-        carregarDadosPerfil();
+        versaoExibida.verificar();
     }//GEN-LAST:event_formWindowActivated
 
     private void btDeletar1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btDeletar1ActionPerformed
         int resp = JOptionPane.showConfirmDialog(this, "Deseja realmente sair?", "Sair", JOptionPane.YES_NO_OPTION);
         if(resp == JOptionPane.YES_OPTION){
-            dispose();
+            // Apenas oculta: a tela é reaproveitada pelo menu (ver Janelas).
+            setVisible(false);
         }
     }//GEN-LAST:event_btDeletar1ActionPerformed
 
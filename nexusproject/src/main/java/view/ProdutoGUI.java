@@ -4,26 +4,112 @@
  */
 package view;
 
+import dao.FiltroProduto;
+import dao.OrdenacaoProduto;
 import dao.ProdutoDAO;
-import java.math.BigDecimal;
+import dao.VersaoTabelas;
+import evento.BarramentoEventos;
+import evento.ProdutoAlterado;
+import evento.VendaRegistrada;
+import java.awt.GridLayout;
 import java.sql.SQLException;
+import java.util.Comparator;
 import java.util.List;
+import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
-import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import model.Dinheiro;
 import model.Produto;
 
 public class ProdutoGUI extends javax.swing.JFrame {
     
     private Integer idProdutoSelecionado = null;
 
+    // Versão da tabela exibida; a tela só recarrega ao ser ativada se ela tiver mudado.
+    private final VersaoExibida versaoExibida = new VersaoExibida(this, VersaoTabelas.Tabela.PRODUTO, this::listarTab);
+
+    // Filtro aplicado pelo banco à listagem.
+    private FiltroProduto filtro = new FiltroProduto();
+
+    private final PaginacaoTableModel<Produto> modelo = new PaginacaoTableModel<Produto>(
+            new String[]{"ID Produto", "Nome", "Categoria", "Quantidade", "Preço Unitário", "Preço de Custo"}) {
+
+        private OrdenacaoProduto ordem = OrdenacaoProduto.ID;
+        private boolean decrescente = false;
+
+        @Override
+        protected List<Produto> carregarPagina(Produto ultimo, int limite) throws SQLException {
+            return new ProdutoDAO().listarProdutosPagina(ordem, decrescente, filtro, ultimo, limite);
+        }
+
+        @Override
+        protected Object valorColuna(Produto prod, int coluna) {
+            switch (coluna) {
+                case 0: return prod.getProdutoId();
+                case 1: return prod.getNome();
+                case 2: return prod.getCategoria();
+                case 3: return prod.getQuantidade();
+                case 4: return prod.getPrecoUnitario();
+                default: return prod.getPrecoCusto();
+            }
+        }
+
+        @Override
+        protected Object chaveDe(Produto prod) {
+            return prod.getProdutoId();
+        }
+
+        @Override
+        protected Comparator<Produto> comparador() {
+            return decrescente ? ordem.comparador().reversed() : ordem.comparador();
+        }
+
+        @Override
+        protected boolean aceita(Produto prod) {
+            return filtro.aceita(prod);
+        }
+
+        // Clicar de novo na coluna já ordenada inverte a direção.
+        @Override
+        protected boolean ordenarPor(int coluna) {
+            OrdenacaoProduto nova;
+            switch (coluna) {
+                case 0: nova = OrdenacaoProduto.ID; break;
+                case 1: nova = OrdenacaoProduto.NOME; break;
+                case 2: nova = OrdenacaoProduto.CATEGORIA; break;
+                case 3: nova = OrdenacaoProduto.QUANTIDADE; break;
+                default: return false;
+            }
+            decrescente = nova == ordem && !decrescente;
+            ordem = nova;
+            return true;
+        }
+
+        @Override
+        protected void aoFalhar(Exception ex) {
+            JOptionPane.showMessageDialog(ProdutoGUI.this, "Erro ao listar produtos: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+        }
+
+        // A tabela ficou vazia; a próxima ativação da tela a lê de novo.
+        @Override
+        protected void aoInterromper() {
+            versaoExibida.invalidar();
+        }
+    };
+
 
     /**
      * Creates new form ProdutoGUIteste
      */
     public ProdutoGUI() {
         initComponents();
+        montarMenu();
+        modelo.instalar(tbProdutos);
+        ouvirEventos();
         setLocationRelativeTo(null);
         
         tbProdutos.addMouseListener(new java.awt.event.MouseAdapter() {
@@ -38,6 +124,63 @@ public class ProdutoGUI extends javax.swing.JFrame {
         }
     });
     }
+
+    // Aplica à tabela as alterações de produtos e as baixas de estoque das vendas feitas por
+    // qualquer tela, sem reconsultar o banco. Cada evento traz a versão da tabela de produtos
+    // após a alteração.
+    private void ouvirEventos() {
+        BarramentoEventos barramento = BarramentoEventos.getInstancia();
+        barramento.inscreverNaTela(this, ProdutoAlterado.class, evento ->
+            versaoExibida.aplicar(evento.getVersao(), () -> {
+                if (evento.isExcluido()) {
+                    modelo.removerLinha(evento.getProdutoId());
+                } else {
+                    modelo.atualizarLinha(evento.getProduto());
+                }
+            }));
+        barramento.inscreverNaTela(this, VendaRegistrada.class, evento ->
+            versaoExibida.aplicar(evento.getVersaoProdutos(), () -> {
+                Produto vendido = modelo.buscarLinha(evento.getVenda().getProduto().getProdutoId());
+                if (vendido != null) {
+                    Produto atualizado = new Produto(vendido.getProdutoId(), vendido.getNome(), vendido.getPrecoUnitario(),
+                            vendido.getQuantidade() - evento.getVenda().getQuantidade(), vendido.getCategoria(), vendido.getPrecoCusto());
+                    modelo.atualizarLinha(atualizado);
+                }
+            }));
+    }
+
+    private void montarMenu() {
+        JMenuBar barraMenu = new JMenuBar();
+        JMenu menuExibir = new JMenu("Exibir");
+        JMenuItem itemFiltrar = new JMenuItem("Filtrar...");
+        itemFiltrar.addActionListener(evt -> filtrar());
+        JMenuItem itemRemoverFiltro = new JMenuItem("Remover filtro");
+        itemRemoverFiltro.addActionListener(evt -> aplicarFiltro(new FiltroProduto()));
+        menuExibir.add(itemFiltrar);
+        menuExibir.add(itemRemoverFiltro);
+        barraMenu.add(menuExibir);
+        setJMenuBar(barraMenu);
+        pack();
+    }
+
+    private void filtrar() {
+        JTextField cxFiltroNome = new JTextField(filtro.getNome(), 20);
+        JTextField cxFiltroCategoria = new JTextField(filtro.getCategoria(), 20);
+        JPanel painel = new JPanel(new GridLayout(0, 2, 5, 5));
+        painel.add(new JLabel("Nome começa com:"));
+        painel.add(cxFiltroNome);
+        painel.add(new JLabel("Categoria começa com:"));
+        painel.add(cxFiltroCategoria);
+        if (JOptionPane.showConfirmDialog(this, painel, "Filtrar Produtos", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION) {
+            aplicarFiltro(new FiltroProduto(cxFiltroNome.getText(), cxFiltroCategoria.getText()));
+        }
+    }
+
+    private void aplicarFiltro(FiltroProduto novo) {
+        filtro = novo;
+        setTitle(novo.isAtivo() ? "Gerenciar Produtos (filtrado)" : "Gerenciar Produtos");
+        modelo.recarregar();
+    }
     
 
     /**
@@ -375,44 +518,45 @@ public class ProdutoGUI extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
 
     private void btAdicionarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionarActionPerformed
+        // 1. Cria o objeto Produto com os dados dos campos da tela.
+        Produto produto = new Produto();
         try {
-            // 1. Cria o objeto Produto com os dados dos campos da tela.
-            Produto produto = new Produto();
             produto.setCategoria(cxCategoria.getText());
             produto.setNome(cxNome.getText());
-            produto.setPrecoCusto(new BigDecimal(cxPrecoCusto.getText()));
-            produto.setPrecoUnitario(new BigDecimal(cxPrecoUnit.getText()));
+            produto.setPrecoCusto(Dinheiro.parse(cxPrecoCusto.getText()));
+            produto.setPrecoUnitario(Dinheiro.parse(cxPrecoUnit.getText()));
             produto.setQuantidade(Integer.parseInt(cxQntd.getText()));
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Por favor, insira valores numéricos válidos para preços e quantidade.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            // 2. Chama o DAO para inserir o produto.
-            ProdutoDAO produtoController = new ProdutoDAO();
-            produtoController.inserir(produto);
-
-            // 3. Feedback e atualização da interface.
+        // 2. Chama o DAO para inserir o produto, fora da thread de eventos.
+        //    O botão fica desabilitado até a resposta, para que um duplo clique não insira duas vezes.
+        btAdicionar.setEnabled(false);
+        TarefaAssincrona.executarGravacao(this, () -> new ProdutoDAO().inserir(produto), inserido -> {
+            btAdicionar.setEnabled(true);
+            // 3. Feedback. A tabela recebe o novo produto pelo evento publicado pelo DAO.
             JOptionPane.showMessageDialog(this, "Produto cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
             limpar();
-            listarTab();
-
-        } catch (SQLException ex) {
+        }, ex -> {
+            btAdicionar.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Erro ao inserir produto no banco de dados: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Por favor, insira valores numéricos válidos para preços e quantidade.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }//GEN-LAST:event_btAdicionarActionPerformed
     
     private void preencherCamposProduto(int row) {
-        DefaultTableModel modelo = (DefaultTableModel) tbProdutos.getModel();
+        Produto prod = modelo.getLinha(row);
 
         // 1. Guarda o ID do produto selecionado na nossa variável de instância
-        //    Fazemos um 'cast' para Integer, que é o tipo de dado da coluna ID.
-        this.idProdutoSelecionado = (Integer) modelo.getValueAt(row, 0);
+        this.idProdutoSelecionado = prod.getProdutoId();
 
         // 2. Preenche os campos do formulário com os dados da linha selecionada
-        cxNome.setText(modelo.getValueAt(row, 1).toString());
-        cxCategoria.setText(modelo.getValueAt(row, 2).toString());
-        cxQntd.setText(modelo.getValueAt(row, 3).toString());
-        cxPrecoUnit.setText(modelo.getValueAt(row, 4).toString());
-        cxPrecoCusto.setText(modelo.getValueAt(row, 5).toString());
+        cxNome.setText(prod.getNome());
+        cxCategoria.setText(prod.getCategoria());
+        cxQntd.setText(String.valueOf(prod.getQuantidade()));
+        cxPrecoUnit.setText(String.valueOf(prod.getPrecoUnitario()));
+        cxPrecoCusto.setText(String.valueOf(prod.getPrecoCusto()));
     }
     
     private void btAtualizarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAtualizarActionPerformed
@@ -422,34 +566,35 @@ public class ProdutoGUI extends javax.swing.JFrame {
             return;
         }
 
+        // 2. Cria o objeto Produto com os dados (possivelmente editados) dos campos.
+        Produto produto = new Produto();
         try {
-            // 2. Cria o objeto Produto com os dados (possivelmente editados) dos campos.
-            Produto produto = new Produto();
             produto.setProdutoId(this.idProdutoSelecionado); // Usa o ID que guardamos
             produto.setNome(cxNome.getText());
             produto.setCategoria(cxCategoria.getText());
-            produto.setPrecoUnitario(new BigDecimal(cxPrecoUnit.getText()));
-            produto.setPrecoCusto(new BigDecimal(cxPrecoCusto.getText()));
+            produto.setPrecoUnitario(Dinheiro.parse(cxPrecoUnit.getText()));
+            produto.setPrecoCusto(Dinheiro.parse(cxPrecoCusto.getText()));
             produto.setQuantidade(Integer.parseInt(cxQntd.getText()));
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Por favor, insira valores numéricos válidos para preços e quantidade.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            // 3. Pede uma confirmação final.
-            int resp = JOptionPane.showConfirmDialog(this, "Deseja salvar as alterações para o produto " + produto.getNome() + "?", "Confirmar Atualização", JOptionPane.YES_NO_OPTION);
-
-            if (resp == JOptionPane.YES_OPTION) {
-                // 4. Chama o DAO para realizar a atualização no banco.
-                ProdutoDAO produtoController = new ProdutoDAO();
-                produtoController.atualizar(produto);
+        // 3. Pede uma confirmação final.
+        int resp = JOptionPane.showConfirmDialog(this, "Deseja salvar as alterações para o produto " + produto.getNome() + "?", "Confirmar Atualização", JOptionPane.YES_NO_OPTION);
 
-                // 5. Feedback e atualização da tela.
+        if (resp == JOptionPane.YES_OPTION) {
+            // 4. Chama o DAO para realizar a atualização no banco.
+            btAtualizar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> new ProdutoDAO().atualizar(produto), atualizado -> {
+                btAtualizar.setEnabled(true);
+                // 5. Feedback. A tabela é atualizada pelo evento publicado pelo DAO.
                 JOptionPane.showMessageDialog(this, "Produto atualizado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                 limpar();
-                listarTab();
-            }
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao atualizar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Por favor, insira valores numéricos válidos para preços e quantidade.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            }, ex -> {
+                btAtualizar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Erro ao atualizar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            });
         }
     }//GEN-LAST:event_btAtualizarActionPerformed
 
@@ -465,11 +610,15 @@ public class ProdutoGUI extends javax.swing.JFrame {
             return;
         }
 
+        int id;
         try {
-            int id = Integer.parseInt(idStr);
-            ProdutoDAO produtoController = new ProdutoDAO();
-            Produto prod = produtoController.consultarProduto(id);
-            
+            id = Integer.parseInt(idStr);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Por favor, insira um ID válido.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        TarefaAssincrona.executar(this, () -> new ProdutoDAO().consultarProduto(id), prod -> {
             if(prod != null){
                 cxNome.setText(prod.getNome());
                 cxCategoria.setText(prod.getCategoria());
@@ -479,11 +628,7 @@ public class ProdutoGUI extends javax.swing.JFrame {
             } else {
                 JOptionPane.showMessageDialog(this, "Produto com ID " + id + " não encontrado.", "Não Encontrado", JOptionPane.WARNING_MESSAGE);
             }
-        } catch (NumberFormatException ex) {
-             JOptionPane.showMessageDialog(this, "Por favor, insira um ID válido.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao consultar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
+        }, ex -> JOptionPane.showMessageDialog(this, "Erro ao consultar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
     }//GEN-LAST:event_btConsultarActionPerformed
 
     private void btDeletarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btDeletarActionPerformed
@@ -498,20 +643,27 @@ public class ProdutoGUI extends javax.swing.JFrame {
             return;
         }
         
+        int id;
         try {
-            int id = Integer.parseInt(idStr);
-            int resp = JOptionPane.showConfirmDialog(this, "Tem certeza que deseja excluir o produto com ID " + id + "?", "Confirmar Exclusão", JOptionPane.YES_NO_OPTION);
-
-            if(resp == JOptionPane.YES_OPTION) {
-                ProdutoDAO produtoController = new ProdutoDAO();
-                produtoController.deletar(id);
-                JOptionPane.showMessageDialog(this, "Produto deletado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-                listarTab();
-            }
+            id = Integer.parseInt(idStr);
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Por favor, insira um ID válido.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao deletar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        int resp = JOptionPane.showConfirmDialog(this, "Tem certeza que deseja excluir o produto com ID " + id + "?", "Confirmar Exclusão", JOptionPane.YES_NO_OPTION);
+        if(resp == JOptionPane.YES_OPTION) {
+            btDeletar.setEnabled(false);
+            TarefaAssincrona.executarGravacao(this, () -> {
+                new ProdutoDAO().deletar(id);
+                return null;
+            }, resultado -> {
+                btDeletar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Produto deletado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+            }, ex -> {
+                btDeletar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Erro ao deletar produto: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            });
         }
     }//GEN-LAST:event_btDeletarActionPerformed
 
@@ -540,7 +692,7 @@ public class ProdutoGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_cxPrecoCustoActionPerformed
 
     private void formWindowActivated(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_formWindowActivated
-        listarTab();
+        versaoExibida.verificar();
     }//GEN-LAST:event_formWindowActivated
 
     private void btListarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btListarActionPerformed
@@ -564,34 +716,9 @@ public class ProdutoGUI extends javax.swing.JFrame {
     }
     
     public void listarTab(){
-        DefaultTableModel modelo = (DefaultTableModel) tbProdutos.getModel();
-        modelo.setRowCount(0); // Limpa a tabela antes de preencher
-        
-        try {
-            ProdutoDAO produtoController = new ProdutoDAO(); 
-            List<Produto> produtos = produtoController.listarProdutos();
-
-            for (Produto prod : produtos) { 
-                modelo.addRow(new Object[]{
-                    prod.getProdutoId(), 
-                    prod.getNome(), 
-                    prod.getCategoria(), 
-                    prod.getQuantidade(), 
-                    prod.getPrecoUnitario(), 
-                    prod.getPrecoCusto()
-                });
-            }
-            
-            // Centralizar conteúdo da tabela
-            DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
-            centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
-            for (int i = 0; i < tbProdutos.getColumnCount(); i++) {
-                tbProdutos.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
-            }
-            
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao listar produtos: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
+        // Recarrega apenas a primeira página; as demais são lidas conforme a rolagem.
+        versaoExibida.marcarAtual();
+        modelo.recarregar();
     }
     
     public void sair(){
@@ -602,7 +729,8 @@ public class ProdutoGUI extends javax.swing.JFrame {
                 JOptionPane.YES_NO_OPTION
         );
         if(resp == JOptionPane.YES_OPTION){
-            dispose();
+            // Apenas oculta: a tela é reaproveitada pelo menu (ver Janelas).
+            setVisible(false);
         }
     }
     
@@ -0,0 +1,107 @@
+package view;
+
+import dao.ClienteDAO;
+import dao.CriterioRanking;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.time.format.DateTimeFormatter;
+import javax.swing.BorderFactory;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import model.RankingCliente;
+
+/**
+ * Ranking de clientes por lucro, frequência ou tempo desde a última compra.
+ */
+public class RankingClientesGUI extends JFrame {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final JComboBox<CriterioRanking> cbCriterio = new JComboBox<>(CriterioRanking.values());
+    private final JComboBox<Integer> cbLimite = new JComboBox<>(new Integer[]{10, 50, 100, 500});
+    private final DefaultTableModel modelo = new DefaultTableModel(
+        new String[]{"Posição", "CPF/CNPJ", "Nome", "Última compra", "Compras", "Lucro total"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final JTable tbRanking = new JTable(modelo);
+
+    public RankingClientesGUI() {
+        montarTela();
+        setLocationRelativeTo(null);
+        listarTab();
+    }
+
+    private void montarTela() {
+        setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        setTitle("Ranking de Clientes");
+
+        JLabel rtTitulo = new JLabel("Ranking de Clientes");
+        rtTitulo.setFont(new Font("Yu Gothic UI Semibold", Font.BOLD, 24));
+        rtTitulo.setForeground(Color.WHITE);
+
+        JPanel cabecalho = new JPanel(new BorderLayout());
+        cabecalho.setBackground(new Color(102, 102, 255));
+        cabecalho.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        cabecalho.add(rtTitulo, BorderLayout.CENTER);
+
+        JPanel filtros = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filtros.add(new JLabel("Ordenar por:"));
+        filtros.add(cbCriterio);
+        filtros.add(new JLabel("Exibir:"));
+        filtros.add(cbLimite);
+        cbLimite.setSelectedItem(50);
+        cbCriterio.addActionListener(evt -> listarTab());
+        cbLimite.addActionListener(evt -> listarTab());
+
+        JPanel topo = new JPanel(new BorderLayout());
+        topo.add(cabecalho, BorderLayout.NORTH);
+        topo.add(filtros, BorderLayout.SOUTH);
+
+        tbRanking.setFont(new Font("Yu Gothic UI", Font.PLAIN, 14));
+        tbRanking.setRowHeight(30);
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        tbRanking.setDefaultRenderer(Object.class, centralizarRenderer);
+
+        JScrollPane rolagem = new JScrollPane(tbRanking);
+        rolagem.setPreferredSize(new Dimension(820, 420));
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(topo, BorderLayout.NORTH);
+        getContentPane().add(rolagem, BorderLayout.CENTER);
+        pack();
+    }
+
+    public void listarTab() {
+        CriterioRanking criterio = (CriterioRanking) cbCriterio.getSelectedItem();
+        int limite = (Integer) cbLimite.getSelectedItem();
+        TarefaAssincrona.executar(this, () -> new ClienteDAO().listarRanking(criterio, limite), ranking -> {
+            modelo.setRowCount(0);
+            int posicao = 1;
+            for (RankingCliente cli : ranking) {
+                modelo.addRow(new Object[]{
+                    posicao++,
+                    cli.getIdentificador(),
+                    cli.getNome(),
+                    cli.getUltimaCompra() == null ? "" : cli.getUltimaCompra().format(FORMATO_DATA),
+                    cli.getTotalCompras(),
+                    cli.getLucroTotal().formatar()
+                });
+            }
+        }, ex -> JOptionPane.showMessageDialog(this, "Erro ao carregar ranking: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
+    }
+}
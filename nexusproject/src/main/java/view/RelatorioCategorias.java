@@ -0,0 +1,134 @@
+package view;
+
+import dao.VendaDAO;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import model.ResumoVendas;
+
+/**
+ * Relatório de lucro, receita e volume por categoria de produto.
+ * Ao selecionar uma categoria, a tabela inferior mostra os produtos que a compõem.
+ */
+public class RelatorioCategorias extends JFrame {
+
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("MM/yyyy");
+    private static final String[] COLUNAS_CATEGORIA = {"Categoria", "Unidades", "Receita", "Lucro"};
+    private static final String[] COLUNAS_PRODUTO = {"Produto", "Unidades", "Receita", "Lucro"};
+
+    private final YearMonth mesInicial;
+    private final YearMonth mesFinal;
+
+    private final JLabel rtTitulo = new JLabel();
+    private final JLabel rtDetalhe = new JLabel("Selecione uma categoria para ver os produtos");
+    private final DefaultTableModel modeloCategorias = criarModelo(COLUNAS_CATEGORIA);
+    private final DefaultTableModel modeloProdutos = criarModelo(COLUNAS_PRODUTO);
+    private final JTable tbCategorias = new JTable(modeloCategorias);
+    private final JTable tbProdutos = new JTable(modeloProdutos);
+
+    public RelatorioCategorias(YearMonth mesInicial, YearMonth mesFinal) {
+        this.mesInicial = mesInicial;
+        this.mesFinal = mesFinal;
+        montarTela();
+        rtTitulo.setText("Vendas por categoria: " + mesInicial.format(FORMATO_MES) + " a " + mesFinal.format(FORMATO_MES));
+        setLocationRelativeTo(null);
+
+        TarefaAssincrona.executar(this, () -> new VendaDAO().gerarRelatorioCategorias(mesInicial, mesFinal),
+                resumos -> preencher(modeloCategorias, resumos),
+                ex -> JOptionPane.showMessageDialog(this, "Erro ao gerar relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private static DefaultTableModel criarModelo(String[] colunas) {
+        return new DefaultTableModel(colunas, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private void montarTela() {
+        setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        setTitle("Relatorio por Categoria");
+
+        JPanel cabecalho = new JPanel(new BorderLayout());
+        cabecalho.setBackground(new Color(102, 102, 255));
+        cabecalho.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        rtTitulo.setFont(new Font("Yu Gothic UI Semibold", Font.BOLD, 24));
+        rtTitulo.setForeground(Color.WHITE);
+        cabecalho.add(rtTitulo, BorderLayout.CENTER);
+
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        for (JTable tabela : new JTable[]{tbCategorias, tbProdutos}) {
+            tabela.setFont(new Font("Yu Gothic UI", Font.PLAIN, 14));
+            tabela.setRowHeight(30);
+            tabela.setDefaultRenderer(Object.class, centralizarRenderer);
+        }
+        tbCategorias.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tbCategorias.getSelectionModel().addListSelectionListener(evt -> {
+            if (!evt.getValueIsAdjusting()) {
+                detalharCategoriaSelecionada();
+            }
+        });
+
+        rtDetalhe.setFont(new Font("Yu Gothic UI Semibold", Font.BOLD, 18));
+        rtDetalhe.setForeground(new Color(102, 102, 255));
+        rtDetalhe.setBorder(BorderFactory.createEmptyBorder(10, 0, 5, 0));
+
+        JPanel painelProdutos = new JPanel(new BorderLayout());
+        painelProdutos.add(rtDetalhe, BorderLayout.NORTH);
+        painelProdutos.add(new JScrollPane(tbProdutos), BorderLayout.CENTER);
+
+        JPanel corpo = new JPanel(new GridLayout(2, 1, 0, 10));
+        corpo.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        corpo.add(new JScrollPane(tbCategorias));
+        corpo.add(painelProdutos);
+        corpo.setPreferredSize(new Dimension(760, 560));
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(cabecalho, BorderLayout.NORTH);
+        getContentPane().add(corpo, BorderLayout.CENTER);
+        pack();
+    }
+
+    private void detalharCategoriaSelecionada() {
+        int linha = tbCategorias.getSelectedRow();
+        if (linha == -1) {
+            return;
+        }
+        String categoria = modeloCategorias.getValueAt(linha, 0).toString();
+        TarefaAssincrona.executar(this, () -> new VendaDAO().detalharCategoria(categoria, mesInicial, mesFinal), resumos -> {
+            preencher(modeloProdutos, resumos);
+            rtDetalhe.setText("Produtos da categoria " + categoria);
+        }, ex -> JOptionPane.showMessageDialog(this, "Erro ao detalhar categoria: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void preencher(DefaultTableModel modelo, List<ResumoVendas> resumos) {
+        modelo.setRowCount(0);
+        for (ResumoVendas resumo : resumos) {
+            modelo.addRow(new Object[]{
+                resumo.getDescricao(),
+                resumo.getUnidades(),
+                resumo.getReceita().formatar(),
+                resumo.getLucro().formatar()
+            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package view;
+
+import dao.VendaDAO;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import model.Dinheiro;
+import model.Granularidade;
+import model.ResumoPeriodo;
+
+/**
+ * Relatório de tendência: lucro, unidades vendidas e produto mais vendido
+ * para cada período (dia, semana ou mês) de um intervalo de meses.
+ */
+public class RelatorioTendencia extends JFrame {
+
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    private final JLabel rtTitulo = new JLabel();
+    private final JLabel rtTotal = new JLabel();
+    private final DefaultTableModel modelo = new DefaultTableModel(
+        new String[]{"Período", "Lucro", "Unidades", "Produto mais vendido"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final JTable tbPeriodos = new JTable(modelo);
+
+    public RelatorioTendencia(YearMonth mesInicial, YearMonth mesFinal, Granularidade granularidade) {
+        montarTela();
+        rtTitulo.setText("Tendência " + granularidade.getDescricao().toLowerCase() + ": "
+                + mesInicial.format(FORMATO_MES) + " a " + mesFinal.format(FORMATO_MES));
+        setLocationRelativeTo(null);
+
+        TarefaAssincrona.executar(this, () -> new VendaDAO().gerarRelatorioPeriodo(mesInicial, mesFinal, granularidade), this::listarTab, ex -> {
+            if (ex instanceof IllegalArgumentException) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Entrada Inválida", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Erro ao gerar relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    private void montarTela() {
+        setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        setTitle("Relatorio de Tendencia");
+
+        JPanel cabecalho = new JPanel(new BorderLayout());
+        cabecalho.setBackground(new Color(102, 102, 255));
+        cabecalho.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        rtTitulo.setFont(new Font("Yu Gothic UI Semibold", Font.BOLD, 24));
+        rtTitulo.setForeground(Color.WHITE);
+        cabecalho.add(rtTitulo, BorderLayout.CENTER);
+
+        rtTotal.setFont(new Font("Yu Gothic UI Semibold", Font.PLAIN, 18));
+        rtTotal.setForeground(new Color(102, 102, 255));
+        rtTotal.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+
+        tbPeriodos.setFont(new Font("Yu Gothic UI", Font.PLAIN, 14));
+        tbPeriodos.setRowHeight(30);
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        tbPeriodos.setDefaultRenderer(Object.class, centralizarRenderer);
+
+        JScrollPane rolagem = new JScrollPane(tbPeriodos);
+        rolagem.setPreferredSize(new Dimension(760, 420));
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(cabecalho, BorderLayout.NORTH);
+        getContentPane().add(rolagem, BorderLayout.CENTER);
+        getContentPane().add(rtTotal, BorderLayout.SOUTH);
+        pack();
+    }
+
+    private void listarTab(List<ResumoPeriodo> serie) {
+        modelo.setRowCount(0);
+        long lucroTotalCentavos = 0;
+        long unidadesTotal = 0;
+        for (ResumoPeriodo resumo : serie) {
+            modelo.addRow(new Object[]{
+                resumo.getRotulo(),
+                resumo.getLucro().formatar(),
+                resumo.getUnidades(),
+                resumo.getProdutoMaisVendido()
+            });
+            lucroTotalCentavos = Math.addExact(lucroTotalCentavos, resumo.getLucro().getCentavos());
+            unidadesTotal += resumo.getUnidades();
+        }
+        rtTotal.setText(String.format("Lucro total: %s    Unidades vendidas: %d", Dinheiro.deCentavos(lucroTotalCentavos).formatar(), unidadesTotal));
+    }
+}
@@ -5,8 +5,7 @@
 package view;
 
 import dao.VendaDAO;
-import java.math.BigDecimal;
-import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.util.List;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
@@ -26,23 +25,31 @@ public class RelatorioVendas extends javax.swing.JFrame {
     public RelatorioVendas(String mes, String ano) {
         initComponents();
         setLocationRelativeTo(null);
-        
+
+        int numeroMes;
+        int numeroAno;
         try {
-            VendaDAO vendaController = new VendaDAO();
-            BigDecimal lucro = vendaController.obterLucroMensal(Integer.parseInt(mes), Integer.parseInt(ano));
-            rtLucro.setText(String.format("R$ %.2f", lucro));
-            
-            String produto = vendaController.obterProdutoMaisVendido(Integer.parseInt(mes), Integer.parseInt(ano));
-            rtProduto.setText(produto);
-            
-            rtMesAno.setText("Relatório: " + obterNomeDoMes(Integer.parseInt(mes)) + " de " + ano);
-            listarTab(mes, ano);
-            
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao gerar relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            numeroMes = Integer.parseInt(mes);
+            numeroAno = Integer.parseInt(ano);
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Mês e ano devem ser valores numéricos.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        rtMesAno.setText("Relatório: " + obterNomeDoMes(numeroMes) + " de " + ano);
+        // O relatório vem do cache quando o mês já foi calculado e não teve vendas novas.
+        // Caso contrário é calculado fora da thread de eventos e a tela é preenchida ao final.
+        TarefaAssincrona.executar(this, () -> new VendaDAO().gerarRelatorioMensal(numeroMes, numeroAno), relatorio -> {
+            rtLucro.setText(relatorio.getLucroTotal().formatar());
+            rtProduto.setText(relatorio.getProdutoMaisVendido());
+            preencherTabela(relatorio.getVendas());
+        }, ex -> {
+            if (ex instanceof DateTimeException) {
+                JOptionPane.showMessageDialog(this, "Por favor, insira um mês e ano válidos.", "Entrada Inválida", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Erro ao gerar relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     /**
@@ -196,37 +203,43 @@ public class RelatorioVendas extends javax.swing.JFrame {
     }//GEN-LAST:event_formWindowActivated
 
     public void listarTab(String mes, String ano){
+        int numeroMes;
+        int numeroAno;
+        try {
+            numeroMes = Integer.parseInt(mes);
+            numeroAno = Integer.parseInt(ano);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Mês e ano devem ser valores numéricos.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        TarefaAssincrona.executar(this, () -> new VendaDAO().gerarRelatorioMensal(numeroMes, numeroAno),
+                relatorio -> preencherTabela(relatorio.getVendas()),
+                ex -> JOptionPane.showMessageDialog(this, "Erro ao listar produtos do relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void preencherTabela(List<Venda> vendas) {
         DefaultTableModel modelo = (DefaultTableModel) tbProdutos.getModel();
         modelo.setRowCount(0);
 
-        try {
-            VendaDAO vendaController = new VendaDAO();
-            List<Venda> vendas = vendaController.listarProdutosVendidosMes(Integer.parseInt(mes), Integer.parseInt(ano));
+        for (Venda venda : vendas) {
+            modelo.addRow(new Object[]{
+                venda.getCliente().getIdentificador(),
+                venda.getProduto().getProdutoId(),
+                venda.getProduto().getNome(),
+                venda.getQuantidade(),
+                venda.getValorTotal()
+            });
+        }
 
-            for (Venda venda : vendas) {
-                modelo.addRow(new Object[]{
-                    venda.getCliente().getIdentificador(),
-                    venda.getProduto().getProdutoId(),
-                    venda.getProduto().getNome(),
-                    venda.getQuantidade(),
-                    venda.getValorTotal()
-                });
-            }
-            
-            DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
-            centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
 
-            for (int i = 0; i < tbProdutos.getColumnCount(); i++) {
-                tbProdutos.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao listar produtos do relatório: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Mês e ano devem ser valores numéricos.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+        for (int i = 0; i < tbProdutos.getColumnCount(); i++) {
+            tbProdutos.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
         }
-        
     }
-    
+
     public static String obterNomeDoMes(int mes) {
         if (mes < 1 || mes > 12) {
             return "Mês Inválido";
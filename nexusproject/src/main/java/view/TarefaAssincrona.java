@@ -0,0 +1,227 @@
+package view;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.swing.SwingUtilities;
+
+/**
+ * Executa operações demoradas (acesso ao banco, gravação de arquivos) fora da thread de
+ * eventos do Swing, para que a interface continue respondendo durante consultas lentas.
+ * <p>
+ * A operação roda em uma thread virtual; o resultado, ou o erro, é entregue de volta na
+ * thread de eventos, onde os componentes podem ser atualizados com segurança.
+ * Enquanto houver tarefas em andamento em uma janela, ela exibe o cursor de espera.
+ * Quando a janela é ocultada (as telas do menu são reaproveitadas, ver {@link Janelas}) ou
+ * descartada, as leituras pendentes são canceladas e seus retornos descartados.
+ * <p>
+ * Gravações ({@link #executarGravacao}) nunca são interrompidas: interromper uma thread virtual
+ * bloqueada no socket fecha a conexão JDBC, e a transação poderia ser confirmada no servidor
+ * sem que a aplicação publicasse a alteração. Elas continuam entregando o retorno com a janela
+ * oculta (o usuário ainda vê o aviso de sucesso ou de erro); só quando a janela é descartada
+ * o retorno é ignorado, e mesmo assim a gravação vai até o fim.
+ * <p>
+ * Os métodos desta classe devem ser chamados na thread de eventos.
+ *
+ * @param <T> O tipo do resultado da operação.
+ */
+public final class TarefaAssincrona<T> {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Tarefas em andamento por janela. Só é acessado na thread de eventos.
+    private static final Map<Window, List<TarefaAssincrona<?>>> PENDENTES = new WeakHashMap<>();
+
+    /**
+     * Trabalho executado em segundo plano.
+     */
+    @FunctionalInterface
+    public interface Operacao<T> {
+        T executar() throws Exception;
+    }
+
+    /**
+     * Recebe o resultado da operação, na thread de eventos.
+     */
+    @FunctionalInterface
+    public interface Sucesso<T> {
+        void aoConcluir(T resultado);
+    }
+
+    /**
+     * Recebe o erro lançado pela operação, na thread de eventos.
+     */
+    @FunctionalInterface
+    public interface Falha {
+        void aoFalhar(Exception ex);
+    }
+
+    private final Window janela;
+    private final Sucesso<T> sucesso;
+    private final Falha falha;
+    private final boolean gravacao;
+    private volatile boolean cancelada = false;
+    private Future<?> futuro;
+    private Runnable aoCancelar;
+    // Marcada ao entregar o retorno; a partir daí cancelar não tem efeito. Só é acessada na thread de eventos.
+    private boolean concluida = false;
+
+    private TarefaAssincrona(Window janela, Sucesso<T> sucesso, Falha falha, boolean gravacao) {
+        this.janela = janela;
+        this.sucesso = sucesso;
+        this.falha = falha;
+        this.gravacao = gravacao;
+    }
+
+    /**
+     * Inicia a operação em segundo plano.
+     *
+     * @param dono A janela (ou um componente dentro dela) que aguarda o resultado.
+     * @param operacao O trabalho a executar fora da thread de eventos.
+     * @param sucesso Chamado com o resultado, na thread de eventos.
+     * @param falha Chamado com o erro, na thread de eventos.
+     * @return A tarefa iniciada, que pode ser cancelada.
+     */
+    public static <T> TarefaAssincrona<T> executar(Component dono, Operacao<T> operacao, Sucesso<T> sucesso, Falha falha) {
+        return iniciar(dono, operacao, sucesso, falha, false);
+    }
+
+    /**
+     * Inicia em segundo plano uma operação que altera o banco. Ela nunca é interrompida: não é
+     * cancelada quando a janela é ocultada e, se a janela for descartada ou a tarefa cancelada,
+     * apenas o retorno é descartado.
+     *
+     * @param dono A janela (ou um componente dentro dela) que aguarda o resultado.
+     * @param operacao A gravação a executar fora da thread de eventos.
+     * @param sucesso Chamado com o resultado, na thread de eventos.
+     * @param falha Chamado com o erro, na thread de eventos.
+     * @return A tarefa iniciada.
+     */
+    public static <T> TarefaAssincrona<T> executarGravacao(Component dono, Operacao<T> operacao, Sucesso<T> sucesso, Falha falha) {
+        return iniciar(dono, operacao, sucesso, falha, true);
+    }
+
+    private static <T> TarefaAssincrona<T> iniciar(Component dono, Operacao<T> operacao, Sucesso<T> sucesso, Falha falha, boolean gravacao) {
+        Window janela = dono == null || dono instanceof Window ? (Window) dono : SwingUtilities.getWindowAncestor(dono);
+        TarefaAssincrona<T> tarefa = new TarefaAssincrona<>(janela, sucesso, falha, gravacao);
+        tarefa.registrar();
+        tarefa.futuro = EXECUTOR.submit(() -> tarefa.rodar(operacao));
+        return tarefa;
+    }
+
+    /**
+     * Define a ação executada, na thread de eventos, se a tarefa for cancelada antes de entregar
+     * o retorno, seja por {@link #cancelar()} ou pelo fechamento da janela. Serve para desfazer
+     * o estado de "carregando" de quem aguardava o resultado.
+     *
+     * @return Esta tarefa.
+     */
+    public TarefaAssincrona<T> aoCancelar(Runnable acao) {
+        this.aoCancelar = acao;
+        return this;
+    }
+
+    /**
+     * Cancela a tarefa: nenhum retorno será entregue. A thread de uma leitura é interrompida;
+     * a de uma gravação segue até o fim. Não tem efeito se o retorno já foi entregue.
+     */
+    public void cancelar() {
+        if (cancelada || concluida) {
+            return;
+        }
+        cancelada = true;
+        futuro.cancel(!gravacao);
+        desregistrar();
+        if (aoCancelar != null) {
+            aoCancelar.run();
+        }
+    }
+
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    private void rodar(Operacao<T> operacao) {
+        T resultado = null;
+        Exception erro = null;
+        try {
+            resultado = operacao.executar();
+        } catch (Exception ex) {
+            erro = ex;
+        }
+        T resultadoFinal = resultado;
+        Exception erroFinal = erro;
+        SwingUtilities.invokeLater(() -> concluir(resultadoFinal, erroFinal));
+    }
+
+    private void concluir(T resultado, Exception erro) {
+        if (cancelada) {
+            return;
+        }
+        concluida = true;
+        desregistrar();
+        if (erro == null) {
+            sucesso.aoConcluir(resultado);
+        } else if (falha != null) {
+            falha.aoFalhar(erro);
+        }
+    }
+
+    private void registrar() {
+        if (janela == null) {
+            return;
+        }
+        List<TarefaAssincrona<?>> tarefas = PENDENTES.get(janela);
+        if (tarefas == null) {
+            tarefas = new ArrayList<>();
+            PENDENTES.put(janela, tarefas);
+            janela.addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentHidden(ComponentEvent evt) {
+                    cancelarTodas((Window) evt.getComponent(), false);
+                }
+            });
+            janela.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent evt) {
+                    cancelarTodas(evt.getWindow(), true);
+                }
+            });
+        }
+        tarefas.add(this);
+        janela.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    }
+
+    private void desregistrar() {
+        if (janela == null) {
+            return;
+        }
+        List<TarefaAssincrona<?>> tarefas = PENDENTES.get(janela);
+        if (tarefas != null && tarefas.remove(this) && tarefas.isEmpty()) {
+            janela.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    // Cancela as leituras da janela e, se ela foi descartada, descarta também o retorno das gravações.
+    private static void cancelarTodas(Window janela, boolean descartada) {
+        List<TarefaAssincrona<?>> tarefas = PENDENTES.get(janela);
+        if (tarefas != null) {
+            for (TarefaAssincrona<?> tarefa : new ArrayList<>(tarefas)) {
+                if (descartada || !tarefa.gravacao) {
+                    tarefa.cancelar();
+                }
+            }
+        }
+    }
+}
@@ -4,30 +4,148 @@
  */
 package view;
 
+import cache.CatalogoProdutos;
 import dao.ClienteDAO;
+import dao.FiltroVenda;
+import dao.FormatoExportacao;
 import dao.ProdutoDAO;
 import dao.VendaDAO;
-import java.sql.SQLException;
+import dao.VersaoTabelas;
+import evento.BarramentoEventos;
+import evento.VendaRegistrada;
+import java.awt.GridLayout;
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
-import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
 import model.Cliente;
+import model.Granularidade;
 import model.Produto;
 import model.Venda;
 
 public class VendaGUI extends javax.swing.JFrame {
 
+    // Versão da tabela exibida; a tela só recarrega ao ser ativada se ela tiver mudado.
+    private final VersaoExibida versaoExibida = new VersaoExibida(this, VersaoTabelas.Tabela.VENDA, this::listarTab);
+
+    private final VendasTableModel modelo = new VendasTableModel() {
+        @Override
+        protected void aoFalhar(Exception ex) {
+            JOptionPane.showMessageDialog(VendaGUI.this, "Erro ao listar vendas: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+        }
+
+        // A tabela ficou incompleta; a próxima ativação da tela a lê de novo.
+        @Override
+        protected void aoInterromper() {
+            versaoExibida.invalidar();
+        }
+    };
+
     /**
      * Creates new form VendaGUI
      */
     public VendaGUI() {
         initComponents();
+        montarMenu();
+        montarSeletorProduto();
+        modelo.instalar(tbProdutos);
+        ouvirEventos();
         setLocationRelativeTo(null);
     }
 
+    // Acrescenta à tabela as vendas registradas por qualquer tela, sem reconsultar o banco.
+    // Cada evento traz a versão da tabela de vendas após o registro.
+    private void ouvirEventos() {
+        BarramentoEventos.getInstancia().inscreverNaTela(this, VendaRegistrada.class, evento ->
+            versaoExibida.aplicar(evento.getVersaoVendas(), () -> modelo.inserirLinha(evento.getVenda())));
+    }
+
+    private void filtrar() {
+        FiltroVenda filtro = modelo.getFiltro();
+        JTextField cxFiltroInicio = new JTextField(filtro.getInicio() == null ? "" : filtro.getInicio().toString(), 12);
+        JTextField cxFiltroFim = new JTextField(filtro.getFim() == null ? "" : filtro.getFim().toString(), 12);
+        JTextField cxFiltroProduto = new JTextField(filtro.getProduto(), 20);
+        JPanel painel = new JPanel(new GridLayout(0, 2, 5, 5));
+        painel.add(new JLabel("Data inicial (AAAA-MM-DD):"));
+        painel.add(cxFiltroInicio);
+        painel.add(new JLabel("Data final (AAAA-MM-DD):"));
+        painel.add(cxFiltroFim);
+        painel.add(new JLabel("Produto começa com:"));
+        painel.add(cxFiltroProduto);
+        if (JOptionPane.showConfirmDialog(this, painel, "Filtrar Vendas", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        try {
+            LocalDate inicio = cxFiltroInicio.getText().isBlank() ? null : LocalDate.parse(cxFiltroInicio.getText().trim());
+            LocalDate fim = cxFiltroFim.getText().isBlank() ? null : LocalDate.parse(cxFiltroFim.getText().trim());
+            aplicarFiltro(new FiltroVenda(inicio, fim, cxFiltroProduto.getText()));
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "A data deve estar no formato AAAA-MM-DD.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void aplicarFiltro(FiltroVenda novo) {
+        modelo.setFiltro(novo);
+        setTitle(novo.isAtivo() ? "Gerenciar Vendas (filtrado)" : "Gerenciar Vendas");
+        modelo.recarregar();
+    }
+
+    // O campo de produto aceita o ID ou parte do nome/categoria; neste caso, sugere produtos
+    // do catálogo em memória com preço e estoque, sem consultar o banco.
+    private void montarSeletorProduto() {
+        cxProdutoID.setToolTipText("ID do produto, ou parte do nome ou da categoria");
+        CampoSugestoes<Produto> seletor = new CampoSugestoes<>(cxProdutoID, texto -> {
+            if (texto.chars().allMatch(Character::isDigit)) {
+                return List.of();
+            }
+            return CatalogoProdutos.getInstancia().buscar(texto, CatalogoProdutos.LIMITE_PADRAO);
+        }, produto -> {
+            cxProdutoID.setText(String.valueOf(produto.getProdutoId()));
+            cxQuantidade.requestFocusInWindow();
+        });
+        seletor.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public java.awt.Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                Produto produto = (Produto) value;
+                String texto = String.format("%d - %s (%s)   %s   Estoque: %d", produto.getProdutoId(), produto.getNome(),
+                        produto.getCategoria(), produto.getPrecoUnitario().formatar(), produto.getQuantidade());
+                return super.getListCellRendererComponent(list, texto, index, isSelected, cellHasFocus);
+            }
+        });
+    }
+
+    private void montarMenu() {
+        JMenuBar barraMenu = new JMenuBar();
+        JMenu menuArquivo = new JMenu("Arquivo");
+        JMenuItem itemExportar = new JMenuItem("Exportar vendas...");
+        itemExportar.addActionListener(evt -> exportarVendas());
+        menuArquivo.add(itemExportar);
+        barraMenu.add(menuArquivo);
+        JMenu menuExibir = new JMenu("Exibir");
+        JMenuItem itemFiltrar = new JMenuItem("Filtrar...");
+        itemFiltrar.addActionListener(evt -> filtrar());
+        JMenuItem itemRemoverFiltro = new JMenuItem("Remover filtro");
+        itemRemoverFiltro.addActionListener(evt -> aplicarFiltro(new FiltroVenda()));
+        menuExibir.add(itemFiltrar);
+        menuExibir.add(itemRemoverFiltro);
+        barraMenu.add(menuExibir);
+        setJMenuBar(barraMenu);
+        pack();
+    }
+
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -202,7 +320,7 @@ public class VendaGUI extends javax.swing.JFrame {
         btAdicionar1.setBackground(new java.awt.Color(102, 102, 255));
         btAdicionar1.setFont(new java.awt.Font("Yu Gothic UI Semibold", 0, 14)); // NOI18N
         btAdicionar1.setForeground(new java.awt.Color(255, 255, 255));
-        btAdicionar1.setText("Ver Relatório Mensal");
+        btAdicionar1.setText("Ver Relatórios");
         btAdicionar1.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 btAdicionar1ActionPerformed(evt);
@@ -323,55 +441,81 @@ public class VendaGUI extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
 
     private void btAdicionarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionarActionPerformed
+        // 1. Validar os campos da tela.
+        int produtoId;
+        int quantidade;
+        LocalDate dataVenda;
+        String clienteId = cxClienteID.getText();
         try {
-            // 1. Validar e buscar objetos dependentes.
-            int produtoId = Integer.parseInt(cxProdutoID.getText());
-            String clienteId = cxClienteID.getText();
+            produtoId = Integer.parseInt(cxProdutoID.getText());
             
             // Validação básica para garantir que os campos não estão vazios.
             if (clienteId.trim().isEmpty() || cxDataForm.getText().trim().replace("-", "").isEmpty()) {
                 JOptionPane.showMessageDialog(this, "Todos os campos devem ser preenchidos.", "Erro de Validação", JOptionPane.WARNING_MESSAGE);
                 return;
             }
+            dataVenda = LocalDate.parse(cxDataForm.getText());
+            quantidade = Integer.parseInt(cxQuantidade.getText());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "ID do produto e quantidade devem ser números válidos.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "A data deve estar no formato AAAA-MM-DD.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            // Consulta o produto para garantir que ele existe.
-            ProdutoDAO produtoController = new ProdutoDAO();
-            Produto produto = produtoController.consultarProduto(produtoId);
+        // 2. Buscar os objetos dependentes e registrar a venda fora da thread de eventos.
+        //    Quando o produto ou o cliente não existe, a operação lança RegistroNaoEncontrado.
+        //    O botão fica desabilitado até a resposta, para que um duplo clique não registre a
+        //    venda duas vezes.
+        btAdicionar.setEnabled(false);
+        TarefaAssincrona.executarGravacao(this, () -> {
+            // Consulta o produto para garantir que ele existe. Com o catálogo carregado, a consulta
+            // é feita em memória; o estoque é conferido de novo pelo VendaDAO, dentro da transação.
+            Produto produto = new ProdutoDAO().consultarProduto(produtoId);
             if (produto == null) {
-                JOptionPane.showMessageDialog(this, "Produto com ID " + produtoId + " não encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
-                return;
+                throw new RegistroNaoEncontrado("Produto com ID " + produtoId + " não encontrado.");
             }
             
             // Consulta o cliente para garantir que ele existe.
             ClienteDAO clienteController = new ClienteDAO();
             Cliente cliente = clienteController.consultarCliente(clienteId);
             if (cliente == null) {
-                JOptionPane.showMessageDialog(this, "Cliente com CPF/CNPJ " + clienteId + " não encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
-                return;
+                throw new RegistroNaoEncontrado("Cliente com CPF/CNPJ " + clienteId + " não encontrado.");
             }
 
-            // 2. Criar o objeto Venda com os dados validados.
+            // Criar o objeto Venda com os dados validados.
             Venda venda = new Venda();
             venda.setCliente(cliente);
             venda.setProduto(produto);
-            venda.setDataVenda(LocalDate.parse(cxDataForm.getText()));
-            venda.setQuantidade(Integer.parseInt(cxQuantidade.getText()));
+            venda.setDataVenda(dataVenda);
+            venda.setQuantidade(quantidade);
             
             // 3. Chamar o DAO para inserir a venda. A lógica transacional complexa está no DAO.
             VendaDAO vendaController = new VendaDAO();
-            vendaController.inserir(venda);
-            
-            // 4. Feedback de sucesso e atualização da interface.
+            return vendaController.inserir(venda);
+        }, registrada -> {
+            btAdicionar.setEnabled(true);
+            // 4. Feedback de sucesso. A tabela recebe a nova venda pelo evento publicado pelo DAO.
             JOptionPane.showMessageDialog(this, "Venda registrada com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
             limpar();
-            listarTab();
+        }, ex -> {
+            btAdicionar.setEnabled(true);
+            if (ex instanceof RegistroNaoEncontrado) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Erro ao registrar venda: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }//GEN-LAST:event_btAdicionarActionPerformed
 
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "ID do produto e quantidade devem ser números válidos.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao registrar venda: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+    // O produto ou o cliente informado na venda não existe.
+    private static final class RegistroNaoEncontrado extends Exception {
+
+        RegistroNaoEncontrado(String mensagem) {
+            super(mensagem);
         }
-    }//GEN-LAST:event_btAdicionarActionPerformed
+    }
 
     private void cxClienteIDActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cxClienteIDActionPerformed
         // TODO add your handling code here:
@@ -394,6 +538,19 @@ public class VendaGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_cxDataFormActionPerformed
 
     private void btAdicionar1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionar1ActionPerformed
+        String[] opcoes = {"Mensal", "Por período", "Por categoria", "Cancelar"};
+        int escolha = JOptionPane.showOptionDialog(this, "Qual relatório deseja gerar?", "Relatórios",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, opcoes, opcoes[0]);
+        if (escolha == 0) {
+            abrirRelatorioMensal();
+        } else if (escolha == 1) {
+            abrirRelatorioPeriodo();
+        } else if (escolha == 2) {
+            abrirRelatorioCategorias();
+        }
+    }//GEN-LAST:event_btAdicionar1ActionPerformed
+
+    private void abrirRelatorioMensal() {
         String mesStr = JOptionPane.showInputDialog(this, "Informe o mês (1-12)", "Relatório Mensal", JOptionPane.QUESTION_MESSAGE);
         String anoStr = JOptionPane.showInputDialog(this, "Informe o ano (AAAA)", "Relatório Mensal", JOptionPane.QUESTION_MESSAGE);
         
@@ -412,11 +569,107 @@ public class VendaGUI extends javax.swing.JFrame {
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Mês e ano devem ser números.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
         }
-        
-    }//GEN-LAST:event_btAdicionar1ActionPerformed
+    }
+
+    private void abrirRelatorioPeriodo() {
+        YearMonth[] intervalo = pedirIntervaloDeMeses("Relatório por Período");
+        if (intervalo == null) {
+            return;
+        }
+        Granularidade granularidade = (Granularidade) JOptionPane.showInputDialog(this, "Agrupar por", "Relatório por Período",
+                JOptionPane.QUESTION_MESSAGE, null, Granularidade.values(), Granularidade.MES);
+        if (granularidade == null) {
+            return;
+        }
+        new RelatorioTendencia(intervalo[0], intervalo[1], granularidade).setVisible(true);
+    }
+
+    private void abrirRelatorioCategorias() {
+        YearMonth[] intervalo = pedirIntervaloDeMeses("Relatório por Categoria");
+        if (intervalo != null) {
+            new RelatorioCategorias(intervalo[0], intervalo[1]).setVisible(true);
+        }
+    }
+
+    /**
+     * Pede ao usuário o mês inicial e o final de um relatório.
+     * Retorna null se o usuário cancelar ou informar um intervalo inválido (neste caso, após avisá-lo).
+     */
+    private YearMonth[] pedirIntervaloDeMeses(String titulo) {
+        String inicioStr = JOptionPane.showInputDialog(this, "Informe o mês inicial (MM/AAAA)", titulo, JOptionPane.QUESTION_MESSAGE);
+        if (inicioStr == null) {
+            return null;
+        }
+        String fimStr = JOptionPane.showInputDialog(this, "Informe o mês final (MM/AAAA)", titulo, JOptionPane.QUESTION_MESSAGE);
+        if (fimStr == null) {
+            return null;
+        }
+
+        try {
+            DateTimeFormatter formato = DateTimeFormatter.ofPattern("M/yyyy");
+            YearMonth inicio = YearMonth.parse(inicioStr.trim(), formato);
+            YearMonth fim = YearMonth.parse(fimStr.trim(), formato);
+
+            if (inicio.isAfter(fim) || inicio.getYear() < 2000) {
+                JOptionPane.showMessageDialog(this, "Por favor, insira um intervalo de meses válido.", "Entrada Inválida", JOptionPane.ERROR_MESSAGE);
+                return null;
+            }
+            return new YearMonth[]{inicio, fim};
+
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Os meses devem estar no formato MM/AAAA.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
+
+    private void exportarVendas() {
+        FormatoExportacao formato = (FormatoExportacao) JOptionPane.showInputDialog(this, "Formato do arquivo", "Exportar Vendas",
+                JOptionPane.QUESTION_MESSAGE, null, FormatoExportacao.values(), FormatoExportacao.CSV);
+        if (formato == null) {
+            return;
+        }
+        boolean gzip = JOptionPane.showConfirmDialog(this, "Deseja compactar o arquivo (gzip)?", "Exportar Vendas", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+
+        String inicioStr = JOptionPane.showInputDialog(this, "Data inicial (AAAA-MM-DD) ou vazio para todas", "Exportar Vendas", JOptionPane.QUESTION_MESSAGE);
+        if (inicioStr == null) {
+            return;
+        }
+        String fimStr = JOptionPane.showInputDialog(this, "Data final (AAAA-MM-DD) ou vazio para todas", "Exportar Vendas", JOptionPane.QUESTION_MESSAGE);
+        if (fimStr == null) {
+            return;
+        }
+
+        LocalDate inicio;
+        LocalDate fim;
+        try {
+            inicio = inicioStr.trim().isEmpty() ? null : LocalDate.parse(inicioStr.trim());
+            fim = fimStr.trim().isEmpty() ? null : LocalDate.parse(fimStr.trim());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "As datas devem estar no formato AAAA-MM-DD.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        JFileChooser seletor = new JFileChooser();
+        seletor.setSelectedFile(new File("vendas" + formato.getExtensao() + (gzip ? ".gz" : "")));
+        if (seletor.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        // A exportação pode levar bastante tempo em bases grandes; roda fora da thread de eventos.
+        TarefaAssincrona.executar(this,
+                () -> new VendaDAO().exportarVendas(seletor.getSelectedFile().toPath(), formato, gzip, inicio, fim),
+                total -> JOptionPane.showMessageDialog(this, total + " venda(s) exportada(s) com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE),
+                ex -> {
+                    if (ex instanceof IOException) {
+                        JOptionPane.showMessageDialog(this, "Erro ao gravar o arquivo: \n" + ex.getMessage(), "Erro de Arquivo", JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Erro ao exportar vendas: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
+    }
 
     private void formWindowActivated(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_formWindowActivated
-        listarTab();
+        versaoExibida.verificar();
     }//GEN-LAST:event_formWindowActivated
 
     private void btAdicionar2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btAdicionar2ActionPerformed
@@ -428,32 +681,9 @@ public class VendaGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_btConsultar2ActionPerformed
 
     public void listarTab(){
-        DefaultTableModel modelo = (DefaultTableModel) tbProdutos.getModel();
-        modelo.setRowCount(0);
-        
-        try {
-            VendaDAO vendaController = new VendaDAO();
-            List<Venda> vendas = vendaController.listarVendas();
-            for (Venda venda : vendas) { 
-                modelo.addRow(new Object[]{
-                    venda.getCliente().getIdentificador(),
-                    venda.getProduto().getProdutoId(),
-                    venda.getProduto().getNome(),
-                    venda.getQuantidade(),
-                    venda.getDataVenda(),
-                    venda.getValorTotal()
-                });
-            }
-            
-            DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
-            centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
-            for (int i = 0; i < tbProdutos.getColumnCount(); i++) {
-                tbProdutos.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Erro ao listar vendas: \n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        }
-        
+        // Recarrega apenas a primeira página; as demais são lidas conforme a rolagem.
+        versaoExibida.marcarAtual();
+        modelo.recarregar();
     }
     
     public void limpar(){
@@ -467,7 +697,8 @@ public class VendaGUI extends javax.swing.JFrame {
     public void sair(){
         int resp = JOptionPane.showConfirmDialog(this, "Deseja realmente sair?", "Sair", JOptionPane.YES_NO_OPTION);
         if(resp == JOptionPane.YES_OPTION){
-            dispose();
+            // Apenas oculta: a tela é reaproveitada pelo menu (ver Janelas).
+            setVisible(false);
         }
     }
     
@@ -0,0 +1,207 @@
+package view;
+
+import dao.FiltroVenda;
+import dao.OrdenacaoVenda;
+import dao.VendaDAO;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import model.Venda;
+import model.VendasColunares;
+
+/**
+ * Modelo da tabela de vendas que lê as células diretamente de uma {@link VendasColunares}.
+ * <p>
+ * Todas as vendas do filtro são lidas de uma vez, em modo streaming e fora da thread de eventos;
+ * as linhas aparecem na tabela em lotes, conforme chegam. Como cada venda ocupa apenas alguns
+ * valores primitivos, a tabela comporta milhões de linhas, e os objetos exibidos (datas, valores)
+ * só são criados para as células que a tabela desenha.
+ * <p>
+ * Os métodos desta classe devem ser chamados na thread de eventos.
+ */
+public class VendasTableModel extends AbstractTableModel {
+
+    private static final String[] COLUNAS = {"ID Cliente", "ID Produto", "Produto", "Quantidade", "Data", "Lucro"};
+    private static final int COLUNA_DATA = 4;
+
+    private VendasColunares vendas = new VendasColunares();
+    // Linhas já anunciadas à tabela; pode ser menor que vendas.tamanho() entre dois lotes.
+    private int linhasExibidas = 0;
+    private TarefaAssincrona<Void> carga;
+    private boolean carregando = false;
+    private FiltroVenda filtro = new FiltroVenda();
+    private final OrdenacaoVenda ordem = OrdenacaoVenda.DATA;
+    private boolean decrescente = false;
+    private JTable tabela;
+
+    /**
+     * Chamado quando a leitura das vendas falha.
+     */
+    protected void aoFalhar(Exception ex) {
+    }
+
+    /**
+     * Chamado quando a leitura é cancelada antes de terminar, porque a janela foi fechada.
+     * A tabela fica só com parte das vendas; quem a exibe deve recarregá-la ao ser reaberto.
+     */
+    protected void aoInterromper() {
+    }
+
+    public FiltroVenda getFiltro() {
+        return filtro;
+    }
+
+    /**
+     * Define o filtro aplicado pelo banco. A tabela só muda após {@link #recarregar()}.
+     */
+    public void setFiltro(FiltroVenda filtro) {
+        this.filtro = filtro;
+    }
+
+    /**
+     * Associa o modelo à tabela, centraliza o conteúdo e ativa a inversão da ordem por data
+     * ao clicar no cabeçalho. As larguras de coluna definidas no editor de formulários são preservadas.
+     */
+    public void instalar(JTable tabela) {
+        int[] larguras = new int[tabela.getColumnCount()];
+        for (int i = 0; i < larguras.length; i++) {
+            larguras[i] = tabela.getColumnModel().getColumn(i).getPreferredWidth();
+        }
+        this.tabela = tabela;
+        tabela.setModel(this);
+
+        DefaultTableCellRenderer centralizarRenderer = new DefaultTableCellRenderer();
+        centralizarRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        for (int i = 0; i < tabela.getColumnCount(); i++) {
+            tabela.getColumnModel().getColumn(i).setCellRenderer(centralizarRenderer);
+            if (i < larguras.length) {
+                tabela.getColumnModel().getColumn(i).setPreferredWidth(larguras[i]);
+            }
+        }
+
+        tabela.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent evt) {
+                if (tabela.convertColumnIndexToModel(tabela.columnAtPoint(evt.getPoint())) == COLUNA_DATA) {
+                    decrescente = !decrescente;
+                    recarregar();
+                }
+            }
+        });
+    }
+
+    /**
+     * Descarta as linhas exibidas e lê novamente todas as vendas do filtro.
+     * Uma leitura ainda em andamento é cancelada.
+     */
+    public void recarregar() {
+        // A leitura anterior é cancelada depois da troca da lista, para que o seu cancelamento
+        // não seja tratado como uma interrupção da nova.
+        TarefaAssincrona<Void> anterior = carga;
+        VendasColunares destino = new VendasColunares();
+        vendas = destino;
+        linhasExibidas = 0;
+        carregando = true;
+        fireTableDataChanged();
+        if (anterior != null) {
+            anterior.cancelar();
+        }
+
+        // Chamado na thread da leitura a cada lote; a tabela é avisada na thread de eventos.
+        destino.setAoPublicar(() -> SwingUtilities.invokeLater(() -> exibirPublicadas(destino)));
+        FiltroVenda filtroPedido = filtro;
+        boolean decrescentePedido = decrescente;
+        carga = TarefaAssincrona.executar(tabela, () -> {
+            new VendaDAO().lerVendasColunares(ordem, decrescentePedido, filtroPedido, destino);
+            return null;
+        }, nada -> {
+            carregando = false;
+            exibirPublicadas(destino);
+        }, ex -> {
+            carregando = false;
+            aoFalhar(ex);
+        });
+        carga.aoCancelar(() -> {
+            if (destino == vendas) {
+                carregando = false;
+                exibirPublicadas(destino);
+                aoInterromper();
+            }
+        });
+    }
+
+    private void exibirPublicadas(VendasColunares destino) {
+        if (destino != vendas) {
+            return;
+        }
+        int total = destino.tamanho();
+        if (total > linhasExibidas) {
+            int primeira = linhasExibidas;
+            linhasExibidas = total;
+            fireTableRowsInserted(primeira, total - 1);
+        }
+    }
+
+    /**
+     * Acrescenta uma venda recém-registrada sem consultar o banco, desde que ela atenda ao
+     * filtro. A lista por colunas só cresce no fim; se a venda não ficar depois da última
+     * linha na ordem atual, ou se a leitura ainda estiver em andamento, a tabela é recarregada.
+     */
+    public void inserirLinha(Venda nova) {
+        if (!filtro.aceita(nova)) {
+            return;
+        }
+        int ultima = linhasExibidas - 1;
+        if (!carregando && (ultima < 0 || ficaDepoisDe(nova, ultima))) {
+            vendas.adicionar(nova);
+            vendas.publicar();
+            exibirPublicadas(vendas);
+        } else {
+            recarregar();
+        }
+    }
+
+    // Compara pela data e, em caso de empate, pelo ID, na direção atual.
+    private boolean ficaDepoisDe(Venda nova, int linha) {
+        int cmp = nova.getDataVenda().compareTo(vendas.getData(linha));
+        if (cmp == 0) {
+            cmp = Integer.compare(nova.getId(), vendas.getVendaId(linha));
+        }
+        return decrescente ? cmp < 0 : cmp > 0;
+    }
+
+    public boolean isCarregando() {
+        return carregando;
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhasExibidas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        switch (coluna) {
+            case 0: return vendas.getClienteId(linha);
+            case 1: return vendas.getProdutoId(linha);
+            case 2: return vendas.getProdutoNome(linha);
+            case 3: return vendas.getQuantidade(linha);
+            case 4: return vendas.getData(linha);
+            default: return vendas.getLucro(linha);
+        }
+    }
+}
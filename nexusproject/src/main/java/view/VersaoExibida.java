@@ -0,0 +1,73 @@
+package view;
+
+import dao.VersaoTabelas;
+import java.awt.Window;
+
+/**
+ * Versão de uma tabela cujos dados uma tela exibe.
+ * <p>
+ * A tela marca a versão atual ao começar a ler a tabela ({@link #marcarAtual()}) e, ao ser
+ * ativada, recarrega se a tabela mudou desde então ({@link #verificar()}). Os eventos de
+ * alteração trazem a versão que a tabela passou a ter: o evento da versão seguinte à exibida é
+ * aplicado à tela; o de uma versão já lida é ignorado, porque a alteração já está nos dados;
+ * se houver versões perdidas no meio, a tela recarrega. Deve ser usada na thread de eventos.
+ */
+final class VersaoExibida {
+
+    private final Window janela;
+    private final VersaoTabelas.Tabela tabela;
+    private final Runnable recarregar;
+    private long versao = -1;
+
+    /**
+     * @param janela A tela que exibe os dados.
+     * @param tabela A tabela exibida.
+     * @param recarregar Lê de novo a tabela; deve chamar {@link #marcarAtual()}.
+     */
+    VersaoExibida(Window janela, VersaoTabelas.Tabela tabela, Runnable recarregar) {
+        this.janela = janela;
+        this.tabela = tabela;
+        this.recarregar = recarregar;
+    }
+
+    /**
+     * Marca como exibida a versão atual da tabela, antes de lê-la.
+     */
+    void marcarAtual() {
+        versao = VersaoTabelas.versao(tabela);
+    }
+
+    /**
+     * Esquece a versão exibida; a próxima ativação da tela lê a tabela de novo.
+     */
+    void invalidar() {
+        versao = -1;
+    }
+
+    /**
+     * Recarrega a tabela se ela mudou desde a versão exibida.
+     */
+    void verificar() {
+        if (VersaoTabelas.versao(tabela) != versao) {
+            recarregar.run();
+        }
+    }
+
+    /**
+     * Aplica à tela a alteração de um evento, conforme a versão que ele traz.
+     *
+     * @param versaoEvento A versão da tabela após a alteração.
+     * @param alteracao Aplica a alteração aos dados exibidos.
+     */
+    void aplicar(long versaoEvento, Runnable alteracao) {
+        if (versao < 0 || versaoEvento <= versao) {
+            return; // Dados a reler na próxima ativação, ou alteração já refletida nos dados lidos.
+        }
+        if (versaoEvento == versao + 1) {
+            alteracao.run();
+            versao = versaoEvento;
+        } else if (janela.isShowing()) {
+            recarregar.run(); // Alterações perdidas no meio.
+        }
+    }
+}
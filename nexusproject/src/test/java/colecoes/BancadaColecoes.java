@@ -0,0 +1,401 @@
+package colecoes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compara o tempo e a memória das tabelas do pacote com HashMap e HashSet, no uso que os
+ * caches fazem delas: encher a tabela, consultar chaves presentes e ausentes, e remover e
+ * incluir de novo parte das chaves.
+ * <p>
+ * Não é executada pelos testes. Para rodar:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.mainClass=colecoes.BancadaColecoes -Dexec.classpathScope=test
+ * </pre>
+ * Os tamanhos podem ser trocados com {@code -Dcolecoes.tamanhos=1000,100000,1000000}. Os tempos
+ * são a mediana de várias rodadas, depois de rodadas de aquecimento; a memória é a diferença do
+ * heap usado antes e depois de criar as tabelas cheias, e serve só como ordem de grandeza.
+ */
+public final class BancadaColecoes {
+
+    private static final int AQUECIMENTO = 5;
+    private static final int RODADAS = 11;
+
+    private static final Object VALOR = new Object();
+
+    // As chaves de texto são criadas uma vez por vetor de chaves, como os identificadores
+    // que o índice de clientes recebe já prontos.
+    private static final Map<int[], String[]> TEXTOS = new HashMap<>();
+
+    // Evita que o JIT descarte as operações cujo resultado não é usado.
+    private static long descarte;
+
+    /**
+     * Uma estrutura sob medição.
+     */
+    private interface Caso {
+        /** Cria a estrutura e inclui todas as chaves. */
+        Object encher(int[] chaves);
+
+        /** Consulta cada chave e retorna um valor derivado das respostas. */
+        long consultar(Object tabela, int[] chaves);
+
+        /** Remove e inclui de novo cada chave. */
+        long trocar(Object tabela, int[] chaves);
+    }
+
+    private BancadaColecoes() {
+    }
+
+    public static void main(String[] args) {
+        int[] tamanhos = Arrays.stream(System.getProperty("colecoes.tamanhos", "1000,100000,1000000").split(","))
+                .mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+        for (int tamanho : tamanhos) {
+            Random sorteio = new Random(tamanho);
+            int[] presentes = sorteio.ints(tamanho, 1, Integer.MAX_VALUE).distinct().toArray();
+            int[] ausentes = sorteio.ints(presentes.length, Integer.MIN_VALUE, 0).toArray();
+            int[] trocadas = Arrays.copyOf(presentes, presentes.length / 4);
+            System.out.printf("%n%,d chaves%n", presentes.length);
+            System.out.printf("%-28s %12s %12s %12s %12s %10s%n",
+                    "", "encher", "presentes", "ausentes", "trocar", "bytes/ent.");
+            medir("HashMap<Integer, Object>", hashMapObjeto(), presentes, ausentes, trocadas);
+            medir("MapaIntObjeto", mapaIntObjeto(), presentes, ausentes, trocadas);
+            medir("HashMap<Integer, Long>", hashMapLong(), presentes, ausentes, trocadas);
+            medir("MapaIntLong", mapaIntLong(), presentes, ausentes, null);
+            medir("HashSet<Integer>", hashSet(), presentes, ausentes, trocadas);
+            medir("ConjuntoInt", conjuntoInt(), presentes, ausentes, trocadas);
+            medir("HashMap<String, Integer>", hashMapTexto(), presentes, ausentes, trocadas);
+            medir("MapaTextoInt", mapaTextoInt(), presentes, ausentes, trocadas);
+        }
+        if (descarte == 42) {
+            System.out.println();
+        }
+    }
+
+    // Imprime ns por operação de cada etapa; trocadas null pula a etapa de remoção.
+    private static void medir(String nome, Caso caso, int[] presentes, int[] ausentes, int[] trocadas) {
+        long[] encher = new long[RODADAS];
+        long[] consultarPresentes = new long[RODADAS];
+        long[] consultarAusentes = new long[RODADAS];
+        long[] trocar = new long[RODADAS];
+        for (int r = -AQUECIMENTO; r < RODADAS; r++) {
+            long inicio = System.nanoTime();
+            Object tabela = caso.encher(presentes);
+            long fimEncher = System.nanoTime();
+            descarte += caso.consultar(tabela, presentes);
+            long fimPresentes = System.nanoTime();
+            descarte += caso.consultar(tabela, ausentes);
+            long fimAusentes = System.nanoTime();
+            if (trocadas != null) {
+                descarte += caso.trocar(tabela, trocadas);
+            }
+            long fimTrocar = System.nanoTime();
+            if (r >= 0) {
+                encher[r] = fimEncher - inicio;
+                consultarPresentes[r] = fimPresentes - fimEncher;
+                consultarAusentes[r] = fimAusentes - fimPresentes;
+                trocar[r] = fimTrocar - fimAusentes;
+            }
+        }
+        System.out.printf("%-28s %12.1f %12.1f %12.1f %12s %10.1f%n", nome,
+                porOperacao(encher, presentes.length),
+                porOperacao(consultarPresentes, presentes.length),
+                porOperacao(consultarAusentes, ausentes.length),
+                trocadas == null ? "-" : String.format("%.1f", porOperacao(trocar, 2 * trocadas.length)),
+                bytesPorEntrada(() -> caso.encher(presentes), presentes.length));
+    }
+
+    private static double porOperacao(long[] tempos, int operacoes) {
+        long[] ordenados = tempos.clone();
+        Arrays.sort(ordenados);
+        return (double) ordenados[ordenados.length / 2] / operacoes;
+    }
+
+    // Cria cópias suficientes para somar cerca de um milhão de entradas, para que a medida
+    // não fique abaixo do ruído do coletor nas tabelas pequenas.
+    private static double bytesPorEntrada(Supplier<Object> criar, int entradas) {
+        Object[] copias = new Object[Math.max(1, 1_000_000 / entradas)];
+        long antes = heapUsado();
+        for (int i = 0; i < copias.length; i++) {
+            copias[i] = criar.get();
+        }
+        long depois = heapUsado();
+        descarte += System.identityHashCode(copias[copias.length - 1]);
+        return (double) (depois - antes) / ((long) entradas * copias.length);
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Caso hashMapObjeto() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                Map<Integer, Object> mapa = new HashMap<>();
+                for (int chave : chaves) {
+                    mapa.put(chave, VALOR);
+                }
+                return mapa;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long consultar(Object tabela, int[] chaves) {
+                Map<Integer, Object> mapa = (Map<Integer, Object>) tabela;
+                long achados = 0;
+                for (int chave : chaves) {
+                    if (mapa.get(chave) != null) {
+                        achados++;
+                    }
+                }
+                return achados;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long trocar(Object tabela, int[] chaves) {
+                Map<Integer, Object> mapa = (Map<Integer, Object>) tabela;
+                for (int chave : chaves) {
+                    mapa.remove(chave);
+                    mapa.put(chave, VALOR);
+                }
+                return mapa.size();
+            }
+        };
+    }
+
+    private static Caso mapaIntObjeto() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                MapaIntObjeto<Object> mapa = new MapaIntObjeto<>();
+                for (int chave : chaves) {
+                    mapa.put(chave, VALOR);
+                }
+                return mapa;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long consultar(Object tabela, int[] chaves) {
+                MapaIntObjeto<Object> mapa = (MapaIntObjeto<Object>) tabela;
+                long achados = 0;
+                for (int chave : chaves) {
+                    if (mapa.get(chave) != null) {
+                        achados++;
+                    }
+                }
+                return achados;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long trocar(Object tabela, int[] chaves) {
+                MapaIntObjeto<Object> mapa = (MapaIntObjeto<Object>) tabela;
+                for (int chave : chaves) {
+                    mapa.remove(chave);
+                    mapa.put(chave, VALOR);
+                }
+                return mapa.size();
+            }
+        };
+    }
+
+    private static Caso hashMapLong() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                Map<Integer, Long> mapa = new HashMap<>();
+                for (int chave : chaves) {
+                    mapa.merge(chave, (long) chave, Long::sum);
+                }
+                return mapa;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long consultar(Object tabela, int[] chaves) {
+                Map<Integer, Long> mapa = (Map<Integer, Long>) tabela;
+                long soma = 0;
+                for (int chave : chaves) {
+                    soma += mapa.getOrDefault(chave, 0L);
+                }
+                return soma;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long trocar(Object tabela, int[] chaves) {
+                Map<Integer, Long> mapa = (Map<Integer, Long>) tabela;
+                for (int chave : chaves) {
+                    mapa.remove(chave);
+                    mapa.merge(chave, (long) chave, Long::sum);
+                }
+                return mapa.size();
+            }
+        };
+    }
+
+    private static Caso mapaIntLong() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                MapaIntLong mapa = new MapaIntLong();
+                for (int chave : chaves) {
+                    mapa.somar(chave, chave);
+                }
+                return mapa;
+            }
+
+            public long consultar(Object tabela, int[] chaves) {
+                MapaIntLong mapa = (MapaIntLong) tabela;
+                long soma = 0;
+                for (int chave : chaves) {
+                    soma += mapa.get(chave);
+                }
+                return soma;
+            }
+
+            public long trocar(Object tabela, int[] chaves) {
+                throw new UnsupportedOperationException("MapaIntLong não tem remoção.");
+            }
+        };
+    }
+
+    private static Caso hashSet() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                Set<Integer> conjunto = new HashSet<>();
+                for (int chave : chaves) {
+                    conjunto.add(chave);
+                }
+                return conjunto;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long consultar(Object tabela, int[] chaves) {
+                Set<Integer> conjunto = (Set<Integer>) tabela;
+                long achados = 0;
+                for (int chave : chaves) {
+                    if (conjunto.contains(chave)) {
+                        achados++;
+                    }
+                }
+                return achados;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long trocar(Object tabela, int[] chaves) {
+                Set<Integer> conjunto = (Set<Integer>) tabela;
+                for (int chave : chaves) {
+                    conjunto.remove(chave);
+                    conjunto.add(chave);
+                }
+                return conjunto.size();
+            }
+        };
+    }
+
+    private static Caso conjuntoInt() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                ConjuntoInt conjunto = new ConjuntoInt();
+                for (int chave : chaves) {
+                    conjunto.add(chave);
+                }
+                return conjunto;
+            }
+
+            public long consultar(Object tabela, int[] chaves) {
+                ConjuntoInt conjunto = (ConjuntoInt) tabela;
+                long achados = 0;
+                for (int chave : chaves) {
+                    if (conjunto.contains(chave)) {
+                        achados++;
+                    }
+                }
+                return achados;
+            }
+
+            public long trocar(Object tabela, int[] chaves) {
+                ConjuntoInt conjunto = (ConjuntoInt) tabela;
+                for (int chave : chaves) {
+                    conjunto.remove(chave);
+                    conjunto.add(chave);
+                }
+                return conjunto.size();
+            }
+        };
+    }
+
+    private static String[] textos(int[] chaves) {
+        return TEXTOS.computeIfAbsent(chaves, c -> Arrays.stream(c).mapToObj(Integer::toString).toArray(String[]::new));
+    }
+
+    private static Caso hashMapTexto() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                Map<String, Integer> mapa = new HashMap<>();
+                String[] textos = textos(chaves);
+                for (int i = 0; i < textos.length; i++) {
+                    mapa.put(textos[i], i);
+                }
+                return mapa;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long consultar(Object tabela, int[] chaves) {
+                Map<String, Integer> mapa = (Map<String, Integer>) tabela;
+                long soma = 0;
+                for (String texto : textos(chaves)) {
+                    Integer posicao = mapa.get(texto);
+                    soma += posicao == null ? -1 : posicao;
+                }
+                return soma;
+            }
+
+            @SuppressWarnings("unchecked")
+            public long trocar(Object tabela, int[] chaves) {
+                Map<String, Integer> mapa = (Map<String, Integer>) tabela;
+                String[] textos = textos(chaves);
+                for (int i = 0; i < textos.length; i++) {
+                    mapa.remove(textos[i]);
+                    mapa.put(textos[i], i);
+                }
+                return mapa.size();
+            }
+        };
+    }
+
+    private static Caso mapaTextoInt() {
+        return new Caso() {
+            public Object encher(int[] chaves) {
+                MapaTextoInt mapa = new MapaTextoInt();
+                String[] textos = textos(chaves);
+                for (int i = 0; i < textos.length; i++) {
+                    mapa.put(textos[i], i);
+                }
+                return mapa;
+            }
+
+            public long consultar(Object tabela, int[] chaves) {
+                MapaTextoInt mapa = (MapaTextoInt) tabela;
+                long soma = 0;
+                for (String texto : textos(chaves)) {
+                    soma += mapa.get(texto);
+                }
+                return soma;
+            }
+
+            public long trocar(Object tabela, int[] chaves) {
+                MapaTextoInt mapa = (MapaTextoInt) tabela;
+                String[] textos = textos(chaves);
+                for (int i = 0; i < textos.length; i++) {
+                    mapa.remove(textos[i]);
+                    mapa.put(textos[i], i);
+                }
+                return mapa.size();
+            }
+        };
+    }
+}
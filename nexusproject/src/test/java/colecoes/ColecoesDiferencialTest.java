@@ -0,0 +1,254 @@
+package colecoes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Confere as tabelas de endereçamento aberto do pacote contra HashMap e HashSet, com
+ * sequências aleatórias de inclusões, alterações, remoções e consultas.
+ * <p>
+ * Cada tabela é exercitada com dois conjuntos de chaves: uma faixa pequena ao redor de 0, que
+ * inclui a chave 0 (guardada à parte) e chaves negativas; e chaves escolhidas para cair na
+ * mesma posição inicial em tabelas de até 1024 posições, que formam as sequências longas em
+ * que a remoção precisa trazer entradas de volta (fecharLacuna). As operações alternam fases
+ * que enchem e que esvaziam a tabela. A cada operação o resultado e o tamanho são comparados;
+ * a cada fase, o conteúdo inteiro.
+ * <p>
+ * As sementes são fixas. O número de operações por caso pode ser aumentado com
+ * {@code -Dcolecoes.operacoes=10000000}.
+ */
+class ColecoesDiferencialTest {
+
+    private static final int OPERACOES = Integer.getInteger("colecoes.operacoes", 1_000_000);
+    private static final int OPERACOES_POR_FASE = 20_000;
+
+    // Chaves cuja posição inicial é a mesma em qualquer tabela de até 1024 posições.
+    private static final int[] CHAVES_COLIDENTES = colidentes(4_000);
+
+    @Test
+    void mapaIntObjetoComChavesPequenas() {
+        conferirMapaIntObjeto(new Random(11), chavesPequenas(new Random(12), 3_000));
+    }
+
+    @Test
+    void mapaIntObjetoComChavesColidentes() {
+        conferirMapaIntObjeto(new Random(13), chavesColidentes(new Random(14)));
+    }
+
+    @Test
+    void mapaIntLongComChavesPequenas() {
+        conferirMapaIntLong(new Random(21), chavesPequenas(new Random(22), 3_000));
+    }
+
+    @Test
+    void mapaIntLongComChavesColidentes() {
+        conferirMapaIntLong(new Random(23), chavesColidentes(new Random(24)));
+    }
+
+    @Test
+    void conjuntoIntComChavesPequenas() {
+        conferirConjuntoInt(new Random(31), chavesPequenas(new Random(32), 3_000));
+    }
+
+    @Test
+    void conjuntoIntComChavesColidentes() {
+        conferirConjuntoInt(new Random(33), chavesColidentes(new Random(34)));
+    }
+
+    @Test
+    void mapaTextoIntComChavesPequenas() {
+        IntSupplier chaves = chavesPequenas(new Random(42), 3_000);
+        conferirMapaTextoInt(new Random(41), () -> "c" + chaves.getAsInt());
+    }
+
+    @Test
+    void mapaTextoIntComChavesColidentes() {
+        // "Aa" e "BB" têm o mesmo hashCode; as combinações deles também.
+        Random sorteio = new Random(44);
+        conferirMapaTextoInt(new Random(43), () -> {
+            StringBuilder chave = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                chave.append(sorteio.nextBoolean() ? "Aa" : "BB");
+            }
+            return chave.toString();
+        });
+    }
+
+    private static void conferirMapaIntObjeto(Random sorteio, IntSupplier chaves) {
+        MapaIntObjeto<Integer> mapa = new MapaIntObjeto<>();
+        Map<Integer, Integer> esperado = new HashMap<>();
+        for (int n = 0; n < OPERACOES; n++) {
+            int chave = chaves.getAsInt();
+            int operacao = operacao(sorteio, n);
+            if (operacao == 0) {
+                Integer valor = sorteio.nextInt();
+                assertEquals(esperado.put(chave, valor), mapa.put(chave, valor), descrever(n, chave));
+            } else if (operacao == 1) {
+                assertEquals(esperado.remove(chave), mapa.remove(chave), descrever(n, chave));
+            } else if (operacao == 2) {
+                Integer valor = sorteio.nextInt();
+                assertEquals(esperado.computeIfAbsent(chave, c -> valor),
+                        mapa.computeIfAbsent(chave, c -> valor), descrever(n, chave));
+            } else {
+                assertEquals(esperado.get(chave), mapa.get(chave), descrever(n, chave));
+                assertEquals(esperado.containsKey(chave), mapa.containsKey(chave), descrever(n, chave));
+            }
+            assertEquals(esperado.size(), mapa.size(), descrever(n, chave));
+            if (fimDeFase(n)) {
+                Map<Integer, Integer> conteudo = new HashMap<>();
+                mapa.forEach(conteudo::put);
+                assertEquals(esperado, conteudo, descrever(n, chave));
+                if (sorteio.nextInt(8) == 0) {
+                    mapa.clear();
+                    esperado.clear();
+                }
+            }
+        }
+    }
+
+    private static void conferirMapaIntLong(Random sorteio, IntSupplier chaves) {
+        // MapaIntLong não tem remoção: as fases alternam inclusões e somas, e a tabela é
+        // recriada de tempos em tempos para voltar a crescer.
+        MapaIntLong mapa = new MapaIntLong();
+        Map<Integer, Long> esperado = new HashMap<>();
+        for (int n = 0; n < OPERACOES; n++) {
+            int chave = chaves.getAsInt();
+            int operacao = sorteio.nextInt(3);
+            if (operacao == 0) {
+                long valor = sorteio.nextLong();
+                esperado.put(chave, valor);
+                mapa.put(chave, valor);
+            } else if (operacao == 1) {
+                long valor = sorteio.nextInt(1_000);
+                esperado.merge(chave, valor, Long::sum);
+                mapa.somar(chave, valor);
+            } else {
+                assertEquals(esperado.getOrDefault(chave, 0L).longValue(), mapa.get(chave), descrever(n, chave));
+                assertEquals(esperado.containsKey(chave), mapa.containsKey(chave), descrever(n, chave));
+            }
+            assertEquals(esperado.size(), mapa.size(), descrever(n, chave));
+            if (fimDeFase(n)) {
+                Map<Integer, Long> conteudo = new HashMap<>();
+                mapa.forEach(conteudo::put);
+                assertEquals(esperado, conteudo, descrever(n, chave));
+                if (sorteio.nextInt(4) == 0) {
+                    mapa = new MapaIntLong(sorteio.nextInt(64));
+                    esperado.clear();
+                }
+            }
+        }
+    }
+
+    private static void conferirConjuntoInt(Random sorteio, IntSupplier chaves) {
+        ConjuntoInt conjunto = new ConjuntoInt();
+        Set<Integer> esperado = new HashSet<>();
+        for (int n = 0; n < OPERACOES; n++) {
+            int chave = chaves.getAsInt();
+            int operacao = operacao(sorteio, n);
+            if (operacao == 0 || operacao == 2) {
+                assertEquals(esperado.add(chave), conjunto.add(chave), descrever(n, chave));
+            } else if (operacao == 1) {
+                assertEquals(esperado.remove(chave), conjunto.remove(chave), descrever(n, chave));
+            } else {
+                assertEquals(esperado.contains(chave), conjunto.contains(chave), descrever(n, chave));
+            }
+            assertEquals(esperado.size(), conjunto.size(), descrever(n, chave));
+            if (fimDeFase(n)) {
+                Set<Integer> conteudo = new HashSet<>();
+                conjunto.forEach(conteudo::add);
+                assertEquals(esperado, conteudo, descrever(n, chave));
+                Set<Integer> vetor = new HashSet<>();
+                for (int valor : conjunto.paraVetor()) {
+                    vetor.add(valor);
+                }
+                assertEquals(esperado, vetor, descrever(n, chave));
+                if (sorteio.nextInt(8) == 0) {
+                    conjunto.clear();
+                    esperado.clear();
+                }
+            }
+        }
+    }
+
+    private static void conferirMapaTextoInt(Random sorteio, Supplier<String> chaves) {
+        MapaTextoInt mapa = new MapaTextoInt();
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int n = 0; n < OPERACOES; n++) {
+            String chave = chaves.get();
+            int operacao = operacao(sorteio, n);
+            if (operacao == 0 || operacao == 2) {
+                int valor = sorteio.nextInt(Integer.MAX_VALUE);
+                esperado.put(chave, valor);
+                mapa.put(chave, valor);
+            } else if (operacao == 1) {
+                Integer anterior = esperado.remove(chave);
+                assertEquals(anterior == null ? MapaTextoInt.AUSENTE : anterior.intValue(), mapa.remove(chave),
+                        descrever(n, chave));
+            } else {
+                assertEquals(esperado.getOrDefault(chave, MapaTextoInt.AUSENTE).intValue(), mapa.get(chave), descrever(n, chave));
+                assertEquals(esperado.containsKey(chave), mapa.containsKey(chave), descrever(n, chave));
+            }
+            assertEquals(esperado.size(), mapa.size(), descrever(n, chave));
+            if (fimDeFase(n)) {
+                for (Map.Entry<String, Integer> entrada : esperado.entrySet()) {
+                    assertEquals(entrada.getValue().intValue(), mapa.get(entrada.getKey()), descrever(n, entrada.getKey()));
+                }
+                if (sorteio.nextInt(8) == 0) {
+                    mapa.clear();
+                    esperado.clear();
+                }
+            }
+        }
+    }
+
+    // 0 inclui, 1 remove, 2 inclui se ausente, 3 consulta. Fases pares enchem a tabela,
+    // fases ímpares a esvaziam.
+    private static int operacao(Random sorteio, int n) {
+        boolean enchendo = (n / OPERACOES_POR_FASE) % 2 == 0;
+        int sorteado = sorteio.nextInt(10);
+        if (sorteado < 4) {
+            return enchendo ? 0 : 1;
+        }
+        if (sorteado < 6) {
+            return enchendo ? 1 : 0;
+        }
+        return sorteado < 8 ? 2 : 3;
+    }
+
+    private static boolean fimDeFase(int n) {
+        return (n + 1) % OPERACOES_POR_FASE == 0;
+    }
+
+    private static IntSupplier chavesPequenas(Random sorteio, int faixa) {
+        return () -> sorteio.nextInt(2 * faixa + 1) - faixa;
+    }
+
+    private static IntSupplier chavesColidentes(Random sorteio) {
+        return () -> CHAVES_COLIDENTES[sorteio.nextInt(CHAVES_COLIDENTES.length)];
+    }
+
+    private static int[] colidentes(int quantidade) {
+        List<Integer> chaves = new ArrayList<>();
+        int alvo = EnderecamentoAberto.espalhar(1) & 1023;
+        for (int chave = 1; chaves.size() < quantidade; chave++) {
+            if ((EnderecamentoAberto.espalhar(chave) & 1023) == alvo) {
+                chaves.add(chave);
+            }
+        }
+        return chaves.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String descrever(int operacao, Object chave) {
+        return "operação " + operacao + ", chave " + chave;
+    }
+}